@@ -2,6 +2,7 @@ package edu.curtin.game;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
 
 /**
  * Main API interface for plugins and scripts to interact with the game.
@@ -16,8 +17,8 @@ import java.util.Map;
  * 
  * Grid Management:
  * - Query grid dimensions
- * - Check grid square contents (items, obstacles, goals)
- * - Modify grid square visibility
+ * - Check grid square contents (items, obstacles, goals), or find empty squares
+ * - Modify grid square visibility, one square or a whole region at a time
  * - Place/remove items and obstacles
  * 
  * Game State:
@@ -29,6 +30,13 @@ import java.util.Map;
  * while this interface ensures plugins/scripts can only access approved methods.
  */
 public interface GameAPI {
+    /**
+     * Receives the squares found by forEachVisibleSquare.
+     */
+    interface SquareVisitor {
+        void visit(int x, int y);
+    }
+    
     /**
      * Get the player's current location.
      * 
@@ -48,7 +56,8 @@ public interface GameAPI {
     /**
      * Get the player's inventory.
      * 
-     * @return A map of item names to their quantities
+     * @return A read-only map of item names to their quantities. It is a live
+     *         view: it is not copied, and always shows the current inventory
      */
     Map<String, Integer> getPlayerInventory();
     
@@ -90,6 +99,52 @@ public interface GameAPI {
      */
     String getGridSquareContents(int x, int y);
     
+    /**
+     * Get the location of every grid square with the given contents. The
+     * game keeps an index of each kind, so this does not scan the grid.
+     * @param type "item", "obstacle" or "goal"
+     * @return A new list of 2-element [x, y] arrays, row by row
+     * @throws IllegalArgumentException if the type is "empty" or not a contents type
+     */
+    List<int[]> getCellsOfType(String type);
+    
+    /**
+     * Call the visitor for every grid square with the given contents, row by
+     * row, without building a list. The visitor must not change the contents
+     * of any square.
+     * @param type "item", "obstacle" or "goal"
+     * @param visitor Receives the coordinates of each square
+     * @throws IllegalArgumentException if the type is "empty" or not a contents type
+     */
+    void forEachCellOfType(String type, SquareVisitor visitor);
+    
+    /**
+     * Count the grid squares with the given contents, without scanning the grid.
+     * @param type "item", "obstacle", "goal" or "empty"
+     * @return The number of squares with those contents
+     * @throws IllegalArgumentException if the type is not a contents type
+     */
+    long countCellsOfType(String type);
+    
+    /**
+     * Pick an empty grid square, each with the same chance, without
+     * scanning the grid.
+     * @param random Source of the choice
+     * @return A 2-element [x, y] array, or null if no square is empty
+     */
+    int[] randomEmptyCell(Random random);
+    
+    /**
+     * Get the empty grid squares within a distance of a square: those at
+     * most radius rows and radius columns away, including the square itself
+     * if it is empty.
+     * @param x The X coordinate of the centre
+     * @param y The Y coordinate of the centre
+     * @param radius Furthest row or column from the centre, 0 or more
+     * @return A new list of 2-element [x, y] arrays, row by row
+     */
+    List<int[]> emptyCellsNear(int x, int y, int radius);
+    
     /**
      * Get the item name at a specific location.
      * @param x The X coordinate
@@ -98,6 +153,37 @@ public interface GameAPI {
      */
     String getItemAt(int x, int y);
     
+    /**
+     * Get the location of every grid square holding an item with the given
+     * name. The game keeps an index of each item name, so this does not
+     * scan the grid.
+     * @param itemName The item name
+     * @return A new list of 2-element [x, y] arrays, row by row; empty if there are none
+     */
+    List<int[]> getItemLocations(String itemName);
+    
+    /**
+     * Get the grid squares holding an item with the given name inside a
+     * region, using the item index.
+     * @param itemName The item name
+     * @param x Left column of the region
+     * @param y Top row of the region
+     * @param width Columns in the region
+     * @param height Rows in the region
+     * @return A new list of 2-element [x, y] arrays, row by row; empty if there are none
+     */
+    List<int[]> getItemLocationsWithin(String itemName, int x, int y, int width, int height);
+    
+    /**
+     * Find the grid square holding an item with the given name that is
+     * closest to a location, by straight-line distance, using the item index.
+     * @param itemName The item name
+     * @param x The X coordinate of the location
+     * @param y The Y coordinate of the location
+     * @return A 2-element [x, y] array, or null if no square holds the item
+     */
+    int[] findNearestItem(String itemName, int x, int y);
+    
     /**
      * Get the obstacle requirements at a specific location.
      * @param x The X coordinate
@@ -122,6 +208,54 @@ public interface GameAPI {
      */
     void setGridSquareVisible(int x, int y, boolean visible);
     
+    /**
+     * Set the visibility of every square in a rectangle. Visibility is kept
+     * 64 squares to a word, so this is far cheaper than calling
+     * setGridSquareVisible for each square. Parts of the rectangle outside
+     * the grid are ignored.
+     * @param x The X coordinate of the left column
+     * @param y The Y coordinate of the top row
+     * @param width Number of columns
+     * @param height Number of rows
+     * @param visible true to make visible, false to hide
+     */
+    void setRegionVisible(int x, int y, int width, int height, boolean visible);
+    
+    /**
+     * Make visible the squares of a rectangle whose bit is set in a mask,
+     * leaving the other squares as they are. The mask covers the rectangle
+     * row by row: square (x + i, y + j) is bit number j * width + i, and bit
+     * number n is bit (n % 64) of mask[n / 64]. Parts of the rectangle
+     * outside the grid are ignored.
+     * @param x The X coordinate of the left column
+     * @param y The Y coordinate of the top row
+     * @param width Number of columns
+     * @param height Number of rows
+     * @param mask At least width * height bits
+     */
+    void revealMask(int x, int y, int width, int height, long[] mask);
+    
+    /**
+     * Count the visible squares in a rectangle.
+     * @param x The X coordinate of the left column
+     * @param y The Y coordinate of the top row
+     * @param width Number of columns
+     * @param height Number of rows
+     * @return The number of visible squares inside the grid and the rectangle
+     */
+    long countVisibleSquares(int x, int y, int width, int height);
+    
+    /**
+     * Call the visitor for every visible square in a rectangle, row by row.
+     * Hidden squares are skipped 64 at a time.
+     * @param x The X coordinate of the left column
+     * @param y The Y coordinate of the top row
+     * @param width Number of columns
+     * @param height Number of rows
+     * @param visitor Receives the coordinates of each visible square
+     */
+    void forEachVisibleSquare(int x, int y, int width, int height, SquareVisitor visitor);
+    
     /**
      * Remove an item from the grid.
      * @param x The X coordinate
@@ -0,0 +1,103 @@
+package edu.curtin.game.benchmarks;
+
+import edu.curtin.game.ArrayGridStorage;
+import edu.curtin.game.CellWord;
+import edu.curtin.game.GameState;
+import edu.curtin.game.GameStateSink;
+import edu.curtin.game.OffHeapGridStorage;
+import edu.curtin.game.generator.MapGenerator;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmark comparing GC pauses for a grid kept on the heap
+ * (ArrayGridStorage) and one kept in direct buffers (OffHeapGridStorage).
+ *
+ * Each trial loads a generated map into a GameState with the given storage,
+ * then moves the player as the game does: check the target cell, move,
+ * reveal the cells around it, pick up any item. Every 256 moves the player
+ * jumps to a random cell, so the whole grid is touched. Each move also
+ * writes a status line into a ring of recent lines, the way the game
+ * appends to its status area, so there is steady garbage and some of it
+ * lives long enough to be promoted.
+ *
+ * Both forks get the same heap and direct-memory limits. Compare the
+ * gc.count and gc.time lines from the GC profiler (the jmh task adds it),
+ * and ops/s for the cost of going through a buffer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx1g", "-XX:MaxDirectMemorySize=1g"})
+public class GridStorageGcBenchmark {
+    private static final int LOG_LINES = 1 << 16;   // Status lines kept, like a scrolling status area
+    private static final int JUMP_EVERY = 256;      // Moves between jumps to a random cell
+
+    @Param({"3000x3000", "10000x10000"})
+    public String size;
+
+    @Param({"heap", "offheap"})
+    public String storage;
+
+    private GameState state;
+    private final SplittableRandom random = new SplittableRandom(7);
+    private final String[] log = new String[LOG_LINES];
+    private long moves;
+
+    @Setup(Level.Trial)
+    public void loadMap() {
+        String[] dimensions = size.split("x");
+        MapGenerator generator = new MapGenerator.Builder()
+            .setSize(Integer.parseInt(dimensions[0]), Integer.parseInt(dimensions[1]))
+            .setSeed(1)
+            .build();
+        GameStateSink sink = new GameStateSink();
+        sink.setStorageFactory("offheap".equals(storage) ? OffHeapGridStorage::new : ArrayGridStorage::new);
+        generator.generate(sink);
+        state = sink.getGameState();
+    }
+
+    @TearDown(Level.Trial)
+    public void closeMap() {
+        state.close();
+    }
+
+    @Benchmark
+    public int move() {
+        int x;
+        int y;
+        if (++moves % JUMP_EVERY == 0) {
+            x = random.nextInt(state.getGridWidth());
+            y = random.nextInt(state.getGridHeight());
+        } else {
+            x = Math.max(0, Math.min(state.getGridWidth() - 1, state.getPlayerX() + random.nextInt(3) - 1));
+            y = Math.max(0, Math.min(state.getGridHeight() - 1, state.getPlayerY() + random.nextInt(3) - 1));
+        }
+        int type = state.getCellType(x, y);
+        if (type == CellWord.OBSTACLE && !state.meetsRequirements(x, y)) {
+            return type;   // Blocked, as in MazeGameApp.canMoveTo
+        }
+        state.setPlayerPosition(x, y);   // Also reveals the cells around it
+        if (type == CellWord.ITEM) {
+            state.addItem(state.getItemId(x, y));
+            state.setCellType(x, y, CellWord.EMPTY);
+        }
+        log[(int) (moves % LOG_LINES)] = "Moved to (" + x + "," + y + ") on day " + moves;
+        return type;
+    }
+}
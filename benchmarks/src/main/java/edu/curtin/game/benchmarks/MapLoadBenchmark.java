@@ -0,0 +1,234 @@
+package edu.curtin.game.benchmarks;
+
+import edu.curtin.game.GameConfig;
+import edu.curtin.game.GameConfigParser;
+import edu.curtin.game.GameState;
+import edu.curtin.game.GameStateSink;
+import edu.curtin.game.MapTokenizer;
+import edu.curtin.game.MappedMapReader;
+import edu.curtin.game.generator.MapGenerator;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmarks for loading a map, end to end and one phase at a time.
+ *
+ * Each trial generates a map with MapGenerator (fixed seed, default
+ * densities) at the given size and writes it in the given encoding, and
+ * also gzipped or raw-deflated if compression says so. The benchmarks are:
+ * - parseFile: GameConfigParser.parseFile, file to GameConfig
+ * - loadGameState: file straight into a GameStateSink, as the game loads a map
+ * - decode: bytes to chars only (MappedMapReader)
+ * - tokenize: decode plus MapTokenizer, without building anything
+ * - buildConfig: an already-parsed map replayed into a GameConfig.Builder
+ * - populateGameState: an already-parsed map replayed into a GameStateSink
+ *
+ * parseFile and loadGameState read the compressed copy, if there is one,
+ * with the parser backend named by backend; the other benchmarks always
+ * read the plain map. Only STREAMING and no compression run by default; to
+ * compare, pass e.g. -p backend=STREAMING,ANTLR,REGEX,PARALLEL or
+ * -p compression=none,gzip,deflate.
+ *
+ * Besides ops/s, every benchmark reports the "megabytes" and "declarations"
+ * counters as rates, i.e. MB/s of (uncompressed) map file and declarations/s. Run through
+ * the jmh Gradle task, which adds the GC profiler for allocation rates
+ * (gc.alloc.rate.norm is bytes allocated per load).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapLoadBenchmark {
+    private static final List<String> DECLARATION_KEYWORDS =
+        List.of("size", "start", "goal", "item", "obstacle", "plugin", "script", "include");
+
+    @Param({"100x100", "1000x1000", "3000x3000"})
+    public String size;
+
+    @Param({"utf8", "utf16", "utf32"})
+    public String encoding;
+
+    @Param({"STREAMING"})
+    public String backend;             // GameConfigParser.Backend used by parseFile and loadGameState
+
+    @Param({"none"})
+    public String compression;         // none, gzip or deflate
+
+    private Path file;                 // Generated map, in the benchmark's encoding
+    private Path input;                // The map as parseFile and loadGameState read it, possibly compressed
+    private GameConfigParser.Backend parserBackend;
+    private Charset charset;
+    private double megabytes;          // Size of the file
+    private long declarations;         // Declarations in the file
+    private GameConfig config;         // The map, parsed once, for the replay benchmarks
+
+    /**
+     * Per-thread counters that JMH reports as rates alongside ops/s.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Throughput {
+        public double megabytes;       // Reported as MB/s
+        public long declarations;      // Reported as declarations/s
+        private final char[] buffer = new char[8192];
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            megabytes = 0;
+            declarations = 0;
+        }
+
+        private void loaded(MapLoadBenchmark map) {   //counts one pass over the map
+            megabytes += map.megabytes;
+            declarations += map.declarations;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void writeMap() throws IOException {
+        String[] dimensions = size.split("x");
+        MapGenerator generator = new MapGenerator.Builder()
+            .setSize(Integer.parseInt(dimensions[0]), Integer.parseInt(dimensions[1]))
+            .setSeed(1)
+            .build();
+        ByteArrayOutputStream text = new ByteArrayOutputStream();
+        generator.write(text);
+
+        charset = "utf8".equals(encoding) ? StandardCharsets.UTF_8
+            : "utf16".equals(encoding) ? StandardCharsets.UTF_16 : Charset.forName("UTF-32");
+        file = Files.createTempFile("benchmark", "." + encoding + ".map");
+        Files.write(file, text.toString(StandardCharsets.UTF_8).getBytes(charset));
+        megabytes = Files.size(file) / 1e6;
+        declarations = countDeclarations();
+        config = new GameConfigParser().parseFile(file.toString());
+        parserBackend = GameConfigParser.Backend.valueOf(backend);
+        input = compressed();
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteMap() throws IOException {
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(input);
+    }
+
+    @Benchmark
+    public GameConfig parseFile(Throughput counters) throws IOException {
+        GameConfig result = new GameConfigParser(parserBackend).parseFile(input.toString());
+        counters.loaded(this);
+        return result;
+    }
+
+    @Benchmark
+    public GameState loadGameState(Throughput counters) throws IOException {
+        GameStateSink sink = new GameStateSink();
+        new GameConfigParser(parserBackend).parseFile(input.toString(), sink);
+        counters.loaded(this);
+        return sink.getGameState();
+    }
+
+    @Benchmark
+    public long decode(Throughput counters) throws IOException {
+        long chars = 0;
+        try (Reader reader = new MappedMapReader(file, charset)) {
+            int read;
+            while ((read = reader.read(counters.buffer)) > 0) {
+                chars += read;
+            }
+        }
+        counters.loaded(this);
+        return chars;
+    }
+
+    @Benchmark
+    public long tokenize(Throughput counters) throws IOException {
+        long tokens = 0;
+        try (Reader reader = new MappedMapReader(file, charset)) {
+            MapTokenizer tokenizer = new MapTokenizer(reader);
+            while (tokenizer.next() != MapTokenizer.TokenType.EOF) {
+                tokens++;
+            }
+        }
+        counters.loaded(this);
+        return tokens;
+    }
+
+    @Benchmark
+    public GameConfig buildConfig(Throughput counters) {
+        GameConfig.Builder builder = new GameConfig.Builder();
+        config.sendTo(builder);
+        counters.loaded(this);
+        return builder.build();
+    }
+
+    @Benchmark
+    public GameState populateGameState(Throughput counters) {
+        GameStateSink sink = new GameStateSink(config.getSymbols());
+        config.sendTo(sink);
+        counters.loaded(this);
+        return sink.getGameState();
+    }
+
+    private Path compressed() throws IOException {   //writes the compressed copy next to the map, or returns the map if there is none
+        if ("gzip".equals(compression)) {
+            Path gzip = file.resolveSibling(file.getFileName() + ".gz");
+            try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(gzip))) {
+                Files.copy(file, out);
+            }
+            return gzip;
+        }
+        if ("deflate".equals(compression)) {
+            Path deflate = file.resolveSibling(file.getFileName() + ".deflate");
+            Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+            try (OutputStream out = new DeflaterOutputStream(Files.newOutputStream(deflate), deflater)) {
+                Files.copy(file, out);
+            } finally {
+                deflater.end();
+            }
+            return deflate;
+        }
+        return file;
+    }
+
+    private long countDeclarations() throws IOException {   //number of declaration keywords outside strings and scripts
+        long count = 0;
+        try (Reader reader = new MappedMapReader(file, charset)) {
+            MapTokenizer tokenizer = new MapTokenizer(reader);
+            while (tokenizer.next() != MapTokenizer.TokenType.EOF) {
+                for (String keyword : DECLARATION_KEYWORDS) {
+                    if (tokenizer.isWord(keyword)) {
+                        count++;
+                        break;
+                    }
+                }
+            }
+        }
+        return count;
+    }
+}
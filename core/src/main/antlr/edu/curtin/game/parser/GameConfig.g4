@@ -9,6 +9,7 @@ grammar GameConfig;
  * - Obstacle locations and requirements
  * - Plugin class names to load
  * - Python script content to execute
+ * - Fragment files to include, optionally at an offset
  * 
  * The grammar supports the assignment requirements for:
  * - Flexible spacing and line breaks
@@ -19,14 +20,14 @@ grammar GameConfig;
  * Grammar Structure:
  * - config: Root rule that parses the entire file
  * - declarations: Sequence of game configuration declarations
- * - Individual declaration types: size, start, goal, item, obstacle, plugin, script
+ * - Individual declaration types: size, start, goal, item, obstacle, plugin, script, include
  * - Supporting rules: locations, strings, identifiers
  * 
  * Lexer Rules:
  * - INTEGER: Positive integers for coordinates and dimensions
  * - STRING: Quoted strings for item names and messages
  * - IDENTIFIER: Java class names for plugins
- * - SCRIPT_CONTENT: Python code between !{ and }
+ * - SCRIPT_CONTENT: Python code between !{ and the next }
  * - WS: Whitespace (skipped)
  * - COMMENT: Single-line comments (skipped)
  */
@@ -34,7 +35,7 @@ grammar GameConfig;
 // Parser rules - define the structure of valid input files
 config : declarations EOF;
 
-declarations : sizeDeclaration startDeclaration goalDeclaration (itemDeclaration | obstacleDeclaration | pluginDeclaration | scriptDeclaration)*;
+declarations : sizeDeclaration startDeclaration goalDeclaration (itemDeclaration | obstacleDeclaration | pluginDeclaration | scriptDeclaration | includeDeclaration)*;
 
 // Basic game configuration declarations
 sizeDeclaration : 'size' '(' INTEGER ',' INTEGER ')' ;    // Grid dimensions: size (rows, cols)
@@ -45,25 +46,28 @@ goalDeclaration : 'goal' '(' INTEGER ',' INTEGER ')' ;   // Goal location: goal
 itemDeclaration : 'item' STRING '{' atDeclaration messageDeclaration '}' ;           // Item with locations and message
 obstacleDeclaration : 'obstacle' '{' atDeclaration requiresDeclaration '}' ;         // Obstacle with locations and requirements
 pluginDeclaration : 'plugin' IDENTIFIER ('.' IDENTIFIER)* ;                          // Plugin class name
-scriptDeclaration : 'script' '!{' SCRIPT_CONTENT '}' ;                               // Python script content
+scriptDeclaration : 'script' SCRIPT_CONTENT ;                                        // Python script content, including !{ and }
+includeDeclaration : 'include' STRING offsetDeclaration? ;                           // Fragment file, relative to the map
 
 // Supporting declarations within items and obstacles
 atDeclaration : 'at' locationList ;                    // List of grid locations
 messageDeclaration : 'message' STRING ;               // Item description message
 requiresDeclaration : 'requires' stringList ;          // List of required item names
+offsetDeclaration : 'offset' '(' signedInteger ',' signedInteger ')' ;   // Added to every location of a fragment
 
 // Location and string list parsing
 locationList : location (',' location)* ;             // Comma-separated locations
 location : '(' INTEGER ',' INTEGER ')' ;              // Single location: (row, col)
 stringList : STRING (',' STRING)* ;                   // Comma-separated strings
+signedInteger : '-'? INTEGER ;                        // Offsets may be negative
 
 // Lexer rules - define how to recognize tokens
 INTEGER : [0-9]+ ;                                     // Positive integers for coordinates
 STRING : '"' (~["\\] | '\\' .)* '"' ;                 // Quoted strings with escape sequences
 IDENTIFIER : [a-zA-Z_][a-zA-Z0-9_]* ;                 // Java identifiers for class names
 
-// Script content - match everything between !{ and } (handles nested braces)
-SCRIPT_CONTENT : '!{' (~[}] | '}' ~[}])* '}' ;
+// Script content - match everything from !{ up to the first } (scripts may contain '{' but not '}')
+SCRIPT_CONTENT : '!{' ~[}]* '}' ;
 
 // Skip whitespace and comments
 WS : [ \t\r\n]+ -> skip ;                             // Whitespace (spaces, tabs, newlines)
@@ -0,0 +1,235 @@
+package edu.curtin.game;
+
+import edu.curtin.game.parser.GameConfigBaseListener;
+import org.antlr.v4.runtime.ParserRuleContext;
+import org.antlr.v4.runtime.tree.TerminalNode;
+import java.io.IOException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * ANTLR listener that builds a GameConfig from the parse of GameConfig.g4.
+ *
+ * The builder is attached as a parse listener, so each declaration is added
+ * to the config as soon as the parser exits it. The declaration's subtree is
+ * then detached from the parse tree, keeping memory flat on large maps rather
+ * than holding a tree node per token until the end of the parse.
+ *
+ * A declaration with a number too large for an int is reported, in the same
+ * form as a syntax error, and skipped, as the streaming parser does. These
+ * messages, and those about included fragments, go to a consumer rather
+ * than straight to the console, so that AntlrConfigParser can drop the ones
+ * from an SLL pass it abandons.
+ */
+public class AntlrConfigBuilder extends GameConfigBaseListener {
+    private final GameConfig.Builder config = new GameConfig.Builder();   // Config being built
+    private final Path directory;                                         // Include paths are relative to this
+    private final Consumer<String> messages;                              // Receives each problem found
+    private boolean numberTooLarge;                                       // intAt met an INTEGER above Integer.MAX_VALUE
+
+    /**
+     * Creates a builder for a map whose include paths are relative to a directory.
+     *
+     * @param directory Directory containing the map
+     */
+    public AntlrConfigBuilder(Path directory) {
+        this(directory, System.out::println);
+    }
+
+    /**
+     * Creates a builder that passes each problem it finds to a consumer
+     * instead of printing it.
+     *
+     * @param directory Directory containing the map
+     * @param messages Receives each problem, formatted as a syntax error would be
+     */
+    public AntlrConfigBuilder(Path directory, Consumer<String> messages) {
+        this.directory = directory;
+        this.messages = messages;
+    }
+
+    public GameConfig getConfig() { return config.build(); }   //finishes and returns the built config
+
+    @Override
+    public void exitSizeDeclaration(edu.curtin.game.parser.GameConfigParser.SizeDeclarationContext ctx) {
+        int width = intAt(ctx, 0);
+        int height = intAt(ctx, 1);
+        if (numbersFit()) {
+            config.setGridSize(width, height);
+        }
+        detach(ctx);
+    }
+
+    @Override
+    public void exitStartDeclaration(edu.curtin.game.parser.GameConfigParser.StartDeclarationContext ctx) {
+        int x = intAt(ctx, 0);
+        int y = intAt(ctx, 1);
+        if (numbersFit()) {
+            config.setStart(x, y);
+        }
+        detach(ctx);
+    }
+
+    @Override
+    public void exitGoalDeclaration(edu.curtin.game.parser.GameConfigParser.GoalDeclarationContext ctx) {
+        int x = intAt(ctx, 0);
+        int y = intAt(ctx, 1);
+        if (numbersFit()) {
+            config.setGoal(x, y);
+        }
+        detach(ctx);
+    }
+
+    @Override
+    public void exitItemDeclaration(edu.curtin.game.parser.GameConfigParser.ItemDeclarationContext ctx) {
+        if (ctx.exception == null && ctx.STRING() != null && ctx.atDeclaration() != null) {
+            String name = unquote(ctx.STRING().getText());
+            String message = ctx.messageDeclaration() != null && ctx.messageDeclaration().STRING() != null
+                ? unquote(ctx.messageDeclaration().STRING().getText()) : "";
+            CoordinateList locations = locations(ctx.atDeclaration());
+            if (numbersFit()) {
+                for (int i = 0; i < locations.size(); i++) {
+                    config.addItem(name, locations.getX(i), locations.getY(i), message);
+                }
+            }
+        }
+        detach(ctx);
+    }
+
+    @Override
+    public void exitObstacleDeclaration(edu.curtin.game.parser.GameConfigParser.ObstacleDeclarationContext ctx) {
+        if (ctx.exception == null && ctx.atDeclaration() != null && ctx.requiresDeclaration() != null
+                && ctx.requiresDeclaration().stringList() != null) {
+            List<String> requirements = new ArrayList<>();
+            for (TerminalNode requirement : ctx.requiresDeclaration().stringList().STRING()) {
+                requirements.add(unquote(requirement.getText()));
+            }
+            CoordinateList locations = locations(ctx.atDeclaration());
+            if (numbersFit()) {
+                for (int i = 0; i < locations.size(); i++) {
+                    config.addObstacle(locations.getX(i), locations.getY(i), requirements);
+                }
+            }
+        }
+        detach(ctx);
+    }
+
+    @Override
+    public void exitPluginDeclaration(edu.curtin.game.parser.GameConfigParser.PluginDeclarationContext ctx) {
+        if (ctx.exception == null && !ctx.IDENTIFIER().isEmpty()) {
+            StringBuilder className = new StringBuilder();
+            for (TerminalNode part : ctx.IDENTIFIER()) {
+                if (className.length() > 0) {
+                    className.append('.');
+                }
+                className.append(part.getText());
+            }
+            config.addPlugin(className.toString());
+        }
+        detach(ctx);
+    }
+
+    @Override
+    public void exitScriptDeclaration(edu.curtin.game.parser.GameConfigParser.ScriptDeclarationContext ctx) {
+        if (ctx.exception == null && ctx.SCRIPT_CONTENT() != null) {
+            // Strip the surrounding !{ and }
+            String text = ctx.SCRIPT_CONTENT().getText();
+            config.addScript(text.substring(2, text.length() - 1).replace("\r", ""));
+        }
+        detach(ctx);
+    }
+
+    @Override
+    public void exitIncludeDeclaration(edu.curtin.game.parser.GameConfigParser.IncludeDeclarationContext ctx) {
+        if (ctx.exception == null && ctx.STRING() != null) {
+            int dx = 0;
+            int dy = 0;
+            if (ctx.offsetDeclaration() != null && ctx.offsetDeclaration().signedInteger().size() == 2) {
+                dx = signedInt(ctx.offsetDeclaration().signedInteger(0));
+                dy = signedInt(ctx.offsetDeclaration().signedInteger(1));
+                if (!numbersFit()) {
+                    detach(ctx);
+                    return;
+                }
+            }
+            Path file = directory.resolve(unquote(ctx.STRING().getText()));
+            int line = ctx.getStart().getLine();
+            int column = ctx.getStart().getCharPositionInLine() + 1;
+            try {
+                FragmentCache.shared().include(file, dx, dy, config,
+                    diagnostic -> messages.accept(diagnostic.toString()), line, column);
+            } catch (NoSuchFileException e) {
+                messages.accept("Error parsing line " + line + ", column " + column
+                    + ": included fragment " + file + " does not exist");
+            } catch (IOException e) {
+                messages.accept("Error parsing line " + line + ", column " + column
+                    + ": cannot read included fragment " + file + ": " + e.getMessage());
+            }
+        }
+        detach(ctx);
+    }
+
+    private int signedInt(edu.curtin.game.parser.GameConfigParser.SignedIntegerContext ctx) {   //value of an optionally negative INTEGER
+        int value = intAt(ctx, 0);
+        return ctx.getChildCount() == 2 ? -value : value;
+    }
+
+    private CoordinateList locations(edu.curtin.game.parser.GameConfigParser.AtDeclarationContext ctx) {   //collects the coordinates of an 'at' list
+        CoordinateList result = new CoordinateList();
+        if (ctx.locationList() != null) {
+            for (edu.curtin.game.parser.GameConfigParser.LocationContext location : ctx.locationList().location()) {
+                if (location.INTEGER().size() == 2) {
+                    result.add(intAt(location, 0), intAt(location, 1));
+                }
+            }
+        }
+        return result;
+    }
+
+    private int intAt(ParserRuleContext ctx, int index) {   //value of the index'th INTEGER token of a rule, or 0 if missing or too large
+        TerminalNode node = ctx.getToken(edu.curtin.game.parser.GameConfigParser.INTEGER, index);
+        if (node == null) {
+            return 0;
+        }
+        try {
+            return Integer.parseInt(node.getText());
+        } catch (NumberFormatException e) {   // The lexer only passes digits, so it can only be too large
+            messages.accept("Error parsing line " + node.getSymbol().getLine() + ", column "
+                + (node.getSymbol().getCharPositionInLine() + 1) + ": number is too large, the largest allowed is "
+                + Integer.MAX_VALUE);
+            numberTooLarge = true;
+            return 0;
+        }
+    }
+
+    private boolean numbersFit() {   //false if intAt met a number too large since the last call, so the declaration is skipped
+        boolean fit = !numberTooLarge;
+        numberTooLarge = false;
+        return fit;
+    }
+
+    private String unquote(String literal) {   //removes the quotes and backslash escapes of a STRING token
+        StringBuilder value = new StringBuilder(literal.length());
+        int i = 1;
+        while (i < literal.length() - 1) {
+            char c = literal.charAt(i);
+            if (c == '\\' && i + 1 < literal.length() - 1) {
+                i++;
+                c = literal.charAt(i);
+            }
+            value.append(c);
+            i++;
+        }
+        return value.toString();
+    }
+
+    private void detach(ParserRuleContext ctx) {   //drops a finished declaration from the tree so it can be collected
+        ParserRuleContext parent = ctx.getParent();
+        if (parent != null && parent.getChildCount() > 0 && ctx.equals(parent.getChild(parent.getChildCount() - 1))) {
+            parent.removeLastChild();
+        }
+    }
+}
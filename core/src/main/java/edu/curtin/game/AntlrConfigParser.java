@@ -0,0 +1,126 @@
+package edu.curtin.game;
+
+import edu.curtin.game.parser.GameConfigLexer;
+import org.antlr.v4.runtime.*;
+import org.antlr.v4.runtime.atn.PredictionMode;
+import org.antlr.v4.runtime.misc.ParseCancellationException;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parses the game configuration DSL with the ANTLR parser generated from
+ * GameConfig.g4, building the GameConfig through an AntlrConfigBuilder.
+ *
+ * Parsing is done in two stages:
+ * 1. SLL prediction with a bail-out error strategy. SLL is much faster and
+ *    succeeds on almost all valid input.
+ * 2. Only if stage 1 fails, the input is re-parsed with full LL prediction
+ *    and normal error reporting/recovery, which gives correct results and
+ *    proper error messages.
+ * The problems the builder finds during stage 1 are held back until it
+ * succeeds, so a map that needs stage 2 does not report them twice.
+ *
+ * The lexer, token stream and parser are created once and reset for each
+ * input, so one AntlrConfigParser can be reused across many parses.
+ */
+public class AntlrConfigParser {
+    private final GameConfigLexer lexer;                            // Reused lexer
+    private final CommonTokenStream tokens;                         // Reused token stream
+    private final edu.curtin.game.parser.GameConfigParser parser;   // Reused generated parser
+
+    /**
+     * Creates the reusable lexer, token stream and parser.
+     */
+    public AntlrConfigParser() {
+        this.lexer = new GameConfigLexer(null);
+        this.tokens = new CommonTokenStream(lexer);
+        this.parser = new edu.curtin.game.parser.GameConfigParser(tokens);
+        lexer.removeErrorListeners();
+        lexer.addErrorListener(ERROR_PRINTER);
+    }
+
+    /**
+     * Parses DSL text from a Reader.
+     *
+     * @param reader Source of the DSL text (not closed by this method)
+     * @return GameConfig object with all parsed data
+     * @throws IOException if the reader fails
+     */
+    public GameConfig parse(Reader reader) throws IOException {
+        return parse(reader, Path.of(""));
+    }
+
+    /**
+     * Parses DSL text from a Reader, resolving include paths against a directory.
+     *
+     * @param reader Source of the DSL text (not closed by this method)
+     * @param directory Directory that include paths are relative to
+     * @return GameConfig object with all parsed data
+     * @throws IOException if the reader fails
+     */
+    public GameConfig parse(Reader reader, Path directory) throws IOException {
+        lexer.setInputStream(CharStreams.fromReader(reader));
+        tokens.setTokenSource(lexer);
+        parser.setTokenStream(tokens);
+
+        GameConfig config = parseSll(directory);
+        if (config == null) {
+            tokens.seek(0);
+            parser.reset();
+            config = parseLl(directory);
+        }
+        return config;
+    }
+
+    /**
+     * Stage 1: fast SLL prediction, giving up at the first syntax error.
+     * The builder's messages are only printed if the stage succeeds.
+     *
+     * @return The parsed config, or null if SLL could not parse the input
+     */
+    private GameConfig parseSll(Path directory) {
+        List<String> messages = new ArrayList<>();
+        AntlrConfigBuilder builder = new AntlrConfigBuilder(directory, messages::add);
+        parser.getInterpreter().setPredictionMode(PredictionMode.SLL);
+        parser.setErrorHandler(new BailErrorStrategy());
+        parser.removeErrorListeners();
+        parser.removeParseListeners();
+        parser.addParseListener(builder);
+        try {
+            parser.config();
+            messages.forEach(System.out::println);
+            return builder.getConfig();
+        } catch (ParseCancellationException e) {
+            return null;   // Syntax error or SLL conflict - retry with full LL
+        }
+    }
+
+    /**
+     * Stage 2: full LL prediction with error reporting and recovery.
+     */
+    private GameConfig parseLl(Path directory) {
+        AntlrConfigBuilder builder = new AntlrConfigBuilder(directory);
+        parser.getInterpreter().setPredictionMode(PredictionMode.LL);
+        parser.setErrorHandler(new DefaultErrorStrategy());
+        parser.removeErrorListeners();
+        parser.addErrorListener(ERROR_PRINTER);
+        parser.removeParseListeners();
+        parser.addParseListener(builder);
+        parser.config();
+        return builder.getConfig();
+    }
+
+    /**
+     * Reports syntax errors in the same form as the streaming parser.
+     */
+    private static final BaseErrorListener ERROR_PRINTER = new BaseErrorListener() {
+        @Override
+        public void syntaxError(Recognizer<?, ?> recognizer, Object offendingSymbol,
+                                int line, int charPositionInLine, String msg, RecognitionException e) {
+            System.out.println("Error parsing line " + line + ", column " + (charPositionInLine + 1) + ": " + msg);
+        }
+    };
+}
@@ -0,0 +1,46 @@
+package edu.curtin.game;
+
+/**
+ * GridStorage backed by one row-major int[] holding every cell.
+ *
+ * Reads and writes are a single array access, and scanning the grid reads
+ * memory in order, but the array costs 4 bytes per cell whether or not the
+ * cell is used, and is limited to about 2 billion cells.
+ */
+public class ArrayGridStorage implements GridStorage {
+    private final int width;
+    private final int[] cells;   // Row-major words, all 0 to start with
+
+    /**
+     * Creates storage for a grid, with every cell empty.
+     *
+     * @param width Grid width
+     * @param height Grid height
+     * @throws IllegalArgumentException if the grid has too many cells for one array
+     */
+    public ArrayGridStorage(int width, int height) {
+        if ((long) width * height > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("a " + width + "x" + height + " grid has too many cells for one array");
+        }
+        this.width = width;
+        this.cells = new int[width * height];
+    }
+
+    @Override
+    public int get(int x, int y) { return cells[y * width + x]; }
+
+    @Override
+    public void set(int x, int y, int word) { cells[y * width + x] = word; }
+
+    @Override
+    public void forEachNonEmpty(CellVisitor visitor) {
+        for (int index = 0; index < cells.length; index++) {
+            if (cells[index] != 0) {
+                visitor.visit(index % width, index / width, cells[index]);
+            }
+        }
+    }
+
+    @Override
+    public long getAllocatedBytes() { return 4L * cells.length; }
+}
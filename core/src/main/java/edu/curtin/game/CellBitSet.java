@@ -0,0 +1,297 @@
+package edu.curtin.game;
+
+/**
+ * One bit per grid cell, indexed by y * width + x.
+ *
+ * The bits are kept in pages of PAGE_BITS that are only allocated when a bit
+ * in them is first set, so a huge but sparsely filled grid costs little more
+ * than the cells actually used, and the index can go past Integer.MAX_VALUE.
+ *
+ * The range operations work a 64-bit word at a time, so filling, counting or
+ * searching a row of a million cells is about 16,000 word operations, and
+ * pages that were never allocated are skipped. Ranges are half-open,
+ * [from, to), and callers keep them inside the grid.
+ */
+public class CellBitSet {
+    private static final int PAGE_SHIFT = 16;                              // 65,536 bits (8 KB) per page
+    private static final int PAGE_BITS = 1 << PAGE_SHIFT;
+    private static final int WORDS_PER_PAGE = PAGE_BITS / Long.SIZE;
+
+    private final long[][] pages;   // Allocated on first set; null pages are all clear
+
+    /**
+     * Creates an empty set for a grid.
+     *
+     * @param width Grid width
+     * @param height Grid height
+     */
+    public CellBitSet(int width, int height) {
+        long cells = (long) Math.max(width, 0) * Math.max(height, 0);
+        this.pages = new long[(int) ((cells + PAGE_BITS - 1) >>> PAGE_SHIFT)][];
+    }
+
+    /**
+     * Checks one bit.
+     *
+     * @param index Cell index (y * width + x)
+     * @return True if the bit is set
+     */
+    public boolean get(long index) {
+        long[] page = pages[(int) (index >>> PAGE_SHIFT)];
+        return page != null && (page[word(index)] & (1L << index)) != 0;
+    }
+
+    /**
+     * Sets one bit.
+     *
+     * @param index Cell index (y * width + x)
+     * @return True if the bit was already set
+     */
+    public boolean getAndSet(long index) {
+        int pageIndex = (int) (index >>> PAGE_SHIFT);
+        long[] page = pages[pageIndex];
+        if (page == null) {
+            page = new long[WORDS_PER_PAGE];
+            pages[pageIndex] = page;
+        }
+        int word = word(index);
+        long mask = 1L << index;   // Shifts use only the low 6 bits
+        boolean wasSet = (page[word] & mask) != 0;
+        page[word] |= mask;
+        return wasSet;
+    }
+
+    /**
+     * Sets or clears one bit.
+     *
+     * @param index Cell index (y * width + x)
+     * @param value True to set the bit, false to clear it
+     */
+    public void set(long index, boolean value) {
+        if (value) {
+            getAndSet(index);
+        } else {
+            long[] page = pages[(int) (index >>> PAGE_SHIFT)];
+            if (page != null) {
+                page[word(index)] &= ~(1L << index);
+            }
+        }
+    }
+
+    /**
+     * Sets or clears every bit in a range.
+     *
+     * @param from First index in the range
+     * @param to Index just past the range
+     * @param value True to set the bits, false to clear them
+     */
+    public void setRange(long from, long to, boolean value) {
+        if (from >= to) {
+            return;
+        }
+        long firstWord = from >>> 6;
+        long lastWord = (to - 1) >>> 6;
+        for (long word = firstWord; word <= lastWord; word++) {
+            long mask = -1L;
+            if (word == firstWord) {
+                mask &= -1L << from;    // Shifts use only the low 6 bits
+            }
+            if (word == lastWord) {
+                mask &= -1L >>> -to;    // All ones when to is a multiple of 64
+            }
+            long[] page = pages[(int) (word >>> (PAGE_SHIFT - 6))];
+            if (value) {
+                if (page == null) {
+                    page = new long[WORDS_PER_PAGE];
+                    pages[(int) (word >>> (PAGE_SHIFT - 6))] = page;
+                }
+                page[(int) word & (WORDS_PER_PAGE - 1)] |= mask;
+            } else if (page != null) {
+                page[(int) word & (WORDS_PER_PAGE - 1)] &= ~mask;
+            }
+        }
+    }
+
+    /**
+     * Sets every bit in a range whose matching bit in a mask is set, leaving
+     * the others as they are. Bit i of the mask is bit (i % 64) of
+     * mask[i / 64].
+     *
+     * @param from First index in the range
+     * @param mask Bits to OR in
+     * @param maskOffset Position in the mask of the bit for from
+     * @param length Number of bits in the range
+     * @return True if any bit was clear before and is now set
+     */
+    public boolean or(long from, long[] mask, long maskOffset, int length) {
+        long to = from + length;
+        long index = from;
+        boolean changed = false;
+        while (index < to) {
+            int bits = (int) Math.min(64 - (index & 63), to - index);   // Up to the end of index's word
+            long value = readBits(mask, maskOffset + (index - from), bits);
+            if (value != 0) {
+                int pageIndex = (int) (index >>> PAGE_SHIFT);
+                if (pages[pageIndex] == null) {
+                    pages[pageIndex] = new long[WORDS_PER_PAGE];
+                }
+                changed |= (value << index & ~pages[pageIndex][word(index)]) != 0;   // Some bit was clear
+                pages[pageIndex][word(index)] |= value << index;
+            }
+            index += bits;
+        }
+        return changed;
+    }
+
+    /**
+     * Counts the set bits in a range.
+     *
+     * @param from First index in the range
+     * @param to Index just past the range
+     * @return Number of bits set
+     */
+    public long count(long from, long to) {
+        if (from >= to) {
+            return 0;
+        }
+        long count = 0;
+        long word = from >>> 6;
+        long lastWord = (to - 1) >>> 6;
+        while (word <= lastWord) {
+            long[] page = pages[(int) (word >>> (PAGE_SHIFT - 6))];
+            if (page == null) {
+                word = (word | (WORDS_PER_PAGE - 1)) + 1;   // Skip to the next page
+                continue;
+            }
+            long bits = page[(int) word & (WORDS_PER_PAGE - 1)];
+            if (word == from >>> 6) {
+                bits &= -1L << from;
+            }
+            if (word == lastWord) {
+                bits &= -1L >>> -to;
+            }
+            count += Long.bitCount(bits);
+            word++;
+        }
+        return count;
+    }
+
+    /**
+     * Finds the first set bit in a range.
+     *
+     * @param from First index in the range
+     * @param to Index just past the range
+     * @return Index of the first set bit, or -1 if there is none
+     */
+    public long nextSetBit(long from, long to) {
+        if (from >= to) {
+            return -1;
+        }
+        long word = from >>> 6;
+        long lastWord = (to - 1) >>> 6;
+        while (word <= lastWord) {
+            long[] page = pages[(int) (word >>> (PAGE_SHIFT - 6))];
+            if (page == null) {
+                word = (word | (WORDS_PER_PAGE - 1)) + 1;
+                continue;
+            }
+            long bits = page[(int) word & (WORDS_PER_PAGE - 1)];
+            if (word == from >>> 6) {
+                bits &= -1L << from;
+            }
+            if (bits != 0) {
+                long index = (word << 6) + Long.numberOfTrailingZeros(bits);
+                return index < to ? index : -1;
+            }
+            word++;
+        }
+        return -1;
+    }
+
+    /**
+     * Finds the first clear bit in a range.
+     *
+     * @param from First index in the range
+     * @param to Index just past the range
+     * @return Index of the first clear bit, or -1 if every bit is set
+     */
+    public long nextClearBit(long from, long to) {
+        if (from >= to) {
+            return -1;
+        }
+        long word = from >>> 6;
+        long lastWord = (to - 1) >>> 6;
+        while (word <= lastWord) {
+            long[] page = pages[(int) (word >>> (PAGE_SHIFT - 6))];
+            long clear = page == null ? -1L : ~page[(int) word & (WORDS_PER_PAGE - 1)];
+            if (word == from >>> 6) {
+                clear &= -1L << from;
+            }
+            if (clear != 0) {
+                long index = (word << 6) + Long.numberOfTrailingZeros(clear);
+                return index < to ? index : -1;
+            }
+            word++;
+        }
+        return -1;
+    }
+
+    /**
+     * Finds the clear bit with a given rank: selectClear(0, to) is the first
+     * clear bit, selectClear(1, to) the second, and so on. A page that was
+     * never allocated is counted in one step, and an allocated one a word
+     * at a time.
+     *
+     * @param rank Number of clear bits to skip
+     * @param to Index just past the range searched, which starts at 0
+     * @return Index of the clear bit, or -1 if there are not that many
+     */
+    public long selectClear(long rank, long to) {
+        long remaining = rank;
+        for (int pageIndex = 0; pageIndex < pages.length; pageIndex++) {
+            long pageStart = (long) pageIndex << PAGE_SHIFT;
+            long pageEnd = Math.min(pageStart + PAGE_BITS, to);
+            if (pageStart >= pageEnd) {
+                break;
+            }
+            long[] page = pages[pageIndex];
+            if (page == null) {
+                if (remaining < pageEnd - pageStart) {
+                    return pageStart + remaining;
+                }
+                remaining -= pageEnd - pageStart;
+                continue;
+            }
+            for (int word = 0; pageStart + ((long) word << 6) < pageEnd; word++) {
+                long wordStart = pageStart + ((long) word << 6);
+                long clear = ~page[word];
+                if (pageEnd - wordStart < 64) {
+                    clear &= (1L << (pageEnd - wordStart)) - 1;   // Bits past the range
+                }
+                int count = Long.bitCount(clear);
+                if (remaining < count) {
+                    for (long skip = remaining; skip > 0; skip--) {
+                        clear &= clear - 1;   // Drops the lowest clear bit
+                    }
+                    return wordStart + Long.numberOfTrailingZeros(clear);
+                }
+                remaining -= count;
+            }
+        }
+        return -1;
+    }
+
+    private static long readBits(long[] source, long offset, int bits) {   //up to 64 bits of source from offset, in the low bits
+        int word = (int) (offset >>> 6);
+        int shift = (int) offset & 63;
+        long value = source[word] >>> shift;
+        if (shift != 0 && shift + bits > 64) {
+            value |= source[word + 1] << (64 - shift);
+        }
+        return bits == 64 ? value : value & ((1L << bits) - 1);
+    }
+
+    private static int word(long index) {   //position of a bit's word within its page
+        return (int) (index & (PAGE_BITS - 1)) >>> 6;
+    }
+}
@@ -0,0 +1,71 @@
+package edu.curtin.game;
+
+/**
+ * Layout of the int that GameState keeps for each grid cell.
+ *
+ * Bits 0-1 are the cell type (EMPTY, ITEM, OBSTACLE or GOAL), and bits 2-31
+ * are the payload: the item id of an item cell, or the requirement rule of
+ * an obstacle cell (see GameState). Whether a cell has been seen is kept
+ * apart, in GameState's visibility bitmap, so an empty cell is always 0
+ * whether or not it has been revealed.
+ *
+ * The type names used by GameAPI ("empty", "item", "obstacle", "goal") are
+ * only produced at the edge, by typeName.
+ */
+public final class CellWord {
+    public static final int EMPTY = 0;
+    public static final int ITEM = 1;
+    public static final int OBSTACLE = 2;
+    public static final int GOAL = 3;
+
+    /** Largest payload a cell can hold. */
+    public static final int MAX_PAYLOAD = (1 << 30) - 1;
+
+    private static final int TYPE_MASK = 0b11;
+    private static final int PAYLOAD_SHIFT = 2;
+    private static final String[] TYPE_NAMES = {"empty", "item", "obstacle", "goal"};
+
+    private CellWord() {
+    }
+
+    public static int type(int word) { return word & TYPE_MASK; }   //cell type of a word
+    public static int payload(int word) { return word >>> PAYLOAD_SHIFT; }   //item id or rule id of a word
+
+    public static int withType(int word, int type) {   //same word with another type
+        return (word & ~TYPE_MASK) | type;
+    }
+
+    /**
+     * Returns the same word with another payload.
+     *
+     * @throws IllegalArgumentException if the payload does not fit in 30 bits
+     */
+    public static int withPayload(int word, int payload) {
+        if (payload < 0 || payload > MAX_PAYLOAD) {
+            throw new IllegalArgumentException("cell payload " + payload + " does not fit in a cell word");
+        }
+        return (word & TYPE_MASK) | (payload << PAYLOAD_SHIFT);
+    }
+
+    /**
+     * Returns the GameAPI name of a cell type. The same String instance is
+     * returned every time, so no String is created per cell.
+     */
+    public static String typeName(int type) {
+        return TYPE_NAMES[type];
+    }
+
+    /**
+     * Parses a GameAPI cell type name.
+     *
+     * @throws IllegalArgumentException if the name is not one of the four types
+     */
+    public static int typeOf(String name) {
+        for (int type = 0; type < TYPE_NAMES.length; type++) {
+            if (TYPE_NAMES[type].equals(name)) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("unknown cell type \"" + name + "\"");
+    }
+}
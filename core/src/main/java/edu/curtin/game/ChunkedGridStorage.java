@@ -0,0 +1,126 @@
+package edu.curtin.game;
+
+/**
+ * GridStorage that keeps the grid in 64x64 chunks, allocated on first write.
+ *
+ * A chunk that has never been written is all empty, so it is not stored
+ * at all: a 100,000 x 100,000 map with a few million items costs memory for
+ * the chunks those items fall in, not for ten billion cells. Each chunk is
+ * an int[4096] of row-major words.
+ *
+ * Chunks are found through an open-addressing hash table keyed by the
+ * packed chunk coordinates (see CoordinateList.pack), which avoids boxing a
+ * key on every cell access. The last chunk used is remembered, so walking
+ * along a row only hashes once per 64 cells.
+ */
+public class ChunkedGridStorage implements GridStorage {
+    private static final int CHUNK_SHIFT = 6;                    // 64x64 cells per chunk
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    private static final int CHUNK_CELLS = CHUNK_SIZE * CHUNK_SIZE;
+
+    private long[] keys = new long[64];       // Packed chunk coordinates, for slots with a chunk
+    private int[][] chunks = new int[64][];   // Chunk in each slot, or null for a free slot
+    private int count;                        // Chunks allocated
+    private long lastKey;                     // Key of lastChunk
+    private int[] lastChunk;                  // Most recently used chunk, or null
+
+    @Override
+    public int get(int x, int y) {
+        int[] chunk = find(CoordinateList.pack(x >> CHUNK_SHIFT, y >> CHUNK_SHIFT));
+        return chunk == null ? 0 : chunk[offset(x, y)];
+    }
+
+    @Override
+    public void set(int x, int y, int word) {
+        long key = CoordinateList.pack(x >> CHUNK_SHIFT, y >> CHUNK_SHIFT);
+        int[] chunk = find(key);
+        if (chunk == null) {
+            if (word == 0) {
+                return;   // Already empty
+            }
+            chunk = allocate(key);
+        }
+        chunk[offset(x, y)] = word;
+    }
+
+    @Override
+    public void forEachNonEmpty(CellVisitor visitor) {
+        for (int slot = 0; slot < chunks.length; slot++) {
+            int[] chunk = chunks[slot];
+            if (chunk != null) {
+                int left = CoordinateList.unpackX(keys[slot]) << CHUNK_SHIFT;
+                int top = CoordinateList.unpackY(keys[slot]) << CHUNK_SHIFT;
+                for (int index = 0; index < CHUNK_CELLS; index++) {
+                    if (chunk[index] != 0) {
+                        visitor.visit(left + (index & CHUNK_MASK), top + (index >> CHUNK_SHIFT), chunk[index]);
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public long getAllocatedBytes() {
+        return 4L * CHUNK_CELLS * count + 12L * chunks.length;   // Chunks, plus the table's key and reference per slot
+    }
+
+    public int getChunkCount() { return count; }   //number of chunks allocated
+
+    private static int offset(int x, int y) {   //position of a cell within its chunk
+        return ((y & CHUNK_MASK) << CHUNK_SHIFT) | (x & CHUNK_MASK);
+    }
+
+    private int[] find(long key) {   //chunk with the given key, or null if it has not been allocated
+        if (key == lastKey && lastChunk != null) {
+            return lastChunk;
+        }
+        int mask = chunks.length - 1;
+        for (int slot = slot(key, mask); chunks[slot] != null; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                lastKey = key;
+                lastChunk = chunks[slot];
+                return lastChunk;
+            }
+        }
+        return null;
+    }
+
+    private int[] allocate(long key) {   //adds an empty chunk, growing the table to stay at most half full
+        if (2 * (count + 1) > chunks.length) {
+            grow();
+        }
+        int[] chunk = new int[CHUNK_CELLS];
+        insert(key, chunk);
+        count++;
+        lastKey = key;
+        lastChunk = chunk;
+        return chunk;
+    }
+
+    private void grow() {   //doubles the table and re-inserts every chunk
+        long[] oldKeys = keys;
+        int[][] oldChunks = chunks;
+        keys = new long[oldKeys.length * 2];
+        chunks = new int[oldChunks.length * 2][];
+        for (int slot = 0; slot < oldChunks.length; slot++) {
+            if (oldChunks[slot] != null) {
+                insert(oldKeys[slot], oldChunks[slot]);
+            }
+        }
+    }
+
+    private void insert(long key, int[] chunk) {   //puts a chunk in the first free slot for its key
+        int mask = chunks.length - 1;
+        int slot = slot(key, mask);
+        while (chunks[slot] != null) {
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        chunks[slot] = chunk;
+    }
+
+    private static int slot(long key, int mask) {   //home slot of a key
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> 40) & mask;
+    }
+}
@@ -0,0 +1,108 @@
+package edu.curtin.game;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Reader for compressed map files, decompressed on the fly.
+ *
+ * Supported formats, chosen by the file name:
+ * - name.map.gz       gzip (GZIPInputStream)
+ * - name.map.deflate  raw deflate data with no header (Inflater with nowrap)
+ *
+ * The decompressed bytes are decoded as they are read, so neither a temporary
+ * file nor the whole decompressed text is ever created. As with
+ * MappedMapReader, a byte order mark at the start of the decompressed data
+ * selects the encoding and is skipped; otherwise the fallback is used.
+ */
+public class CompressedMapReader extends Reader {
+    private static final int BUFFER_SIZE = 64 * 1024;   // Compressed bytes read at a time
+
+    private final Reader decoder;      // Decodes the decompressed bytes
+    private final Charset charset;     // Detected or fallback encoding
+    private final Inflater inflater;   // Raw deflate inflater, or null for gzip
+
+    /**
+     * Opens a compressed map file.
+     *
+     * @param file The compressed map file (.gz or .deflate)
+     * @param fallback Encoding to use when the data has no byte order mark
+     * @throws IOException if the file cannot be opened or is not in the expected format
+     */
+    public CompressedMapReader(Path file, Charset fallback) throws IOException {
+        InputStream raw = Files.newInputStream(file);   // NOPMD - closed by close() through decoder
+        this.inflater = isGzip(file) ? null : new Inflater(true);
+        try {
+            InputStream decompressed = inflater == null   // NOPMD - closed by close() through decoder
+                ? new GZIPInputStream(raw, BUFFER_SIZE)
+                : new InflaterInputStream(raw, inflater, BUFFER_SIZE);
+
+            // Look at the first few decompressed bytes for a byte order mark
+            PushbackInputStream in = new PushbackInputStream(decompressed, 4);   // NOPMD - closed by close() through decoder
+            byte[] start = in.readNBytes(4);
+            Charset bomCharset = MappedMapReader.detectBom(ByteBuffer.wrap(start));
+            int bomLength = MappedMapReader.bomLength(bomCharset);
+            in.unread(start, bomLength, start.length - bomLength);
+
+            this.charset = bomCharset != null ? bomCharset : fallback;
+            this.decoder = new InputStreamReader(in, charset);
+        } catch (IOException e) {
+            raw.close();
+            if (inflater != null) {
+                inflater.end();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Checks whether a file name has one of the compressed map suffixes.
+     *
+     * @param filename The file name
+     * @return True for .gz and .deflate files
+     */
+    public static boolean isCompressed(String filename) {
+        return filename.endsWith(".gz") || filename.endsWith(".deflate");
+    }
+
+    /**
+     * Removes a compressed map suffix, so the name of the map inside can be
+     * used to work out its encoding.
+     *
+     * @param filename The file name
+     * @return The name without .gz or .deflate
+     */
+    public static String stripSuffix(String filename) {
+        if (filename.endsWith(".gz")) {
+            return filename.substring(0, filename.length() - ".gz".length());
+        } else if (filename.endsWith(".deflate")) {
+            return filename.substring(0, filename.length() - ".deflate".length());
+        }
+        return filename;
+    }
+
+    public Charset getCharset() { return charset; }   //getter for the encoding being decoded
+
+    @Override
+    public int read(char[] cbuf, int off, int len) throws IOException {
+        return decoder.read(cbuf, off, len);
+    }
+
+    @Override
+    public void close() throws IOException {
+        decoder.close();
+        if (inflater != null) {
+            inflater.end();   // InflaterInputStream only ends inflaters it created itself
+        }
+    }
+
+    private static boolean isGzip(Path file) {   //whether the file is gzip rather than raw deflate
+        return file.getFileName().toString().endsWith(".gz");
+    }
+}
@@ -0,0 +1,73 @@
+package edu.curtin.game;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Receives the contents of a map, one declaration at a time, as it is parsed.
+ *
+ * The streaming parser and MapCache drive a ConfigSink directly, so the
+ * receiver decides what to keep. GameConfig.Builder collects everything into
+ * a GameConfig; GameStateSink places each item and obstacle straight into a
+ * GameState, so a map can be loaded without holding a GameConfig as well.
+ *
+ * Callbacks arrive in the order of the declarations in the file. An item or
+ * obstacle with several locations produces one callback per location.
+ */
+public interface ConfigSink {
+    void onSize(int width, int height);   //grid dimensions
+    void onStart(int x, int y);           //player start position
+    void onGoal(int x, int y);            //goal position
+    void onPlugin(String className);      //plugin class to load
+    void onScript(String script);         //script to run
+
+    /**
+     * Called by the streaming parser at the start of each declaration, with
+     * the position of its keyword, so a sink can say where a problem came
+     * from. Not called when a map is replayed from a GameConfig or MapCache.
+     */
+    default void onDeclaration(int line, int column) {
+        // Only MapValidator needs positions
+    }
+
+    /**
+     * Called when an include declaration is expanded, before the fragment's
+     * contents are sent, with the size and modification time the fragment
+     * file had when it was read. MapCache records these so that a cached map
+     * is re-parsed when one of its fragments changes.
+     */
+    default void onInclude(Path fragment, long size, long modified) {
+        // Only GameConfig.Builder keeps track of fragments
+    }
+
+    /**
+     * One location of an item.
+     */
+    void onItemLocation(String name, int x, int y, String message);
+
+    /**
+     * One location of an obstacle. The parsers pass the same requirements list
+     * for every location of a declaration; it must not be modified.
+     */
+    void onObstacleLocation(int x, int y, List<String> requirements);
+
+    /**
+     * Every location of an item at once. By default this is one
+     * onItemLocation call per location.
+     */
+    default void onItemLocations(String name, String message, CoordinateList locations) {
+        for (int i = 0; i < locations.size(); i++) {
+            onItemLocation(name, locations.getX(i), locations.getY(i), message);
+        }
+    }
+
+    /**
+     * Every location of an obstacle at once. By default this is one
+     * onObstacleLocation call per location.
+     */
+    default void onObstacleLocations(List<String> requirements, CoordinateList locations) {
+        for (int i = 0; i < locations.size(); i++) {
+            onObstacleLocation(locations.getX(i), locations.getY(i), requirements);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package edu.curtin.game;
+
+import java.util.Arrays;
+
+/**
+ * Growable list of (x, y) grid coordinates packed into a single long[].
+ *
+ * Each coordinate is stored as one long, x in the high 32 bits and y in the
+ * low 32 bits, so a location costs 8 bytes instead of a separate int[2]
+ * object plus a list slot. Coordinates are read by index (getX/getY) or with
+ * forEach, neither of which allocates.
+ *
+ * Only the package (i.e. GameConfig.Builder and the parsers) can add to a
+ * list; everyone else sees it as read-only.
+ */
+public class CoordinateList {
+    /**
+     * Receives coordinates from forEach.
+     */
+    public interface Consumer {
+        void accept(int x, int y);
+    }
+
+    private static final int INITIAL_CAPACITY = 4;
+
+    private long[] packed;   // Packed coordinates, only the first size entries are used
+    private int size;        // Number of coordinates
+
+    public CoordinateList() {
+        this.packed = new long[INITIAL_CAPACITY];
+    }
+
+    /* default */ CoordinateList(long[] packed) {   //wraps already-packed coordinates (not copied)
+        this.packed = packed;
+        this.size = packed.length;
+    }
+
+    /**
+     * Packs a coordinate into a long: x in the high 32 bits, y in the low 32 bits.
+     */
+    public static long pack(int x, int y) {
+        return ((long) x << 32) | (y & 0xFFFFFFFFL);
+    }
+
+    public static int unpackX(long packed) { return (int) (packed >> 32); }   //x coordinate of a packed value
+    public static int unpackY(long packed) { return (int) packed; }   //y coordinate of a packed value
+
+    public int size() { return size; }   //number of coordinates in the list
+    public boolean isEmpty() { return size == 0; }   //true if the list has no coordinates
+    public int getX(int index) { return unpackX(getPacked(index)); }   //x coordinate at the given index
+    public int getY(int index) { return unpackY(getPacked(index)); }   //y coordinate at the given index
+
+    /**
+     * Returns the packed coordinate at the given index.
+     */
+    public long getPacked(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+        return packed[index];
+    }
+
+    /**
+     * Calls the consumer with every coordinate, in order.
+     */
+    public void forEach(Consumer consumer) {
+        for (int i = 0; i < size; i++) {
+            consumer.accept(unpackX(packed[i]), unpackY(packed[i]));
+        }
+    }
+
+    /* default */ void add(int x, int y) {   //appends a coordinate, growing the array by half when full
+        if (size == packed.length) {
+            packed = Arrays.copyOf(packed, packed.length + (packed.length >> 1) + 1);
+        }
+        packed[size++] = pack(x, y);
+    }
+
+    /* default */ void addAll(CoordinateList other) {   //appends every coordinate of another list
+        if (size + other.size > packed.length) {
+            packed = Arrays.copyOf(packed, Math.max(size + other.size, packed.length + (packed.length >> 1) + 1));
+        }
+        System.arraycopy(other.packed, 0, packed, size, other.size);
+        size += other.size;
+    }
+
+    /* default */ CoordinateList copy() {   //a copy holding the same coordinates
+        return new CoordinateList(Arrays.copyOf(packed, size));
+    }
+
+    /* default */ CoordinateList translated(int dx, int dy) {   //a copy with every coordinate moved by (dx, dy)
+        long[] moved = new long[size];
+        for (int i = 0; i < size; i++) {
+            moved[i] = pack(unpackX(packed[i]) + dx, unpackY(packed[i]) + dy);
+        }
+        return new CoordinateList(moved);
+    }
+
+    /* default */ void trimToSize() {   //releases unused capacity once the list is complete
+        if (packed.length != size) {
+            packed = Arrays.copyOf(packed, size);
+        }
+    }
+}
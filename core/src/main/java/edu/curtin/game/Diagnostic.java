@@ -0,0 +1,61 @@
+package edu.curtin.game;
+
+/**
+ * One problem found in a map file: a syntax error from the parser, or a
+ * bounds or overlap problem from MapValidator.
+ *
+ * The line and column are those of the offending token, or of the start of
+ * the declaration for problems found after it was parsed. Problems with the
+ * map as a whole (such as a missing size declaration) have line 0.
+ */
+public class Diagnostic {
+
+    /**
+     * How serious a problem is. An error means the map cannot be loaded as
+     * written; a warning means it loads, but not the way it reads.
+     */
+    public enum Severity {
+        ERROR,     // Declaration dropped, or the game would fail on it
+        WARNING    // Loads, but something in the map is silently overridden
+    }
+
+    private final Severity severity;   // Error or warning
+    private final int line;            // Line of the problem (starting at 1), or 0 for the whole map
+    private final int column;          // Column of the problem (starting at 1), or 0 for the whole map
+    private final String message;      // What is wrong
+
+    public Diagnostic(Severity severity, int line, int column, String message) {
+        this.severity = severity;
+        this.line = line;
+        this.column = column;
+        this.message = message;
+    }
+
+    /**
+     * Creates an error diagnostic from a parse exception, at the position of
+     * the token that could not be parsed.
+     *
+     * @param declaration Description of the declaration being parsed (e.g. 'item')
+     * @param e The parse exception
+     * @return The diagnostic
+     */
+    public static Diagnostic of(String declaration, MapParseException e) {
+        return new Diagnostic(Severity.ERROR, e.getLine(), e.getColumn(),
+            "malformed " + declaration + " declaration: " + e.getDetail());
+    }
+
+    public Severity getSeverity() { return severity; }   //getter for the severity
+    public int getLine() { return line; }   //getter for the line number
+    public int getColumn() { return column; }   //getter for the column number
+    public String getMessage() { return message; }   //getter for the message
+    public boolean isError() { return severity == Severity.ERROR; }   //true for errors, false for warnings
+
+    @Override
+    public String toString() {
+        String label = isError() ? "error" : "warning";
+        if (line == 0) {
+            return label + ": " + message;
+        }
+        return "line " + line + ", column " + column + ": " + label + ": " + message;
+    }
+}
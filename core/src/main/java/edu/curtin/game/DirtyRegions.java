@@ -0,0 +1,127 @@
+package edu.curtin.game;
+
+import java.util.Arrays;
+
+/**
+ * Log of the grid regions that have changed, each stamped with the
+ * GameState version of its latest change, so a consumer that remembers the
+ * version it last saw can find what changed since.
+ *
+ * Regions are rectangles, oldest first. A change is merged into the newest
+ * rectangle when their bounding box is no larger than the two apart (one
+ * inside the other, or side by side), so a move, its reveal and a pickup
+ * usually make one rectangle. A merged rectangle covers every changed cell,
+ * and at most a few unchanged ones where two overlapping changes meet
+ * corner to corner.
+ *
+ * The log holds at most MAX_REGIONS rectangles; past that, the oldest half
+ * is forgotten. drain also forgets what its caller has already seen. A
+ * caller asking about versions that have been forgotten is told so, and
+ * must treat the whole grid as changed.
+ */
+public class DirtyRegions {
+
+    /**
+     * Receives the rectangles found by drain.
+     */
+    public interface RegionVisitor {
+        void visit(int x, int y, int width, int height);
+    }
+
+    private static final int MAX_REGIONS = 4096;
+
+    private int[] left = new int[16];      // Left column of each rectangle
+    private int[] top = new int[16];       // Top row of each rectangle
+    private int[] right = new int[16];     // Column just past each rectangle
+    private int[] bottom = new int[16];    // Row just past each rectangle
+    private long[] stamps = new long[16];  // Version of each rectangle's latest change; ascending
+    private int first;                     // Oldest rectangle still kept
+    private int end;                       // Just past the newest rectangle
+    private long forgotten;                // Changes up to this version may no longer be listed
+
+    /**
+     * Records a changed region.
+     *
+     * @param x Left column
+     * @param y Top row
+     * @param width Columns, at least 1
+     * @param height Rows, at least 1
+     * @param version Version of the change, no lower than any recorded before
+     */
+    public void add(int x, int y, int width, int height, long version) {
+        int newRight = x + width;
+        int newBottom = y + height;
+        if (end > first) {
+            int last = end - 1;
+            long unionArea = ((long) Math.max(right[last], newRight) - Math.min(left[last], x))
+                             * ((long) Math.max(bottom[last], newBottom) - Math.min(top[last], y));
+            long lastArea = (long) (right[last] - left[last]) * (bottom[last] - top[last]);
+            if (unionArea <= lastArea + (long) width * height) {
+                left[last] = Math.min(left[last], x);
+                top[last] = Math.min(top[last], y);
+                right[last] = Math.max(right[last], newRight);
+                bottom[last] = Math.max(bottom[last], newBottom);
+                stamps[last] = version;
+                return;
+            }
+        }
+        if (end - first == MAX_REGIONS) {
+            first += MAX_REGIONS / 2;
+            forgotten = stamps[first - 1];
+        }
+        if (end == stamps.length) {
+            makeRoom();
+        }
+        left[end] = x;
+        top[end] = y;
+        right[end] = newRight;
+        bottom[end] = newBottom;
+        stamps[end] = version;
+        end++;
+    }
+
+    /**
+     * Reports the rectangles changed after a version, oldest first, then
+     * forgets the ones up to that version.
+     *
+     * @param sinceVersion Version the caller last saw
+     * @param visitor Receives each rectangle
+     * @return True if every change since the version was reported; false,
+     *         with nothing reported, if some have been forgotten
+     */
+    public boolean drain(long sinceVersion, RegionVisitor visitor) {
+        if (sinceVersion < forgotten) {
+            return false;
+        }
+        int from = Arrays.binarySearch(stamps, first, end, sinceVersion + 1);
+        from = from < 0 ? -from - 1 : from;   // First rectangle stamped after sinceVersion
+        for (int i = from; i < end; i++) {
+            visitor.visit(left[i], top[i], right[i] - left[i], bottom[i] - top[i]);
+        }
+        if (from > first) {
+            forgotten = Math.max(forgotten, stamps[from - 1]);
+            first = from;
+        }
+        return true;
+    }
+
+    private void makeRoom() {   //moves the kept rectangles to the front, growing the arrays if they are more than half full
+        int kept = end - first;
+        int capacity = kept * 2 > stamps.length ? Math.min(stamps.length * 2, MAX_REGIONS * 2) : stamps.length;
+        left = moved(left, capacity);
+        top = moved(top, capacity);
+        right = moved(right, capacity);
+        bottom = moved(bottom, capacity);
+        long[] newStamps = new long[capacity];
+        System.arraycopy(stamps, first, newStamps, 0, kept);
+        stamps = newStamps;
+        first = 0;
+        end = kept;
+    }
+
+    private int[] moved(int[] array, int capacity) {   //the kept part of an array, at the front of one of the given capacity
+        int[] copy = new int[capacity];
+        System.arraycopy(array, first, copy, 0, end - first);
+        return copy;
+    }
+}
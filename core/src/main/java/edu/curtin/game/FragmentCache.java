@@ -0,0 +1,213 @@
+package edu.curtin.game;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Compiled map fragments for the include declaration, keyed by content hash.
+ *
+ * A fragment is a map file holding only items, obstacles, plugins and
+ * scripts, which include "path" offset (dx,dy) copies into a map with every
+ * location moved by the offset. Each fragment is parsed once: the result is
+ * kept in memory, and (if it parsed without errors) written to the cache
+ * directory as &lt;hash&gt;.mapc in MapCache's format. The key is a SHA-256
+ * hash of the file's bytes and its fallback encoding, so identical fragments
+ * copied between maps share one entry, and editing a fragment simply gives
+ * it a new key. Later includes, from the same map, other maps in a batch
+ * run, or a later run, reuse the compiled fragment.
+ *
+ * One cache can be shared by any number of threads. Fragments cannot
+ * include other fragments.
+ */
+public class FragmentCache {
+    // Per user rather than in the shared temporary directory, since a cached
+    // fragment can contain scripts
+    private static final FragmentCache SHARED =
+        new FragmentCache(Path.of(System.getProperty("user.home"), ".cache", "maze-game", "fragments"));
+
+    /**
+     * A parsed fragment and the problems found in it.
+     */
+    private static class Fragment {
+        private final GameConfig config;
+        private final List<Diagnostic> diagnostics;
+
+        private Fragment(GameConfig config, List<Diagnostic> diagnostics) {
+            this.config = config;
+            this.diagnostics = diagnostics;
+        }
+    }
+
+    private final Path directory;                                          // On-disk cache, or null for memory only
+    private final Map<String, Fragment> compiled = new ConcurrentHashMap<>();   // Content hash -> fragment
+
+    /**
+     * Creates a cache.
+     *
+     * @param directory Where compiled fragments are stored, or null to keep them in memory only
+     */
+    public FragmentCache(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Returns the cache used by the parsers, stored in
+     * ~/.cache/maze-game/fragments.
+     *
+     * @return The shared cache
+     */
+    public static FragmentCache shared() {
+        return SHARED;
+    }
+
+    /**
+     * Sends the contents of a fragment to a sink, moved by an offset.
+     * Problems in the fragment are reported at the include declaration.
+     *
+     * @param file The fragment file
+     * @param dx Added to every x coordinate
+     * @param dy Added to every y coordinate
+     * @param sink Receives the fragment's contents
+     * @param errors Receives the fragment's diagnostics
+     * @param line Line of the include declaration
+     * @param column Column of the include declaration
+     * @throws IOException if the fragment cannot be read
+     */
+    public void include(Path file, int dx, int dy, ConfigSink sink, Consumer<Diagnostic> errors,
+                        int line, int column) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        byte[] bytes = Files.readAllBytes(file);
+        Charset fallback = GameConfigParser.determineEncoding(file.getFileName().toString());
+        Fragment fragment;
+        try {
+            // computeIfAbsent, so threads including the same fragment wait for one parse
+            fragment = compiled.computeIfAbsent(key(bytes, fallback), key -> load(key, bytes, fallback));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();   // NOPMD - unwraps the IOException from load(), which has the whole trace
+        }
+
+        for (Diagnostic diagnostic : fragment.diagnostics) {
+            errors.accept(new Diagnostic(diagnostic.getSeverity(), line, column, "in included " + file.getFileName()
+                + " at line " + diagnostic.getLine() + ", column " + diagnostic.getColumn() + ": " + diagnostic.getMessage()));
+        }
+
+        sink.onInclude(file.toAbsolutePath().normalize(), attributes.size(), attributes.lastModifiedTime().toMillis());
+        GameConfig config = fragment.config;
+        for (GameConfig.Item item : config.getItems()) {
+            sink.onItemLocations(item.getName(), item.getMessage(), item.getLocations().translated(dx, dy));
+        }
+        for (GameConfig.Obstacle obstacle : config.getObstacles()) {
+            sink.onObstacleLocations(obstacle.getRequirements(), obstacle.getLocations().translated(dx, dy));
+        }
+        for (String plugin : config.getPlugins()) {
+            sink.onPlugin(plugin);
+        }
+        for (String script : config.getScripts()) {
+            sink.onScript(script);
+        }
+    }
+
+    /**
+     * Compiles a fragment that is not in memory: from the disk cache if it is
+     * there, otherwise by parsing it (and then writing the disk cache).
+     */
+    private Fragment load(String key, byte[] bytes, Charset fallback) {
+        Path cacheFile = directory != null ? directory.resolve(key + ".mapc") : null;
+        if (cacheFile != null && Files.isRegularFile(cacheFile)) {
+            GameConfig.Builder cached = new GameConfig.Builder();
+            try {
+                if (MapCache.read(cacheFile, bytes.length, 0L, cached)) {
+                    return new Fragment(cached.build(), List.of());
+                }
+            } catch (IOException e) {
+                System.out.println("Ignoring unreadable fragment cache " + cacheFile + ": " + e.getMessage());
+            }
+        }
+
+        FragmentSink sink = new FragmentSink();
+        Charset bomCharset = MappedMapReader.detectBom(ByteBuffer.wrap(bytes));
+        int start = MappedMapReader.bomLength(bomCharset);
+        try (Reader reader = new InputStreamReader(new ByteArrayInputStream(bytes, start, bytes.length - start),
+                bomCharset != null ? bomCharset : fallback)) {
+            new GameConfigParser().parseFragment(reader, sink, sink.diagnostics::add);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        GameConfig config = sink.config.build();
+
+        if (cacheFile != null && sink.diagnostics.isEmpty()) {
+            try {
+                Files.createDirectories(directory);
+                MapCache.write(cacheFile, config, bytes.length, 0L);
+            } catch (IOException e) {
+                System.out.println("Could not write fragment cache " + cacheFile + ": " + e.getMessage());
+            }
+        }
+        return new Fragment(config, sink.diagnostics);
+    }
+
+    private static String key(byte[] bytes, Charset fallback) {   //SHA-256 of the encoding name and content, in hex
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(fallback.name().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            return HexFormat.of().formatHex(digest.digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);   // Every JVM must provide it
+        }
+    }
+
+    /**
+     * Collects a fragment's declarations, rejecting the ones that only make
+     * sense in a whole map.
+     */
+    private static class FragmentSink implements ConfigSink {
+        private final GameConfig.Builder config = new GameConfig.Builder();
+        private final List<Diagnostic> diagnostics = new ArrayList<>();
+        private int line;
+        private int column;
+
+        @Override
+        public void onDeclaration(int line, int column) {
+            this.line = line;
+            this.column = column;
+        }
+
+        @Override
+        public void onSize(int width, int height) { reject("size"); }
+        @Override
+        public void onStart(int x, int y) { reject("start"); }
+        @Override
+        public void onGoal(int x, int y) { reject("goal"); }
+        @Override
+        public void onPlugin(String className) { config.onPlugin(className); }
+        @Override
+        public void onScript(String script) { config.onScript(script); }
+        @Override
+        public void onItemLocation(String name, int x, int y, String message) { config.onItemLocation(name, x, y, message); }
+        @Override
+        public void onObstacleLocation(int x, int y, List<String> requirements) { config.onObstacleLocation(x, y, requirements); }
+        @Override
+        public void onItemLocations(String name, String message, CoordinateList locations) { config.onItemLocations(name, message, locations); }
+        @Override
+        public void onObstacleLocations(List<String> requirements, CoordinateList locations) { config.onObstacleLocations(requirements, locations); }
+
+        private void reject(String declaration) {   //reports a declaration that a fragment cannot have
+            diagnostics.add(new Diagnostic(Diagnostic.Severity.ERROR, line, column,
+                declaration + " is not allowed in an included fragment"));
+        }
+    }
+}
@@ -37,13 +37,13 @@ public class GameAPIImpl implements GameAPI {
     
     @Override
     public Map<String, Integer> getPlayerInventory() {
-        return gameState.getInventory();   //returns the player's inventory
+        return gameState.getInventory().asMap();   //returns a live read-only view of the player's inventory
     }
     
     @Override
     public void addItemToInventory(String itemName, int quantity) {
-        for (int i = 0; i < quantity; i++) {   //adds an item to the player's inventory
-            gameState.addItem(itemName);
+        if (quantity > 0) {   //adds an item to the player's inventory
+            gameState.getInventory().add(gameState.getSymbols().intern(itemName), quantity);
         }
     }
     
@@ -70,6 +70,57 @@ public class GameAPIImpl implements GameAPI {
         return gameState.getGridContents(x, y);   //returns the contents of the grid square at the given x and y coordinates
     }
     
+    @Override
+    public List<int[]> getCellsOfType(String type) {
+        int cellType = CellWord.typeOf(type);
+        List<int[]> locations = new ArrayList<>((int) Math.min(gameState.countCellsOfType(cellType), Integer.MAX_VALUE - 8));
+        gameState.forEachCellOfType(cellType, (x, y) -> locations.add(new int[]{x, y}));   //copies from the index
+        return locations;
+    }
+    
+    @Override
+    public void forEachCellOfType(String type, SquareVisitor visitor) {
+        gameState.forEachCellOfType(CellWord.typeOf(type), visitor::visit);   //reads the index directly
+    }
+    
+    @Override
+    public long countCellsOfType(String type) {
+        return gameState.countCellsOfType(CellWord.typeOf(type));   //size of the index
+    }
+    
+    @Override
+    public List<int[]> getItemLocations(String itemName) {
+        int[] size = getGridSize();
+        return getItemLocationsWithin(itemName, 0, 0, size[0], size[1]);
+    }
+    
+    @Override
+    public List<int[]> getItemLocationsWithin(String itemName, int x, int y, int width, int height) {
+        CoordinateList found = gameState.findItems(itemName, x, y, width, height);
+        List<int[]> locations = new ArrayList<>(found.size());
+        found.forEach((column, row) -> locations.add(new int[]{column, row}));
+        return locations;
+    }
+    
+    @Override
+    public int[] findNearestItem(String itemName, int x, int y) {
+        long cell = gameState.nearestItem(itemName, x, y);
+        return cell < 0 ? null : new int[]{CoordinateList.unpackX(cell), CoordinateList.unpackY(cell)};
+    }
+    
+    @Override
+    public int[] randomEmptyCell(Random random) {
+        long cell = gameState.randomEmptyCell(random);
+        return cell < 0 ? null : new int[]{CoordinateList.unpackX(cell), CoordinateList.unpackY(cell)};
+    }
+    
+    @Override
+    public List<int[]> emptyCellsNear(int x, int y, int radius) {
+        List<int[]> locations = new ArrayList<>();
+        gameState.forEachEmptyCellNear(x, y, radius, (column, row) -> locations.add(new int[]{column, row}));
+        return locations;
+    }
+    
     @Override
     public String getItemAt(int x, int y) {
         if (x < 0 || x >= gameState.getGridWidth() || y < 0 || y >= gameState.getGridHeight()) {   //if the x or y is out of bounds, return null
@@ -101,14 +152,33 @@ public class GameAPIImpl implements GameAPI {
         }
     }
     
+    @Override
+    public void setRegionVisible(int x, int y, int width, int height, boolean visible) {
+        gameState.setRegionVisible(x, y, width, height, visible);   //clipped to the grid by the game state
+    }
+    
+    @Override
+    public void revealMask(int x, int y, int width, int height, long[] mask) {
+        gameState.revealMask(x, y, width, height, mask);   //reveals the masked squares of the region
+    }
+    
+    @Override
+    public long countVisibleSquares(int x, int y, int width, int height) {
+        return gameState.countVisible(x, y, width, height);   //counts the visible squares of the region
+    }
+    
+    @Override
+    public void forEachVisibleSquare(int x, int y, int width, int height, SquareVisitor visitor) {
+        gameState.forEachVisible(x, y, width, height, (column, row, cell) -> visitor.visit(column, row));
+    }
+    
     @Override
     public boolean removeItemFromGrid(int x, int y) {
         if (x < 0 || x >= gameState.getGridWidth() || y < 0 || y >= gameState.getGridHeight()) {
             return false;   //returns false if the x or y is out of bounds
         }
-        if ("item".equals(gameState.getGridContents(x, y))) {
-            gameState.setGridContents(x, y, "empty");   //sets the contents of the grid square at the given x and y coordinates to empty
-            gameState.setItemName(x, y, null);
+        if (gameState.getCellType(x, y) == CellWord.ITEM) {
+            gameState.setCellType(x, y, CellWord.EMPTY);   //empties the grid square, which also clears its item
             return true;   //returns true if the item was removed
         }
         return false;   //returns false if the item was not removed
@@ -119,8 +189,8 @@ public class GameAPIImpl implements GameAPI {
         if (x < 0 || x >= gameState.getGridWidth() || y < 0 || y >= gameState.getGridHeight()) {
             return false;
         }
-        if ("empty".equals(gameState.getGridContents(x, y))) {
-            gameState.setGridContents(x, y, "item");
+        if (gameState.getCellType(x, y) == CellWord.EMPTY) {
+            gameState.setCellType(x, y, CellWord.ITEM);
             gameState.setItemName(x, y, itemName);
             return true;
         }
@@ -132,8 +202,8 @@ public class GameAPIImpl implements GameAPI {
         if (x < 0 || x >= gameState.getGridWidth() || y < 0 || y >= gameState.getGridHeight()) {
             return false;
         }
-        if ("empty".equals(gameState.getGridContents(x, y))) {
-            gameState.setGridContents(x, y, "obstacle");
+        if (gameState.getCellType(x, y) == CellWord.EMPTY) {
+            gameState.setCellType(x, y, CellWord.OBSTACLE);
             gameState.addObstacleRequirement(x, y, requiredItem);
             return true;
         }
@@ -1,157 +1,474 @@
 package edu.curtin.game;
 
+import java.nio.file.Path;
 import java.util.*;
 
 /**
  * Data class representing the parsed game configuration from input files.
- * 
+ *
  * This class serves as a container for all the game data parsed from the DSL input file:
  * - Grid dimensions and player/goal positions
- * - Item definitions with locations and messages
+ * - Item definitions with locations and messages (locations packed in a CoordinateList)
  * - Obstacle definitions with locations and requirements
  * - Plugin class names to be loaded
  * - Script content to be executed
- * 
- * The GameConfigParser populates this object, which is then used by MazeGameApp
- * to initialize the game state and load plugins/scripts.
+ *
+ * A GameConfig is immutable. The parsers populate a GameConfig.Builder (a
+ * ConfigSink), which indexes items by name and obstacles by requirement set
+ * as they are added, and then call build() to obtain the finished GameConfig.
+ * sendTo() replays a finished config into any other ConfigSink, such as the
+ * GameStateSink that MazeGameApp uses to set up the game.
+ *
+ * Item names and requirements are stored as ids from the config's
+ * SymbolTable; getName() and getRequirements() translate them back.
+ *
+ * The contents of included fragments are already part of the items and
+ * obstacles; getIncludes() only lists which fragment files were read.
  */
 public class GameConfig {
     // Grid configuration
-    private int gridWidth;              // Number of columns in the grid
-    private int gridHeight;             // Number of rows in the grid
-    
+    private final int gridWidth;              // Number of columns in the grid
+    private final int gridHeight;             // Number of rows in the grid
+
     // Player and goal positions
-    private int startX;                 // Starting X coordinate (column)
-    private int startY;                 // Starting Y coordinate (row)
-    private int goalX;                  // Goal X coordinate (column)
-    private int goalY;                  // Goal Y coordinate (row)
-    
-    // Game content
-    private List<Item> items;           // List of items with their locations and properties
-    private List<Obstacle> obstacles;   // List of obstacles with their locations and requirements
-    private List<String> plugins;       // List of plugin class names to load
-    private List<String> scripts;       // List of Python script content to execute
-    
+    private final int startX;                 // Starting X coordinate (column)
+    private final int startY;                 // Starting Y coordinate (row)
+    private final int goalX;                  // Goal X coordinate (column)
+    private final int goalY;                  // Goal Y coordinate (row)
+
+    // Game content (all unmodifiable)
+    private final List<Item> items;           // List of items with their locations and properties
+    private final List<Obstacle> obstacles;   // List of obstacles with their locations and requirements
+    private final List<String> plugins;       // List of plugin class names to load
+    private final List<String> scripts;       // List of Python script content to execute
+    private final SymbolTable symbols;        // Ids of the item names
+    private final List<Include> includes;     // Fragment files expanded into this config
+
     /**
-     * Initializes a new GameConfig with empty collections.
+     * Creates the finished config from a builder.
      */
-    public GameConfig() {   //initializes the game config
-        this.items = new ArrayList<>();
-        this.obstacles = new ArrayList<>();
-        this.plugins = new ArrayList<>();
-        this.scripts = new ArrayList<>();
+    private GameConfig(Builder builder) {   //initializes the game config
+        this.gridWidth = builder.gridWidth;
+        this.gridHeight = builder.gridHeight;
+        this.startX = builder.startX;
+        this.startY = builder.startY;
+        this.goalX = builder.goalX;
+        this.goalY = builder.goalY;
+        this.items = Collections.unmodifiableList(builder.items);
+        this.obstacles = Collections.unmodifiableList(builder.obstacles);
+        this.plugins = Collections.unmodifiableList(builder.plugins);
+        this.scripts = Collections.unmodifiableList(builder.scripts);
+        this.symbols = builder.symbols;
+        this.includes = Collections.unmodifiableList(builder.includes);
     }
-    
-    // Getters and setters for grid configuration
+
+    // Getters for grid configuration
     public int getGridWidth() { return gridWidth; }
-    public void setGridWidth(int gridWidth) { this.gridWidth = gridWidth; }
-    
     public int getGridHeight() { return gridHeight; }
-    public void setGridHeight(int gridHeight) { this.gridHeight = gridHeight; }
-    
-    // Getters and setters for player/goal positions
+
+    // Getters for player/goal positions
     public int getStartX() { return startX; }
-    public void setStartX(int startX) { this.startX = startX; }
-    
     public int getStartY() { return startY; }
-    public void setStartY(int startY) { this.startY = startY; }
-    
     public int getGoalX() { return goalX; }
-    public void setGoalX(int goalX) { this.goalX = goalX; }
-    
     public int getGoalY() { return goalY; }
-    public void setGoalY(int goalY) { this.goalY = goalY; }
-    
-    // Getters and setters for game content
+
+    // Getters for game content
     public List<Item> getItems() { return items; }
-    public void setItems(List<Item> items) { this.items = items; }
-    
     public List<Obstacle> getObstacles() { return obstacles; }
-    public void setObstacles(List<Obstacle> obstacles) { this.obstacles = obstacles; }
-    
     public List<String> getPlugins() { return plugins; }
-    public void setPlugins(List<String> plugins) { this.plugins = plugins; }
-    
     public List<String> getScripts() { return scripts; }
-    public void setScripts(List<String> scripts) { this.scripts = scripts; }
-    
-    // Helper methods for parsing
-    public void addItem(String name, int x, int y, String message) {
-        // Check if item already exists
+    public SymbolTable getSymbols() { return symbols; }
+    public List<Include> getIncludes() { return includes; }
+
+    /**
+     * Replays this config into a sink: size, start and goal, then every item,
+     * every obstacle, the plugins and the scripts.
+     *
+     * @param sink The receiver
+     */
+    public void sendTo(ConfigSink sink) {
+        sink.onSize(gridWidth, gridHeight);
+        sink.onStart(startX, startY);
+        sink.onGoal(goalX, goalY);
+        for (Include include : includes) {
+            sink.onInclude(include.file, include.size, include.modified);
+        }
         for (Item item : items) {
-            if (item.getName().equals(name)) {
-                item.addLocation(x, y);
-                return;
-            }
+            sink.onItemLocations(item.getName(), item.message, item.locations);
         }
-        // Create new item
-        Item newItem = new Item(name, message);
-        newItem.addLocation(x, y);
-        items.add(newItem);
-    }
-    
-    public void addObstacle(int x, int y, String requirement) {
-        // Check if obstacle already exists
         for (Obstacle obstacle : obstacles) {
-            if (obstacle.getRequirements().contains(requirement)) {
-                obstacle.addLocation(x, y);
-                return;
+            sink.onObstacleLocations(obstacle.getRequirements(), obstacle.locations);
+        }
+        for (String plugin : plugins) {
+            sink.onPlugin(plugin);
+        }
+        for (String script : scripts) {
+            sink.onScript(script);
+        }
+    }
+
+    /**
+     * Mutable builder used while parsing.
+     *
+     * Items are indexed by name and obstacles by their (order-insensitive) set
+     * of required items, so adding a location is a hash lookup rather than a
+     * scan over everything added so far.
+     */
+    public static class Builder implements ConfigSink {
+        private final SymbolTable symbols;   // Interns the item names
+        private int gridWidth;
+        private int gridHeight;
+        private int startX;
+        private int startY;
+        private int goalX;
+        private int goalY;
+
+        private final List<Item> items = new ArrayList<>();
+        private final Map<String, Item> itemsByName = new HashMap<>();
+        private final List<Obstacle> obstacles = new ArrayList<>();
+        private final Map<List<String>, Obstacle> obstaclesByRequirements = new HashMap<>();
+        private final List<String> plugins = new ArrayList<>();
+        private final List<String> scripts = new ArrayList<>();
+        private final List<Include> includes = new ArrayList<>();
+
+        // The parsers pass the same list for every location of a declaration,
+        // so remembering the last lookup avoids re-hashing it each time
+        private List<String> lastRequirements;
+        private Obstacle lastObstacle;
+        private boolean built;
+
+        // Whether size/start/goal were declared, so addAll knows which to take
+        private boolean sizeSet;
+        private boolean startSet;
+        private boolean goalSet;
+
+        /**
+         * Creates a builder with its own symbol table.
+         */
+        public Builder() {
+            this(new SymbolTable());
+        }
+
+        /**
+         * Creates a builder that interns names into an existing table, such
+         * as one shared by the builders of a parallel parse.
+         *
+         * @param symbols The symbol table
+         */
+        public Builder(SymbolTable symbols) {
+            this.symbols = symbols;
+        }
+
+        public Builder setGridSize(int width, int height) {   //sets the grid dimensions
+            checkNotBuilt();
+            this.gridWidth = width;
+            this.gridHeight = height;
+            this.sizeSet = true;
+            return this;
+        }
+
+        public Builder setStart(int x, int y) {   //sets the player start position
+            checkNotBuilt();
+            this.startX = x;
+            this.startY = y;
+            this.startSet = true;
+            return this;
+        }
+
+        public Builder setGoal(int x, int y) {   //sets the goal position
+            checkNotBuilt();
+            this.goalX = x;
+            this.goalY = y;
+            this.goalSet = true;
+            return this;
+        }
+
+        public Builder addPlugin(String className) {   //adds a plugin class name
+            checkNotBuilt();
+            plugins.add(className);
+            return this;
+        }
+
+        public Builder addScript(String script) {   //adds a script
+            checkNotBuilt();
+            scripts.add(script);
+            return this;
+        }
+
+        /**
+         * Adds a location for the named item, creating the item on first use.
+         * The message of the first declaration of an item is kept.
+         */
+        public Builder addItem(String name, int x, int y, String message) {
+            checkNotBuilt();
+            Item item = itemsByName.get(name);
+            if (item == null) {
+                item = new Item(symbols, symbols.intern(name), message, new CoordinateList());
+                itemsByName.put(name, item);
+                items.add(item);
             }
+            item.addLocation(x, y);
+            return this;
+        }
+
+        /**
+         * Adds a location for the obstacle with the given requirements, creating
+         * the obstacle on first use. Obstacles with the same set of required
+         * items, in any order, share one Obstacle. The list must not be
+         * modified after it has been passed in.
+         */
+        public Builder addObstacle(int x, int y, List<String> requirements) {
+            checkNotBuilt();
+            Obstacle obstacle;
+            if (requirements == lastRequirements) {   // NOPMD - identity check is the point of the cache
+                obstacle = lastObstacle;
+            } else {
+                List<String> key = requirementKey(requirements);
+                obstacle = obstaclesByRequirements.get(key);
+                if (obstacle == null) {
+                    obstacle = new Obstacle(symbols, distinctIds(requirements), new CoordinateList());
+                    obstaclesByRequirements.put(key, obstacle);
+                    obstacles.add(obstacle);
+                }
+                lastRequirements = requirements;
+                lastObstacle = obstacle;
+            }
+            obstacle.addLocation(x, y);
+            return this;
+        }
+
+        // ConfigSink, so the parsers can fill a builder directly
+        @Override
+        public void onSize(int width, int height) { setGridSize(width, height); }
+        @Override
+        public void onStart(int x, int y) { setStart(x, y); }
+        @Override
+        public void onGoal(int x, int y) { setGoal(x, y); }
+        @Override
+        public void onPlugin(String className) { addPlugin(className); }
+        @Override
+        public void onScript(String script) { addScript(script); }
+        @Override
+        public void onItemLocation(String name, int x, int y, String message) { addItem(name, x, y, message); }
+        @Override
+        public void onObstacleLocation(int x, int y, List<String> requirements) { addObstacle(x, y, requirements); }
+        @Override
+        public void onInclude(Path fragment, long size, long modified) {
+            checkNotBuilt();
+            includes.add(new Include(fragment, size, modified));
         }
-        // Create new obstacle
-        Obstacle newObstacle = new Obstacle();
-        newObstacle.addLocation(x, y);
-        newObstacle.addRequirement(requirement);
-        obstacles.add(newObstacle);
+
+        /**
+         * Adds a whole list of locations for the named item, as addItem does
+         * one location at a time. The list is adopted rather than copied if
+         * the item is new, so it must not be modified afterwards; it is copied
+         * before any later locations are added to it, so the caller's list
+         * (such as another config's, passed by sendTo) is never changed.
+         */
+        @Override
+        public void onItemLocations(String name, String message, CoordinateList locations) {
+            checkNotBuilt();
+            Item item = itemsByName.get(name);
+            if (item == null) {
+                item = new Item(symbols, symbols.intern(name), message, locations);
+                item.borrowed = true;
+                itemsByName.put(name, item);
+                items.add(item);
+            } else {
+                item.ownLocations().addAll(locations);
+            }
+        }
+
+        /**
+         * Adds a whole list of locations for the obstacle with the given
+         * requirements, as addObstacle does one location at a time. The list
+         * is adopted rather than copied if the obstacle is new, so it must not
+         * be modified afterwards; like onItemLocations, it is copied before any
+         * later locations are added to it.
+         */
+        @Override
+        public void onObstacleLocations(List<String> requirements, CoordinateList locations) {
+            checkNotBuilt();
+            List<String> key = requirementKey(requirements);
+            Obstacle obstacle = obstaclesByRequirements.get(key);
+            if (obstacle == null) {
+                obstacle = new Obstacle(symbols, distinctIds(requirements), locations);
+                obstacle.borrowed = true;
+                obstaclesByRequirements.put(key, obstacle);
+                obstacles.add(obstacle);
+            } else {
+                obstacle.ownLocations().addAll(locations);
+            }
+        }
+
+        /**
+         * Appends everything added to another builder, as if its declarations
+         * had followed the ones already added here. This is how the partial
+         * configs of a parallel parse are merged, in declaration order.
+         *
+         * The other builder gives up its items and obstacles and cannot be
+         * used afterwards. If it has a different symbol table, its names are
+         * interned into this builder's table.
+         *
+         * @param other Builder holding the later declarations
+         * @return This builder
+         */
+        public Builder addAll(Builder other) {
+            checkNotBuilt();
+            other.checkNotBuilt();
+            other.built = true;
+
+            if (other.sizeSet) {
+                setGridSize(other.gridWidth, other.gridHeight);
+            }
+            if (other.startSet) {
+                setStart(other.startX, other.startY);
+            }
+            if (other.goalSet) {
+                setGoal(other.goalX, other.goalY);
+            }
+
+            boolean sameSymbols = other.symbols == symbols;   // NOPMD - identity check: ids only carry over within one table
+            for (Item item : other.items) {
+                Item existing = itemsByName.get(item.getName());
+                if (existing == null) {
+                    Item adopted = sameSymbols ? item
+                        : new Item(symbols, symbols.intern(item.getName()), item.message, item.locations);
+                    adopted.borrowed = item.borrowed;
+                    itemsByName.put(adopted.getName(), adopted);
+                    items.add(adopted);
+                } else {
+                    existing.ownLocations().addAll(item.locations);
+                }
+            }
+            for (Obstacle obstacle : other.obstacles) {
+                List<String> key = requirementKey(obstacle.getRequirements());
+                Obstacle existing = obstaclesByRequirements.get(key);
+                if (existing == null) {
+                    Obstacle adopted = sameSymbols ? obstacle
+                        : new Obstacle(symbols, symbols.internAll(obstacle.getRequirements()), obstacle.locations);
+                    adopted.borrowed = obstacle.borrowed;
+                    obstaclesByRequirements.put(key, adopted);
+                    obstacles.add(adopted);
+                } else {
+                    existing.ownLocations().addAll(obstacle.locations);
+                }
+            }
+            plugins.addAll(other.plugins);
+            scripts.addAll(other.scripts);
+            includes.addAll(other.includes);
+            return this;
+        }
+
+        /**
+         * Finishes building. The builder cannot be used afterwards.
+         *
+         * @return The immutable config
+         */
+        public GameConfig build() {
+            checkNotBuilt();
+            built = true;
+            for (Item item : items) {
+                item.locations.trimToSize();
+            }
+            for (Obstacle obstacle : obstacles) {
+                obstacle.locations.trimToSize();
+            }
+            return new GameConfig(this);
+        }
+
+        private void checkNotBuilt() {
+            if (built) {
+                throw new IllegalStateException("GameConfig has already been built");
+            }
+        }
+
+        private int[] distinctIds(List<String> requirements) {   //ids of the distinct requirements, in first-seen order
+            return symbols.internAll(List.copyOf(new LinkedHashSet<>(requirements)));
+        }
+
+        private static List<String> requirementKey(List<String> requirements) {   //distinct requirements in sorted order
+            SortedSet<String> distinct = new TreeSet<>(requirements);
+            return List.copyOf(distinct);
+        }
+    }
+
+    /**
+     * A fragment file read by an include declaration, with the size and
+     * modification time it had when it was read.
+     */
+    public static class Include {
+        private final Path file;
+        private final long size;
+        private final long modified;
+
+        private Include(Path file, long size, long modified) {   //initializes the include
+            this.file = file;
+            this.size = size;
+            this.modified = modified;
+        }
+        //getters for the include
+        public Path getFile() { return file; }
+        public long getSize() { return size; }
+        public long getModified() { return modified; }
     }
-    
+
     public static class Item {   //class for items
-        private String name;
-        private String message;
-        private List<int[]> locations;
-        
-        public Item(String name, String message) {   //initializes the item
-            this.name = name;
+        private final SymbolTable symbols;
+        private final int nameId;
+        private final String message;
+        private CoordinateList locations;
+        private boolean borrowed;   // locations was adopted from a caller and is copied before being added to
+
+        private Item(SymbolTable symbols, int nameId, String message, CoordinateList locations) {   //initializes the item
+            this.symbols = symbols;
+            this.nameId = nameId;
             this.message = message;
-            this.locations = new ArrayList<>();
+            this.locations = locations;
         }
-        //getters and setters for the item
-        public String getName() { return name; }
-        public void setName(String name) { this.name = name; }
-        //getter and setter for the item message
+        //getters for the item
+        public String getName() { return symbols.name(nameId); }
+        public int getNameId() { return nameId; }
         public String getMessage() { return message; }
-        public void setMessage(String message) { this.message = message; }
-        //getter and setter for the item locations
-        public List<int[]> getLocations() { return locations; }
-        public void setLocations(List<int[]> locations) { this.locations = locations; }
-        //method to add a location to the item
-        public void addLocation(int x, int y) {
-            locations.add(new int[]{x, y});
+        public CoordinateList getLocations() { return locations; }
+        //method to add a location to the item (builder only)
+        private void addLocation(int x, int y) {
+            ownLocations().add(x, y);
+        }
+        private CoordinateList ownLocations() {   //the locations, copied first if they were adopted from a caller
+            if (borrowed) {
+                locations = locations.copy();
+                borrowed = false;
+            }
+            return locations;
         }
     }
-    
+
     public static class Obstacle {   //class for obstacles
-        private List<int[]> locations;
-        private List<String> requirements;
-        
-        public Obstacle() {   //initializes the obstacle
-            this.locations = new ArrayList<>();
-            this.requirements = new ArrayList<>();
-        }
-        //getters and setters for the obstacle
-        public List<int[]> getLocations() { return locations; }
-        public void setLocations(List<int[]> locations) { this.locations = locations; }
-        //getter and setter for the obstacle requirements
-        public List<String> getRequirements() { return requirements; }
-        public void setRequirements(List<String> requirements) { this.requirements = requirements; }
-        //method to add a location to the obstacle
-        public void addLocation(int x, int y) {
-            locations.add(new int[]{x, y});
-        }
-        
-        //method to add a requirement to the obstacle
-        public void addRequirement(String requirement) {
-            requirements.add(requirement);
+        private final SymbolTable symbols;
+        private final int[] requirementIds;
+        private CoordinateList locations;
+        private boolean borrowed;   // locations was adopted from a caller and is copied before being added to
+
+        private Obstacle(SymbolTable symbols, int[] requirementIds, CoordinateList locations) {   //initializes the obstacle
+            this.symbols = symbols;
+            this.requirementIds = requirementIds;
+            this.locations = locations;
+        }
+        //getters for the obstacle
+        public CoordinateList getLocations() { return locations; }
+        public List<String> getRequirements() { return symbols.names(requirementIds); }
+        public int[] getRequirementIds() { return requirementIds.clone(); }
+        //method to add a location to the obstacle (builder only)
+        private void addLocation(int x, int y) {
+            ownLocations().add(x, y);
+        }
+        private CoordinateList ownLocations() {   //the locations, copied first if they were adopted from a caller
+            if (borrowed) {
+                locations = locations.copy();
+                borrowed = false;
+            }
+            return locations;
         }
     }
 }
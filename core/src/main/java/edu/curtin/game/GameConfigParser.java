@@ -1,53 +1,185 @@
 package edu.curtin.game;
 
-import edu.curtin.game.parser.*;
 import java.io.*;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Parser for the game configuration DSL (Domain-Specific Language).
- * 
+ *
  * This parser handles the specially-formatted input files that define:
  * - Grid size and player/goal positions
  * - Item locations and properties
  * - Obstacle locations and requirements
  * - Plugin declarations
  * - Script declarations (Python code)
- * 
+ * - Include declarations, which copy a fragment file into the map at an
+ *   offset (see FragmentCache)
+ *
  * The parser supports multiple character encodings (UTF-8, UTF-16, UTF-32)
  * as required by the assignment specifications.
- * 
+ *
+ * By default the input is read through a MapTokenizer in a single pass, with
+ * each declaration parsed straight from the token stream. Three other backends
+ * can be selected: Backend.ANTLR uses the parser generated from GameConfig.g4
+ * (see AntlrConfigParser), Backend.REGEX is the original regex-based
+ * parser, kept for comparison, and Backend.PARALLEL splits the input into
+ * declaration spans that are parsed concurrently (see ParallelConfigParser).
  */
 public class GameConfigParser {   //class for the game config parser
-    
+
+    /**
+     * Available parsing strategies.
+     */
+    public enum Backend {
+        STREAMING,   // Single-pass MapTokenizer straight from the Reader (default)
+        ANTLR,       // Generated GameConfig.g4 parser, SLL then LL (AntlrConfigParser)
+        REGEX,       // Original whole-file, regex-based parser (RegexConfigParser)
+        PARALLEL     // Declaration spans parsed concurrently on a ForkJoinPool (ParallelConfigParser)
+    }
+
+    /** Words that begin a declaration. */
+    /* default */ static final List<String> DECLARATION_KEYWORDS =
+        List.of("size", "start", "goal", "item", "obstacle", "plugin", "script", "include");
+
+    private final Backend backend;                   // Strategy used by parseFile
+    private AntlrConfigParser antlrParser;           // Created on first use, then reused
+    private ParallelConfigParser parallelParser;     // Created on first use, then reused
+
+    /**
+     * Creates a parser using the streaming backend.
+     */
+    public GameConfigParser() {
+        this(Backend.STREAMING);
+    }
+
+    /**
+     * Creates a parser using the given backend.
+     *
+     * @param backend The parsing strategy to use
+     */
+    public GameConfigParser(Backend backend) {
+        this.backend = backend;
+    }
+
     /**
      * Parses a game configuration file and returns a GameConfig object.
-     * 
-     * @param filename Path to the input file (.utf8.map, .utf16.map, or .utf32.map)
+     *
+     * @param filename Path to the input file (.utf8.map, .utf16.map, or .utf32.map,
+     *                 optionally compressed as .map.gz or .map.deflate)
      * @return GameConfig object containing all parsed game data
      * @throws IOException if the file cannot be read
      */
     public GameConfig parseFile(String filename) throws IOException {
+        return parseFile(filename, System.out::println);
+    }
+
+    /**
+     * Parses a game configuration file, passing each problem to a consumer
+     * instead of printing it. Only the STREAMING and PARALLEL backends report
+     * through the consumer (see reportsDiagnostics); the others print their
+     * errors as they find them.
+     *
+     * @param filename Path to the input file (plain or compressed, as for parseFile)
+     * @param errors Receives a diagnostic for each malformed declaration or location
+     * @return GameConfig object containing all parsed game data
+     * @throws IOException if the file cannot be read
+     */
+    /* default */ GameConfig parseFile(String filename, Consumer<Diagnostic> errors) throws IOException {
+        Path directory = directoryOf(filename);
+        try (Reader reader = openReader(filename)) {
+            if (backend == Backend.REGEX) {
+                // Read file content and parse using regex-based approach
+                return new RegexConfigParser().parseSimple(readAll(reader));
+            } else if (backend == Backend.ANTLR) {
+                if (antlrParser == null) {
+                    antlrParser = new AntlrConfigParser();
+                }
+                return antlrParser.parse(reader, directory);
+            } else if (backend == Backend.PARALLEL) {
+                if (parallelParser == null) {
+                    parallelParser = new ParallelConfigParser();
+                }
+                return parallelParser.parse(reader, directory, errors);
+            }
+            GameConfig.Builder config = new GameConfig.Builder();
+            parseDeclarations(new MapTokenizer(reader), config, errors, directory);
+            return config.build();
+        }
+    }
+
+    /* default */ boolean reportsDiagnostics() {   //whether parseFile(filename, errors) passes every problem to the consumer
+        return backend == Backend.STREAMING || backend == Backend.PARALLEL;
+    }
+
+    /**
+     * Parses a game configuration file straight into a sink.
+     *
+     * With the STREAMING backend each declaration is sent to the sink as soon
+     * as it is parsed, so no GameConfig is built. The other backends build a
+     * GameConfig first and then replay it into the sink.
+     *
+     * @param filename Path to the input file (plain or compressed, as for parseFile)
+     * @param sink Receives the declarations
+     * @throws IOException if the file cannot be read
+     */
+    public void parseFile(String filename, ConfigSink sink) throws IOException {
+        parseFile(filename, sink, System.out::println);
+    }
+
+    /* default */ void parseFile(String filename, ConfigSink sink, Consumer<Diagnostic> errors) throws IOException {   //as parseFile(filename, sink), passing each problem to a consumer
+        if (backend != Backend.STREAMING) {
+            parseFile(filename, errors).sendTo(sink);
+            return;
+        }
+        try (Reader reader = openReader(filename)) {
+            parseDeclarations(new MapTokenizer(reader), sink, errors, directoryOf(filename));
+        }
+    }
+
+    /**
+     * Returns the directory that include paths in a map file are relative to.
+     *
+     * @param filename Path to the map file
+     * @return The directory containing it
+     */
+    /* default */ static Path directoryOf(String filename) {
+        Path parent = Path.of(filename).toAbsolutePath().getParent();
+        return parent != null ? parent : Path.of("");
+    }
+
+    /**
+     * Opens a map file for reading. Plain maps are memory-mapped (see
+     * MappedMapReader); .gz and .deflate maps are decompressed as they are
+     * read (see CompressedMapReader).
+     *
+     * @param filename Path to the input file
+     * @return Reader over the decoded text
+     * @throws IOException if the file cannot be opened
+     */
+    private Reader openReader(String filename) throws IOException {   //opens a plain or compressed map file
         // Determine encoding from file extension
-        Charset encoding = determineEncoding(filename);
-        
-        // Read file content
-        String content = readFile(filename, encoding);
-        
-        // Parse using regex-based approach (temporary solution)
-        return parseContent(content);
-    }
-    
+        Charset encoding = determineEncoding(CompressedMapReader.stripSuffix(filename));
+        if (CompressedMapReader.isCompressed(filename)) {
+            return new CompressedMapReader(Path.of(filename), encoding);
+        }
+        return new MappedMapReader(Path.of(filename), encoding);
+    }
+
     /**
      * Determines the character encoding based on the file extension.
-     * 
+     * This is only a fallback - a byte order mark at the start of the file
+     * takes precedence (see MappedMapReader).
+     *
      * @param filename The input filename
      * @return Charset object for the appropriate encoding
      */
-    private Charset determineEncoding(String filename) {   //determines the character encoding based on the file extension
+    /* default */ static Charset determineEncoding(String filename) {   //determines the character encoding based on the file extension
         if (filename.endsWith(".utf16.map")) {
             return StandardCharsets.UTF_16;
         } else if (filename.endsWith(".utf32.map")) {
@@ -56,291 +188,389 @@ public class GameConfigParser {   //class for the game config parser
             return StandardCharsets.UTF_8; // Default for .utf8.map
         }
     }
-    
+
     /**
-     * Reads the entire file content using the specified encoding.
-     * 
-     * @param filename Path to the file
-     * @param encoding Character encoding to use
+     * Reads everything from a reader into one string, with line endings
+     * normalised to \n. Only used by the REGEX backend, which needs the whole
+     * file as one string.
+     *
+     * @param reader Source of the text
      * @return Complete file content as a string
-     * @throws IOException if the file cannot be read
+     * @throws IOException if the reader fails
      */
-    private String readFile(String filename, Charset encoding) throws IOException {   //reads the entire file content using the specified encoding
-        try (BufferedReader reader = new BufferedReader(
-                new InputStreamReader(new FileInputStream(filename), encoding))) {
-            StringBuilder content = new StringBuilder();
-            String line;
-            while ((line = reader.readLine()) != null) {
-                content.append(line).append("\n");
-            }
-            return content.toString();
+    private String readAll(Reader reader) throws IOException {   //reads the entire content of a reader
+        BufferedReader lines = new BufferedReader(reader);
+        StringBuilder content = new StringBuilder();
+        String line;
+        while ((line = lines.readLine()) != null) {
+            content.append(line).append("\n");
         }
+        return content.toString();
     }
-    
+
     /**
-     * Parses the file content using regex-based approach.
+     * Parses DSL text from a Reader in a single pass.
      * - size (rows,cols)
      * - start (r,c) and goal (r,c)
      * - item "name" { at (r,c), ... message "..." }
      * - obstacle { at (r,c), ... requires "item1", "item2" }
      * - plugin class.name
      * - script !{ python code }
-     * 
-     * @param content The file content to parse
+     *
+     * A malformed declaration is reported and skipped; parsing resumes at the
+     * next declaration keyword. A malformed location in an item or obstacle
+     * only drops that location. Include paths are relative to the working
+     * directory.
+     *
+     * @param reader Source of the DSL text (not closed by this method)
      * @return GameConfig object with all parsed data
+     * @throws IOException if the reader fails
      */
-    private GameConfig parseContent(String content) {   //parses the file content using regex-based approach
-        return parseSimple(content);
-    }
-    
-    private GameConfig parseSimple(String content) {   //parses the file content using regex-based approach
-        GameConfig config = new GameConfig();
-        
-        // Split by lines and process each line
-        String[] lines = content.split("\\n");
-        StringBuilder currentDeclaration = new StringBuilder();
-        
-        boolean inScript = false;   //boolean to check if the current line is a script
-        for (String line : lines) {
-            String trimmedLine = line.trim();
-            if (trimmedLine.isEmpty()) continue;   //if the line is empty, continue
-            
-            // Check if this line starts a new declaration
-            if (trimmedLine.matches("^(size|start|goal|item|obstacle|plugin|script)\\s+.*")) {
-                // Process any previous declaration
-                if (currentDeclaration.length() > 0) {
-                    processDeclaration(currentDeclaration.toString(), config);
-                }
-                // Start new declaration
-                currentDeclaration = new StringBuilder(trimmedLine);
-                inScript = trimmedLine.startsWith("script");
-            } else {
-                // Continue current declaration
-                // For scripts, preserve line breaks and indentation; for others, use spaces
-                if (inScript) {
-                    currentDeclaration.append("\n").append(line);  // Keep original indentation
-                } else {
-                    currentDeclaration.append(" ").append(trimmedLine);
-                }
+    public GameConfig parse(Reader reader) throws IOException {
+        GameConfig.Builder config = new GameConfig.Builder();
+        parse(reader, config);
+        return config.build();
+    }
+
+    /**
+     * Parses DSL text from a Reader in a single pass, sending each declaration
+     * to a sink as soon as it has been parsed.
+     *
+     * @param reader Source of the DSL text (not closed by this method)
+     * @param sink Receives the declarations
+     * @throws IOException if the reader fails
+     */
+    public void parse(Reader reader, ConfigSink sink) throws IOException {
+        parseDeclarations(new MapTokenizer(reader), sink, System.out::println, Path.of(""));
+    }
+
+    /**
+     * Checks a map file without loading it, and returns every problem found.
+     * Validation always reads the file with the streaming tokenizer, whatever
+     * the backend, so that each problem has a line and column.
+     *
+     * @param filename Path to the input file (plain or compressed, as for parseFile)
+     * @return Syntax errors and bounds/overlap problems, in file order
+     * @throws IOException if the file cannot be read
+     */
+    public List<Diagnostic> validateFile(String filename) throws IOException {
+        try (Reader reader = openReader(filename)) {
+            return validate(reader, directoryOf(filename));
+        }
+    }
+
+    /**
+     * Checks DSL text without loading it: parses it with error recovery,
+     * collecting syntax errors instead of printing them, and runs the parsed
+     * declarations through a MapValidator.
+     *
+     * @param reader Source of the DSL text (not closed by this method)
+     * @return Syntax errors and bounds/overlap problems, in file order
+     * @throws IOException if the reader fails
+     */
+    public List<Diagnostic> validate(Reader reader) throws IOException {
+        return validate(reader, Path.of(""));
+    }
+
+    private List<Diagnostic> validate(Reader reader, Path directory) throws IOException {   //validates text whose includes are relative to directory
+        MapValidator validator = new MapValidator();
+        parseDeclarations(new MapTokenizer(reader), validator, validator::report, directory);
+        return validator.finish();
+    }
+
+    /**
+     * Parses an included fragment. Used by FragmentCache; an include inside
+     * a fragment is reported as an error.
+     *
+     * @param reader Source of the fragment text (not closed by this method)
+     * @param sink Receives the declarations
+     * @param errors Receives a diagnostic for each malformed declaration or location
+     * @throws IOException if the reader fails
+     */
+    /* default */ void parseFragment(Reader reader, ConfigSink sink, Consumer<Diagnostic> errors) throws IOException {
+        parseDeclarations(new MapTokenizer(reader), sink, errors, null);
+    }
+
+    /**
+     * Parses every declaration from a tokenizer into a builder. Also used by
+     * ParallelConfigParser for each span of declarations.
+     *
+     * @param tokens Tokenizer positioned before the first token
+     * @param config Receives the declarations
+     * @param errors Receives a diagnostic for each malformed declaration or location
+     * @param directory Directory that include paths are relative to, or null if includes are not allowed
+     * @throws IOException if the reader fails
+     */
+    /* default */ void parseDeclarations(MapTokenizer tokens, ConfigSink config,
+                                         Consumer<Diagnostic> errors, Path directory) throws IOException {
+        tokens.next();
+        while (tokens.getType() != MapTokenizer.TokenType.EOF) {
+            String declaration = tokens.describe();
+            config.onDeclaration(tokens.getLine(), tokens.getColumn());
+            try {
+                parseDeclaration(tokens, config, errors, directory);
+            } catch (MapParseException e) {
+                errors.accept(Diagnostic.of(declaration, e));
+                skipToNextDeclaration(tokens);
             }
         }
-        
-        // Process the last declaration
-        if (currentDeclaration.length() > 0) {
-            processDeclaration(currentDeclaration.toString(), config);
+    }
+
+    private void parseDeclaration(MapTokenizer tokens, ConfigSink config, Consumer<Diagnostic> errors,
+                                  Path directory) throws IOException, MapParseException {   //parses one declaration, leaving the tokenizer on the token after it
+        if (tokens.isWord("size")) {
+            parseSize(tokens, config);   //parses the size declaration
+        } else if (tokens.isWord("start")) {
+            parseStart(tokens, config);   //parses the start declaration
+        } else if (tokens.isWord("goal")) {
+            parseGoal(tokens, config);   //parses the goal declaration
+        } else if (tokens.isWord("item")) {
+            parseItem(tokens, config, errors);   //parses the item declaration
+        } else if (tokens.isWord("obstacle")) {
+            parseObstacle(tokens, config, errors);   //parses the obstacle declaration
+        } else if (tokens.isWord("plugin")) {
+            parsePlugin(tokens, config);   //parses the plugin declaration
+        } else if (tokens.isWord("script")) {
+            parseScript(tokens, config);   //parses the script declaration
+        } else if (tokens.isWord("include")) {
+            parseInclude(tokens, config, errors, directory);   //parses the include declaration
+        } else {
+            throw error(tokens, "expected a declaration but found " + tokens.describe());
         }
-        
-        return config;
-    }
-    
-    private void processDeclaration(String declaration, GameConfig config) {   //processes the declaration
-        declaration = declaration.trim();
-        if (declaration.isEmpty()) return;   //if the declaration is empty, return
-        
-        if (declaration.startsWith("size")) {
-            parseSize(declaration, config);   //parses the size declaration
-        } else if (declaration.startsWith("start")) {
-            parseStart(declaration, config);   //parses the start declaration
-        } else if (declaration.startsWith("goal")) {
-            parseGoal(declaration, config);   //parses the goal declaration
-        } else if (declaration.startsWith("item")) {
-            parseItem(declaration, config);   //parses the item declaration
-        } else if (declaration.startsWith("obstacle")) {
-            parseObstacle(declaration, config);   //parses the obstacle declaration
-        } else if (declaration.startsWith("plugin")) {
-            parsePlugin(declaration, config);   //parses the plugin declaration
-        } else if (declaration.startsWith("script")) {
-            parseScript(declaration, config);   //parses the script declaration
+    }
+
+    private void skipToNextDeclaration(MapTokenizer tokens) throws IOException {   //error recovery: skips tokens up to the next declaration keyword
+        while (tokens.getType() != MapTokenizer.TokenType.EOF && !isDeclarationKeyword(tokens)) {
+            tokens.next();
         }
     }
-    
-    private void parseSize(String line, GameConfig config) {
-        // Parse size (10,10) format
-        String[] parts = line.split("\\(");
-        if (parts.length > 1) {
-            String coords = parts[1].replace(")", "").trim();
-            String[] coordsArray = coords.split(",");
-            if (coordsArray.length == 2) {
-                config.setGridWidth(Integer.parseInt(coordsArray[0].trim()));
-                config.setGridHeight(Integer.parseInt(coordsArray[1].trim()));
+
+    /**
+     * Error recovery inside a location list: skips the rest of a malformed
+     * location. Stops at the next '(' (returning true, so the list carries on)
+     * or at anything that ends the list.
+     */
+    private boolean skipToNextLocation(MapTokenizer tokens) throws IOException {
+        while (tokens.getType() != MapTokenizer.TokenType.EOF && !isDeclarationKeyword(tokens)
+                && !tokens.isWord("message") && !tokens.isWord("requires") && !tokens.isSymbol('}')) {
+            if (tokens.isSymbol('(')) {
+                return true;
             }
+            tokens.next();
         }
+        return false;
     }
-    
-    private void parseStart(String line, GameConfig config) {
-        // Parse start (1,5) format
-        String[] parts = line.split("\\(");
-        if (parts.length > 1) {
-            String coords = parts[1].replace(")", "").trim();
-            String[] coordsArray = coords.split(",");
-            if (coordsArray.length == 2) {
-                config.setStartX(Integer.parseInt(coordsArray[0].trim()));
-                config.setStartY(Integer.parseInt(coordsArray[1].trim()));
+
+    private boolean isDeclarationKeyword(MapTokenizer tokens) {
+        for (String keyword : DECLARATION_KEYWORDS) {
+            if (tokens.isWord(keyword)) {
+                return true;
             }
         }
+        return false;
     }
-    
-    private void parseGoal(String line, GameConfig config) {
+
+    private void parseSize(MapTokenizer tokens, ConfigSink config) throws IOException, MapParseException {
+        // Parse size (10,10) format
+        tokens.next();
+        int[] size = parseCoordinate(tokens);
+        config.onSize(size[0], size[1]);
+    }
+
+    private void parseStart(MapTokenizer tokens, ConfigSink config) throws IOException, MapParseException {
+        // Parse start (1,5) format
+        tokens.next();
+        int[] start = parseCoordinate(tokens);
+        config.onStart(start[0], start[1]);
+    }
+
+    private void parseGoal(MapTokenizer tokens, ConfigSink config) throws IOException, MapParseException {
         // Parse goal (9,8) format
-        String[] parts = line.split("\\(");
-        if (parts.length > 1) {
-            String coords = parts[1].replace(")", "").trim();
-            String[] coordsArray = coords.split(",");
-            if (coordsArray.length == 2) {
-                config.setGoalX(Integer.parseInt(coordsArray[0].trim()));
-                config.setGoalY(Integer.parseInt(coordsArray[1].trim()));
-            }
-        }
+        tokens.next();
+        int[] goal = parseCoordinate(tokens);
+        config.onGoal(goal[0], goal[1]);
     }
-    
-    private void parsePlugin(String line, GameConfig config) {
+
+    private void parsePlugin(MapTokenizer tokens, ConfigSink config) throws IOException, MapParseException {
         // Parse plugin edu.curtin.gameplugins.Teleport format
-        String[] parts = line.split("\\s+");
-        if (parts.length > 1 && !parts[1].trim().isEmpty() && !parts[1].trim().equals("=")) {
-            config.getPlugins().add(parts[1].trim());
+        tokens.next();
+        if (tokens.getType() != MapTokenizer.TokenType.WORD) {
+            throw error(tokens, "expected a plugin class name but found " + tokens.describe());
         }
+        config.onPlugin(tokens.getText());
+        tokens.next();
     }
-    
-    private void parseItem(String line, GameConfig config) {
-        // Parse item "name" { at (x,y) message "text" } format
-        try {
-            System.out.println("Parsing item: " + line);
-            
-            // Extract item name
-            int nameStart = line.indexOf('"');
-            int nameEnd = line.indexOf('"', nameStart + 1);
-            if (nameStart == -1 || nameEnd == -1) {
-                System.out.println("No item name found");
-                return;
-            }
-            
-            String itemName = line.substring(nameStart + 1, nameEnd);
-            System.out.println("Item name: " + itemName);
-            
-            // Extract locations - look for "at (" pattern
-            int atIndex = line.indexOf("at (");
-            if (atIndex == -1) {
-                System.out.println("No 'at' found");
-                return;
-            }
-            
-            String locationsPart = line.substring(atIndex + 3); // Changed from +4 to +3 to include the (
-            int messageIndex = locationsPart.indexOf("message");
-            if (messageIndex != -1) {
-                locationsPart = locationsPart.substring(0, messageIndex);
-            }
-            
-            System.out.println("Locations part: " + locationsPart);
-            
-            // Parse coordinates - look for (x,y) pattern
-            System.out.println("Looking for coordinates in: " + locationsPart);
-            
-            // Use regex to find all (x,y) patterns
-            java.util.regex.Pattern pattern = java.util.regex.Pattern.compile("\\((\\d+)\\s*,\\s*(\\d+)\\)");
-            java.util.regex.Matcher matcher = pattern.matcher(locationsPart);
-            
-            while (matcher.find()) {
-                int x = Integer.parseInt(matcher.group(1));
-                int y = Integer.parseInt(matcher.group(2));
-                System.out.println("Adding item at (" + x + "," + y + ")");
-                config.addItem(itemName, x, y, "Item message");
-            }
-        } catch (Exception e) {
-            System.out.println("Error parsing item: " + e.getMessage());
+
+    private void parseItem(MapTokenizer tokens, ConfigSink config,
+                           Consumer<Diagnostic> errors) throws IOException, MapParseException {
+        // Parse item "name" { at (x,y), (x,y) message "text" } format
+        tokens.next();
+        String itemName = expectString(tokens, "an item name");
+        expectSymbol(tokens, '{');
+        expectWord(tokens, "at");
+
+        // Locations are buffered until the message is known
+        CoordinateList locations = parseLocationList(tokens, "'item'", errors);
+        String message = "";
+        if (tokens.isWord("message")) {
+            tokens.next();
+            message = expectString(tokens, "a message");
         }
+        expectSymbol(tokens, '}');
+
+        config.onItemLocations(itemName, message, locations);
     }
-    
-    private void parseObstacle(String line, GameConfig config) {
+
+    private void parseObstacle(MapTokenizer tokens, ConfigSink config,
+                               Consumer<Diagnostic> errors) throws IOException, MapParseException {
         // Parse obstacle { at (x,y), (x,y) requires "item1", "item2" } format
+        tokens.next();
+        expectSymbol(tokens, '{');
+        expectWord(tokens, "at");
+        CoordinateList locations = parseLocationList(tokens, "'obstacle'", errors);
+
+        expectWord(tokens, "requires");
+        List<String> requirements = new ArrayList<>();
+        requirements.add(expectString(tokens, "a required item name"));
+        while (tokens.isSymbol(',')) {
+            tokens.next();
+            requirements.add(expectString(tokens, "a required item name"));
+        }
+        expectSymbol(tokens, '}');
+
+        config.onObstacleLocations(requirements, locations);
+    }
+
+    private void parseScript(MapTokenizer tokens, ConfigSink config) throws IOException, MapParseException {
+        // Parse script !{ ... } format - the tokenizer has already matched the braces
+        tokens.next();
+        if (tokens.getType() != MapTokenizer.TokenType.SCRIPT) {
+            throw error(tokens, "expected !{ but found " + tokens.describe());
+        }
+        config.onScript(tokens.getText());
+        tokens.next();
+    }
+
+    /**
+     * Parses include "path" or include "path" offset (dx,dy), and sends the
+     * fragment's contents to the sink, moved by the offset.
+     */
+    private void parseInclude(MapTokenizer tokens, ConfigSink config, Consumer<Diagnostic> errors,
+                              Path directory) throws IOException, MapParseException {
+        int line = tokens.getLine();
+        int column = tokens.getColumn();
+        tokens.next();   // Past the keyword first, so recovery cannot stop on it again
+        if (directory == null) {
+            throw new MapParseException("include is not allowed in an included fragment", line, column);
+        }
+        String path = expectString(tokens, "a fragment path");
+        int dx = 0;
+        int dy = 0;
+        if (tokens.isWord("offset")) {
+            tokens.next();
+            expectSymbol(tokens, '(');
+            dx = expectSignedInteger(tokens);
+            expectSymbol(tokens, ',');
+            dy = expectSignedInteger(tokens);
+            expectSymbol(tokens, ')');
+        }
+
+        Path file = directory.resolve(path);
         try {
-            System.out.println("Parsing obstacle: " + line);
-            
-            // Extract requirements first
-            int requiresIndex = line.indexOf("requires");
-            if (requiresIndex == -1) {
-                System.out.println("No 'requires' found in obstacle");
-                return;
-            }
-            
-            String requirementsPart = line.substring(requiresIndex + 8).trim();
-            System.out.println("Requirements part: " + requirementsPart);
-            
-            // Parse requirements - look for quoted strings
-            java.util.regex.Pattern reqPattern = java.util.regex.Pattern.compile("\"([^\"]+)\"");
-            java.util.regex.Matcher reqMatcher = reqPattern.matcher(requirementsPart);
-            java.util.List<String> requirements = new java.util.ArrayList<>();
-            
-            while (reqMatcher.find()) {
-                requirements.add(reqMatcher.group(1));
-                System.out.println("Found requirement: " + reqMatcher.group(1));
-            }
-            
-            if (requirements.isEmpty()) {
-                System.out.println("No requirements found");
-                return;
-            }
-            
-            // Extract locations
-            int atIndex = line.indexOf("at");
-            if (atIndex == -1) {
-                System.out.println("No 'at' found in obstacle");
-                return;
-            }
-            
-            String locationsPart = line.substring(atIndex + 2, requiresIndex);
-            System.out.println("Obstacle locations part: " + locationsPart);
-            
-            // Use regex to find all (x,y) patterns
-            java.util.regex.Pattern pattern = java.util.regex.Pattern.compile("\\((\\d+)\\s*,\\s*(\\d+)\\)");
-            java.util.regex.Matcher matcher = pattern.matcher(locationsPart);
-            
-            while (matcher.find()) {
-                int x = Integer.parseInt(matcher.group(1));
-                int y = Integer.parseInt(matcher.group(2));
-                System.out.println("Adding obstacle at (" + x + "," + y + ")");
-                
-                // Add obstacle with all requirements
-                for (String requirement : requirements) {
-                    config.addObstacle(x, y, requirement);
-                }
-            }
-        } catch (Exception e) {
-            System.out.println("Error parsing obstacle: " + e.getMessage());
+            FragmentCache.shared().include(file, dx, dy, config, errors, line, column);
+        } catch (NoSuchFileException e) {
+            throw new MapParseException("included fragment " + file + " does not exist", line, column, e);
+        } catch (IOException e) {
+            throw new MapParseException("cannot read included fragment " + file + ": " + e.getMessage(), line, column, e);
         }
     }
-    
-    private void parseScript(String line, GameConfig config) {
-        // Parse script !{ ... } format
-        int start = line.indexOf("!{");
-        if (start != -1) {
-            // Find the matching closing brace by counting braces
-            int braceCount = 0;
-            int end = start + 2; // Start after "!{"
-            //loop through the line and find the matching closing brace
-            for (int i = start + 2; i < line.length(); i++) {
-                char c = line.charAt(i);
-                if (c == '{') {
-                    braceCount++;   
-                } else if (c == '}') {
-                    if (braceCount == 0) {
-                        end = i;
-                        break;
-                    } else {
-                        braceCount--;
-                    }
+
+    /**
+     * Parses (x,y), (x,y), ... A malformed location is reported and left out,
+     * and the list carries on from the next '(' if there is one, so one typo
+     * does not drop every other location of the declaration.
+     */
+    private CoordinateList parseLocationList(MapTokenizer tokens, String declaration,
+                                             Consumer<Diagnostic> errors) throws IOException {
+        CoordinateList locations = new CoordinateList();
+        while (true) {
+            try {
+                parseLocation(tokens, locations);
+                if (!tokens.isSymbol(',')) {
+                    return locations;
+                }
+                tokens.next();
+            } catch (MapParseException e) {
+                errors.accept(Diagnostic.of(declaration, e));
+                if (!skipToNextLocation(tokens)) {
+                    return locations;
                 }
             }
-            //if the end is greater than the start plus 2, extract the script content
-            if (end > start + 2) {
-                String scriptContent = line.substring(start + 2, end);
-                System.out.println("Extracted script content: " + scriptContent);
-                
-                // The script content needs to preserve the original indentation from the file
-                // Since the script content is extracted with proper indentation, use it as-is
-                System.out.println("Using script content as-is: " + scriptContent);
-                
-                config.getScripts().add(scriptContent);
-            }
         }
     }
+
+    private void parseLocation(MapTokenizer tokens, CoordinateList locations) throws IOException, MapParseException {   //parses (x,y) into a list
+        expectSymbol(tokens, '(');
+        int x = expectInteger(tokens);
+        expectSymbol(tokens, ',');
+        int y = expectInteger(tokens);
+        expectSymbol(tokens, ')');
+        locations.add(x, y);
+    }
+
+    private int[] parseCoordinate(MapTokenizer tokens) throws IOException, MapParseException {   //parses (x,y)
+        expectSymbol(tokens, '(');
+        int x = expectInteger(tokens);
+        expectSymbol(tokens, ',');
+        int y = expectInteger(tokens);
+        expectSymbol(tokens, ')');
+        return new int[]{x, y};
+    }
+
+    private int expectInteger(MapTokenizer tokens) throws IOException, MapParseException {
+        if (tokens.getType() != MapTokenizer.TokenType.INTEGER) {
+            throw error(tokens, "expected a number but found " + tokens.describe());
+        }
+        if (tokens.isIntTooLarge()) {
+            throw error(tokens, "number is too large, the largest allowed is " + Integer.MAX_VALUE);
+        }
+        int value = tokens.getIntValue();
+        tokens.next();
+        return value;
+    }
+
+    private int expectSignedInteger(MapTokenizer tokens) throws IOException, MapParseException {   //a number with an optional leading '-'
+        if (tokens.isSymbol('-')) {
+            tokens.next();
+            return -expectInteger(tokens);
+        }
+        return expectInteger(tokens);
+    }
+
+    private String expectString(MapTokenizer tokens, String what) throws IOException, MapParseException {
+        if (tokens.getType() != MapTokenizer.TokenType.STRING) {
+            throw error(tokens, "expected " + what + " but found " + tokens.describe());
+        }
+        String value = tokens.getText();
+        tokens.next();
+        return value;
+    }
+
+    private void expectSymbol(MapTokenizer tokens, char symbol) throws IOException, MapParseException {
+        if (!tokens.isSymbol(symbol)) {
+            throw error(tokens, "expected '" + symbol + "' but found " + tokens.describe());
+        }
+        tokens.next();
+    }
+
+    private void expectWord(MapTokenizer tokens, String word) throws IOException, MapParseException {
+        if (!tokens.isWord(word)) {
+            throw error(tokens, "expected '" + word + "' but found " + tokens.describe());
+        }
+        tokens.next();
+    }
+
+    private MapParseException error(MapTokenizer tokens, String message) {
+        return new MapParseException(message, tokens.getLine(), tokens.getColumn());
+    }
 }
@@ -17,8 +17,50 @@ import java.util.*;
  * 
  * The GameState serves as the central data model that plugins and scripts
  * can query and modify through the GameAPI interface.
+ *
+ * Item names are stored as ids from a SymbolTable, and the inventory is a
+ * count per id (see Inventory). The String-based methods translate at the
+ * boundary; the game itself uses the id-based ones, so checking an obstacle
+ * is a few int compares.
+ *
+ * The grid holds a packed word per cell (see CellWord): its type and an
+ * item id or an obstacle rule. A rule is an id for one distinct list of
+ * required item ids, so every obstacle with the same requirements shares
+ * one entry in rules.
+ * Each rule is also compiled, when it is first seen, into a bitset over item
+ * ids, so whether the player can pass an obstacle is one (required & ~held)
+ * test per 64 item ids against the inventory's bitset.
+ * A cell's payload belongs to its type: changing the type clears it, and
+ * only an item cell can be given an item id, or an obstacle cell
+ * requirements.
+ *
+ * The words are kept in a GridStorage: one flat array for grids of up to
+ * FLAT_GRID_LIMIT cells, and 64x64 chunks allocated on first write above
+ * that, so a huge, mostly empty map only costs memory for the area that is
+ * occupied. Any other storage, such as OffHeapGridStorage, can be passed to
+ * the constructor.
+ *
+ * The cells of each type but EMPTY are also indexed, one CellBitSet per
+ * type, updated in O(1) whenever a cell's type changes, with a count per
+ * type. Finding every item, obstacle or the goal reads those bits 64 cells
+ * at a time and skips pages with none, instead of scanning the grid.
+ *
+ * Which cells have been seen is a separate bitmap (a CellBitSet indexed by
+ * y * width + x), so revealing, counting or listing the visible cells of a
+ * region works 64 cells at a time. The region methods clip the region to
+ * the grid.
+ *
+ * Every change bumps a version number, and every change to a cell (its
+ * contents, its visibility, or the player entering or leaving it) is logged
+ * in DirtyRegions under that version, so the display can redraw only the
+ * cells that changed since the version it last drew (see drainDirty).
  */
-public class GameState {
+public class GameState {   // NOPMD - ExcessivePublicCount: the model behind every GameAPI method
+    /** Largest grid, in cells, that is stored as one flat array. */
+    public static final long FLAT_GRID_LIMIT = 1L << 24;
+    
+    private static final int EMPTY_PROBES = 32;   // Random cells tried by randomEmptyCell before it counts
+    
     // Grid dimensions
     private int gridWidth;              // Number of columns in the grid
     private int gridHeight;             // Number of rows in the grid
@@ -29,20 +71,34 @@ public class GameState {
     private int goalX;                  // Goal X coordinate (column)
     private int goalY;                  // Goal Y coordinate (row)
     
+    // Item names
+    private final SymbolTable symbols;        // Ids of every item name in the game
+    
     // Player inventory management
-    private Map<String, Integer> inventory;  // Item name -> quantity mapping
-    private String lastAcquiredItem;          // Most recently acquired item name
+    private final Inventory inventory;        // Quantity held per item id
     
     // Grid visibility and contents
-    private boolean[][] visible;              // Which squares are visible to player
-    private String[][] gridContents;         // Content type: "item", "obstacle", "goal", "empty"
-    private String[][] itemNames;             // Item names at each grid position
-    private List<String>[][] obstacleRequirements; // Required items for each obstacle
+    private final GridStorage cells;          // Packed CellWord per cell
+    private final CellBitSet visible;         // Cells the player has seen, one bit each
+    private final CellBitSet[] cellsOfType;   // Cells of each CellWord type; null for EMPTY, which is not indexed
+    private final long[] typeCounts;          // Cells of each CellWord type
+    private final CellBitSet occupied;        // Cells of any type but EMPTY, so the clear bits are the empty cells
+    private final ItemIndex items;            // Cells of each item id
+    private int[][] rules;                    // Rule id -> required item ids (shared, never modified); 0 is none
+    private long[][] ruleBits;                // Rule id -> required item ids as a bitset (see Inventory.itemBits)
+    private int ruleCount;                    // Rules handed out so far, including 0
+    private final Map<RuleKey, Integer> ruleIds = new HashMap<>();   // Required item ids -> rule id
+    private int[] lastRuleArray;              // Last array given a rule, as callers reuse shared arrays
+    private int lastRule;
     
     // Game date progression
     private int currentDay;                   // Current day number (starts at 0)
     private String startDate;                 // Starting date as string
     
+    // Change tracking
+    private long version;                     // Bumped by every change
+    private final DirtyRegions dirty = new DirtyRegions();   // Changed cells, by version
+    
     /**
      * Initializes a new game state with the specified parameters.
      * Sets up the grid, initializes visibility, and prepares data structures.
@@ -54,35 +110,71 @@ public class GameState {
      * @param goalX Goal X coordinate
      * @param goalY Goal Y coordinate
      */
-    @SuppressWarnings("unchecked")
     public GameState(int gridWidth, int gridHeight, int startX, int startY, int goalX, int goalY) {
+        this(gridWidth, gridHeight, startX, startY, goalX, goalY, new SymbolTable());
+    }
+    
+    /**
+     * Initializes a new game state whose item ids come from an existing
+     * symbol table, such as the one the map was loaded with.
+     * 
+     * @param gridWidth Width of the game grid (number of columns)
+     * @param gridHeight Height of the game grid (number of rows)
+     * @param startX Starting X coordinate for the player
+     * @param startY Starting Y coordinate for the player
+     * @param goalX Goal X coordinate
+     * @param goalY Goal Y coordinate
+     * @param symbols Table of item name ids
+     */
+    public GameState(int gridWidth, int gridHeight, int startX, int startY, int goalX, int goalY,
+                     SymbolTable symbols) {
+        this(gridWidth, gridHeight, startX, startY, goalX, goalY, symbols,
+             (long) gridWidth * gridHeight <= FLAT_GRID_LIMIT
+                 ? new ArrayGridStorage(gridWidth, gridHeight) : new ChunkedGridStorage());
+    }
+    
+    /**
+     * Initializes a new game state that keeps its cells in the given storage,
+     * which must be empty.
+     * 
+     * @param gridWidth Width of the game grid (number of columns)
+     * @param gridHeight Height of the game grid (number of rows)
+     * @param startX Starting X coordinate for the player
+     * @param startY Starting Y coordinate for the player
+     * @param goalX Goal X coordinate
+     * @param goalY Goal Y coordinate
+     * @param symbols Table of item name ids
+     * @param storage Where the cell words are kept
+     */
+    public GameState(int gridWidth, int gridHeight, int startX, int startY, int goalX, int goalY,
+                     SymbolTable symbols, GridStorage storage) {
+        this.symbols = symbols;
         this.gridWidth = gridWidth;
         this.gridHeight = gridHeight;
         this.playerX = startX;
         this.playerY = startY;
         this.goalX = goalX;
         this.goalY = goalY;
-        this.inventory = new HashMap<String, Integer>();
-        this.lastAcquiredItem = null;
-        this.visible = new boolean[gridHeight][gridWidth];
-        this.gridContents = new String[gridHeight][gridWidth];
-        this.itemNames = new String[gridHeight][gridWidth];
-        @SuppressWarnings("unchecked")
-        List<String>[][] temp = new List[gridHeight][gridWidth];
-        this.obstacleRequirements = temp;
+        this.inventory = new Inventory(symbols);
+        this.cells = storage;                            // All zero: empty
+        this.visible = new CellBitSet(gridWidth, gridHeight);   // All hidden
+        this.cellsOfType = new CellBitSet[] {null, new CellBitSet(gridWidth, gridHeight),
+            new CellBitSet(gridWidth, gridHeight), new CellBitSet(gridWidth, gridHeight)};
+        this.typeCounts = new long[] {(long) gridWidth * gridHeight, 0, 0, 0};
+        this.occupied = new CellBitSet(gridWidth, gridHeight);
+        this.items = new ItemIndex();
+        this.rules = new int[16][];
+        this.ruleBits = new long[16][];
+        this.ruleBits[0] = new long[0];
+        this.ruleCount = 1;                              // Rule 0 is "no requirements"
         this.currentDay = 0;
         this.startDate = java.time.LocalDate.now().toString();
-        
-        // Initialize grid - all squares start as empty and hidden
-        for (int y = 0; y < gridHeight; y++) {
-            for (int x = 0; x < gridWidth; x++) {
-                gridContents[y][x] = "empty";
-                visible[y][x] = false;
-            }
-        }
+        inventory.addListener((itemId, oldCount, newCount) -> version++);
         
         // Set goal
-        gridContents[goalY][goalX] = "goal";
+        checkBounds(goalX, goalY);
+        cells.set(goalX, goalY, CellWord.GOAL);
+        indexType(goalX, goalY, CellWord.EMPTY, CellWord.GOAL);
         
         // Make start area visible
         updateVisibility();
@@ -94,81 +186,504 @@ public class GameState {
     public int getPlayerY() { return playerY; }   //getter for the player y coordinate
     public int getGoalX() { return goalX; }   //getter for the goal x coordinate
     public int getGoalY() { return goalY; }   //getter for the goal y coordinate
-    public Map<String, Integer> getInventory() { return new HashMap<String, Integer>(inventory); }
-    public String getLastAcquiredItem() { return lastAcquiredItem; }   //getter for the last acquired item
-    public boolean isVisible(int x, int y) { return visible[y][x]; }
-    public String getGridContents(int x, int y) { return gridContents[y][x]; }
-    public String getItemName(int x, int y) { return itemNames[y][x]; }   //getter for the item name at the given x and y coordinates
+    public SymbolTable getSymbols() { return symbols; }   //getter for the item name ids
+    public String getLastAcquiredItem() { return symbols.name(inventory.getLastAcquired()); }   //getter for the last acquired item
+    public int getCell(int x, int y) {   //packed CellWord of a cell
+        checkBounds(x, y);
+        return cells.get(x, y);
+    }
+    
+    public int getCellType(int x, int y) { return CellWord.type(getCell(x, y)); }   //CellWord type of a cell
+    public boolean isVisible(int x, int y) {   //whether a cell has been seen
+        checkBounds(x, y);
+        return visible.get((long) y * gridWidth + x);
+    }
+    
+    public String getGridContents(int x, int y) { return CellWord.typeName(CellWord.type(getCell(x, y))); }
+    public GridStorage getStorage() { return cells; }   //where the cell words are kept
+    
+    /**
+     * Calls the visitor for every cell that is not empty, in no
+     * particular order. Only the stored part of the grid is visited, so this
+     * is how to find things on a huge grid.
+     *
+     * @param visitor Receives each cell's coordinates and CellWord
+     */
+    public void forEachNonEmptyCell(GridStorage.CellVisitor visitor) {
+        cells.forEachNonEmpty(visitor);
+    }
+
+    /**
+     * Releases the grid storage, which matters for storage kept outside the
+     * heap (see GridStorage.close). The game state must not be used
+     * afterwards.
+     */
+    public void close() {
+        cells.close();
+    }
+    public String getItemName(int x, int y) { return symbols.name(getItemId(x, y)); }   //getter for the item name at the given x and y coordinates
+    
+    public int getItemId(int x, int y) {   //item id of an item cell, or NONE
+        int word = getCell(x, y);
+        return CellWord.type(word) == CellWord.ITEM ? CellWord.payload(word) : SymbolTable.NONE;
+    }
+    
     public List<String> getObstacleRequirements(int x, int y) { 
-        return obstacleRequirements[y][x] != null ? new ArrayList<String>(obstacleRequirements[y][x]) : null; 
+        int[] required = getRequirementIds(x, y);
+        return required != null ? new ArrayList<>(symbols.names(required)) : null; 
+    }
+    
+    public int[] getRequirementIds(int x, int y) {   //required item ids of an obstacle cell (shared; do not modify), or null
+        int word = getCell(x, y);
+        return CellWord.type(word) == CellWord.OBSTACLE ? rules[CellWord.payload(word)] : null;
+    }
+    
+    public Inventory getInventory() { return inventory; }   //getter for the player's inventory (live; asMap gives names)
+    public int getItemCount(int itemId) { return inventory.count(itemId); }   //quantity of an item held
+    public boolean hasItem(int itemId) { return inventory.has(itemId); }   //whether at least one of an item is held
+    
+    /**
+     * Checks whether the inventory holds every item an obstacle requires.
+     *
+     * @param x Obstacle X coordinate
+     * @param y Obstacle Y coordinate
+     * @return True if nothing is required or every requirement is held
+     */
+    public boolean meetsRequirements(int x, int y) {
+        int word = getCell(x, y);
+        return CellWord.type(word) != CellWord.OBSTACLE || inventory.containsAll(ruleBits[CellWord.payload(word)]);
     }
     public int getCurrentDay() { return currentDay; }   //getter for the current day
     public String getStartDate() { return startDate; }   //getter for the start date
     
     public void setPlayerPosition(int x, int y) {   //setter for the player position
+        changed(playerX, playerY, 1, 1);   // The cell left behind
         this.playerX = x;
         this.playerY = y;
+        changed(x, y, 1, 1);
         updateVisibility();
     }
     
     public void addItem(String itemName) {   //adds an item to the inventory
-        inventory.put(itemName, inventory.getOrDefault(itemName, 0) + 1);
-        lastAcquiredItem = itemName;
+        addItem(symbols.intern(itemName));
+    }
+    
+    public void addItem(int itemId) {   //adds an item to the inventory by id
+        inventory.add(itemId, 1);
     }
     
     public boolean removeItem(String itemName, int quantity) {   //removes an item from the inventory
-        int current = inventory.getOrDefault(itemName, 0);
-        if (current >= quantity) {
-            inventory.put(itemName, current - quantity);
-            if (inventory.get(itemName) == 0) {
-                inventory.remove(itemName);
+        return inventory.remove(symbols.lookup(itemName), quantity);
+    }
+    
+    public void setGridContents(int x, int y, String contents) {   //setter for the grid contents at the given x and y coordinates
+        setCellType(x, y, CellWord.typeOf(contents));
+    }
+    
+    /**
+     * Sets the type of a cell (a CellWord constant). If the type changes, the
+     * cell's item id or requirements are cleared.
+     */
+    public void setCellType(int x, int y, int type) {
+        int word = getCell(x, y);
+        int oldType = CellWord.type(word);
+        if (oldType != type) {
+            cells.set(x, y, CellWord.withPayload(CellWord.withType(word, type), 0));
+            indexType(x, y, oldType, type);
+            changed(x, y, 1, 1);
+            if (oldType == CellWord.ITEM) {
+                items.remove(CellWord.payload(word), x, y);
             }
-            return true;
         }
-        return false;
     }
     
-    public void setGridContents(int x, int y, String contents) {   //setter for the grid contents at the given x and y coordinates
-        gridContents[y][x] = contents;
+    public long countCellsOfType(int type) { return typeCounts[type]; }   //number of cells of a CellWord type, without scanning
+    
+    /**
+     * Calls the visitor for every cell of a type, row by row, reading the
+     * type's index 64 cells at a time. The visitor must not change the type
+     * of any cell.
+     * 
+     * @param type CellWord.ITEM, OBSTACLE or GOAL
+     * @param visitor Receives each cell's coordinates
+     * @throws IllegalArgumentException for EMPTY, whose cells are not indexed
+     */
+    public void forEachCellOfType(int type, CoordinateList.Consumer visitor) {
+        if (type == CellWord.EMPTY) {
+            throw new IllegalArgumentException("empty cells are not indexed");
+        }
+        CellBitSet index = cellsOfType[type];
+        long end = (long) gridWidth * gridHeight;
+        for (long cell = index.nextSetBit(0, end); cell >= 0; cell = index.nextSetBit(cell + 1, end)) {
+            visitor.accept((int) (cell % gridWidth), (int) (cell / gridWidth));
+        }
+    }
+    
+    /**
+     * Picks an empty cell, each with the same chance.
+     * 
+     * A few random cells are probed first, keeping the first empty one,
+     * which is uniform over the empty cells and takes a couple of reads
+     * unless the grid is nearly full. Failing that, a random rank among the
+     * empty cells is looked up in the occupied index 64 cells at a time.
+     * 
+     * @param random Source of the choice
+     * @return The cell as a CoordinateList.pack value, or -1 if no cell is empty
+     */
+    public long randomEmptyCell(Random random) {
+        long cellCount = (long) gridWidth * gridHeight;
+        long emptyCount = typeCounts[CellWord.EMPTY];
+        if (emptyCount == 0) {
+            return -1;
+        }
+        for (int probe = 0; probe < EMPTY_PROBES; probe++) {
+            long cell = random.nextLong(cellCount);
+            if (!occupied.get(cell)) {
+                return CoordinateList.pack((int) (cell % gridWidth), (int) (cell / gridWidth));
+            }
+        }
+        long cell = occupied.selectClear(random.nextLong(emptyCount), cellCount);
+        return CoordinateList.pack((int) (cell % gridWidth), (int) (cell / gridWidth));
+    }
+    
+    /**
+     * Calls the visitor for every empty cell within a distance of a centre
+     * cell (a square 2 * radius + 1 wide, clipped to the grid), row by row,
+     * finding them 64 cells at a time. The centre is included if it is
+     * empty. The visitor must not change the type of any cell.
+     * 
+     * @param x Column of the centre
+     * @param y Row of the centre
+     * @param radius Furthest row or column from the centre, 0 or more
+     * @param visitor Receives each empty cell's coordinates
+     */
+    public void forEachEmptyCellNear(int x, int y, int radius, CoordinateList.Consumer visitor) {
+        int left = (int) Math.max((long) x - radius, 0);
+        int right = (int) Math.min((long) x + radius + 1, gridWidth);
+        long bottom = Math.min((long) y + radius + 1, gridHeight);
+        for (int row = (int) Math.max((long) y - radius, 0); row < bottom; row++) {
+            long rowStart = (long) row * gridWidth;
+            long cell = occupied.nextClearBit(rowStart + left, rowStart + right);
+            while (cell >= 0) {
+                visitor.accept((int) (cell - rowStart), row);
+                cell = occupied.nextClearBit(cell + 1, rowStart + right);
+            }
+        }
+    }
+    
+    public long countItems(int itemId) { return items.count(itemId); }   //number of cells holding an item, without scanning
+    
+    /**
+     * Finds the cell holding an item that is closest to a point, by
+     * straight-line distance, using the item index.
+     * 
+     * @param itemId The item's id
+     * @param x Column of the point
+     * @param y Row of the point
+     * @return The cell as a CoordinateList.pack value, or -1 if the item is not on the grid
+     */
+    public long nearestItem(int itemId, int x, int y) {
+        return items.nearest(itemId, x, y);
+    }
+    
+    public long nearestItem(String itemName, int x, int y) {   //nearestItem by name; -1 for a name never used
+        return nearestItem(symbols.lookup(itemName), x, y);
+    }
+    
+    /**
+     * Finds the cells holding an item inside a region, clipped to the grid,
+     * using the item index.
+     * 
+     * @param itemId The item's id
+     * @param x Left column of the region
+     * @param y Top row of the region
+     * @param width Columns in the region
+     * @param height Rows in the region
+     * @return A new list of the cells, row by row
+     */
+    public CoordinateList findItems(int itemId, int x, int y, int width, int height) {
+        int left = Math.max(x, 0);
+        int top = Math.max(y, 0);
+        return items.within(itemId, left, top, (int) Math.min((long) x + width, gridWidth) - left,
+                            (int) Math.min((long) y + height, gridHeight) - top);
+    }
+    
+    public CoordinateList findItems(String itemName, int x, int y, int width, int height) {   //findItems by name; empty for a name never used
+        return findItems(symbols.lookup(itemName), x, y, width, height);
     }
     
     public void setItemName(int x, int y, String itemName) {   //setter for the item name at the given x and y coordinates
-        itemNames[y][x] = itemName;
+        setItemId(x, y, itemName != null ? symbols.intern(itemName) : SymbolTable.NONE);
+    }
+    
+    /**
+     * Sets the item id of an item cell. Clearing it (NONE) on any other
+     * cell does nothing.
+     *
+     * @throws IllegalStateException if an item id is given to a cell that is not an item
+     */
+    public void setItemId(int x, int y, int itemId) {
+        setPayload(x, y, CellWord.ITEM, itemId, "an item");
     }
     
     public void setObstacleRequirements(int x, int y, List<String> requirements) {   //setter for the obstacle requirements at the given x and y coordinates
-        obstacleRequirements[y][x] = requirements != null ? new ArrayList<String>(requirements) : null;
+        setRequirementIds(x, y, requirements != null ? symbols.internAll(requirements) : null);
+    }
+    
+    /**
+     * Sets the required item ids of an obstacle cell. The array is kept, not
+     * copied, so cells with the same requirements can share one array; it
+     * must not be modified afterwards. Clearing them (null) on any other
+     * cell does nothing.
+     *
+     * @throws IllegalStateException if requirements are given to a cell that is not an obstacle
+     */
+    public void setRequirementIds(int x, int y, int[] requirementIds) {
+        setPayload(x, y, CellWord.OBSTACLE, ruleFor(requirementIds), "an obstacle");
     }
     
     public void addObstacleRequirement(int x, int y, String requirement) {   //adds a single obstacle requirement at the given x and y coordinates
-        if (obstacleRequirements[y][x] == null) {
-            obstacleRequirements[y][x] = new ArrayList<String>();
-        }
-        obstacleRequirements[y][x].add(requirement);
+        int[] current = getRequirementIds(x, y);
+        int[] updated = current == null ? new int[1] : Arrays.copyOf(current, current.length + 1);   // Copy: the old array may be shared
+        updated[updated.length - 1] = symbols.intern(requirement);
+        setRequirementIds(x, y, updated);
     }
     
     public void setVisible(int x, int y, boolean visible) {   //setter for the visibility at the given x and y coordinates
-        this.visible[y][x] = visible;
+        checkBounds(x, y);
+        long cell = (long) y * gridWidth + x;
+        if (this.visible.get(cell) != visible) {
+            this.visible.set(cell, visible);
+            changed(x, y, 1, 1);
+        }
+    }
+    
+    /**
+     * Shows or hides every cell of a region, a row of up to 64 cells per word
+     * operation.
+     * 
+     * @param x Left column of the region
+     * @param y Top row of the region
+     * @param width Columns in the region
+     * @param height Rows in the region
+     * @param visible True to reveal the cells, false to hide them
+     */
+    public void setRegionVisible(int x, int y, int width, int height, boolean visible) {
+        fillVisible(x, y, width, height, visible);
+    }
+    
+    /**
+     * Reveals the cells of a region whose bit is set in a mask, leaving the
+     * others as they are. The mask is the region in row-major order: the
+     * cell at (x + i, y + j) is bit (j * width + i), and bit n is
+     * bit (n % 64) of mask[n / 64].
+     * 
+     * @param x Left column of the region
+     * @param y Top row of the region
+     * @param width Columns in the region
+     * @param height Rows in the region
+     * @param mask At least width * height bits
+     * @throws IllegalArgumentException if the mask is too short for the region
+     */
+    public void revealMask(int x, int y, int width, int height, long[] mask) {
+        if (width > 0 && height > 0 && (long) mask.length * Long.SIZE < (long) width * height) {
+            throw new IllegalArgumentException("a " + width + "x" + height + " region needs "
+                + ((long) width * height + 63) / 64 + " mask words, not " + mask.length);
+        }
+        int left = Math.max(x, 0);
+        int right = (int) Math.min((long) x + width, gridWidth);
+        int top = Math.max(y, 0);
+        int bottom = (int) Math.min((long) y + height, gridHeight);
+        boolean any = false;
+        for (int row = top; row < bottom && left < right; row++) {
+            any |= visible.or((long) row * gridWidth + left, mask, (long) (row - y) * width + (left - x), right - left);
+        }
+        if (any) {   // Cells already seen are not changes
+            changed(left, top, right - left, bottom - top);
+        }
+    }
+    
+    /**
+     * Counts the visible cells in a region.
+     * 
+     * @param x Left column of the region
+     * @param y Top row of the region
+     * @param width Columns in the region
+     * @param height Rows in the region
+     * @return Number of cells that have been seen
+     */
+    public long countVisible(int x, int y, int width, int height) {
+        int left = Math.max(x, 0);
+        int right = (int) Math.min((long) x + width, gridWidth);
+        long count = 0;
+        for (int row = Math.max(y, 0); row < Math.min((long) y + height, gridHeight); row++) {
+            count += visible.count((long) row * gridWidth + left, (long) row * gridWidth + right);
+        }
+        return count;
+    }
+    
+    /**
+     * Calls the visitor for every visible cell in a region, row by row,
+     * finding them 64 cells at a time.
+     * 
+     * @param x Left column of the region
+     * @param y Top row of the region
+     * @param width Columns in the region
+     * @param height Rows in the region
+     * @param visitor Receives each visible cell's coordinates and CellWord
+     */
+    public void forEachVisible(int x, int y, int width, int height, GridStorage.CellVisitor visitor) {
+        int left = Math.max(x, 0);
+        int right = (int) Math.min((long) x + width, gridWidth);
+        for (int row = Math.max(y, 0); row < Math.min((long) y + height, gridHeight); row++) {
+            long rowStart = (long) row * gridWidth;
+            long index = visible.nextSetBit(rowStart + left, rowStart + right);
+            while (index >= 0) {
+                int column = (int) (index - rowStart);
+                visitor.visit(column, row, cells.get(column, row));
+                index = visible.nextSetBit(index + 1, rowStart + right);
+            }
+        }
     }
     
     public void advanceDay() {   //advances the day
         currentDay++;
+        version++;
+    }
+    
+    public long getVersion() { return version; }   //bumped by every change, to the grid or not
+    
+    /**
+     * Reports the regions of the grid that changed after a version, then
+     * forgets those up to it. A version from getVersion, passed back after
+     * handling its changes, is how a consumer asks "what changed since I
+     * last looked". Changes that touch no cell (the inventory, the day)
+     * only show in getVersion.
+     * 
+     * @param sinceVersion The version last seen
+     * @param visitor Receives each changed rectangle, oldest first
+     * @return True if every changed cell was reported; false, with nothing
+     *         reported, if the log no longer reaches back that far and the
+     *         whole grid must be treated as changed
+     */
+    public boolean drainDirty(long sinceVersion, DirtyRegions.RegionVisitor visitor) {
+        return dirty.drain(sinceVersion, visitor);
     }
     
     private void updateVisibility() {
         // Make current position and adjacent squares visible
-        for (int dy = -1; dy <= 1; dy++) {
-            for (int dx = -1; dx <= 1; dx++) {
-                int newX = playerX + dx;
-                int newY = playerY + dy;
-                if (newX >= 0 && newX < gridWidth && newY >= 0 && newY < gridHeight) {
-                    visible[newY][newX] = true;
-                }
+        fillVisible(playerX - 1, playerY - 1, 3, 3, true);
+    }
+    
+    private void indexType(int x, int y, int oldType, int newType) {   //moves a cell from one type's index to another's
+        long cell = (long) y * gridWidth + x;
+        if (cellsOfType[oldType] != null) {
+            cellsOfType[oldType].set(cell, false);
+        }
+        if (cellsOfType[newType] != null) {
+            cellsOfType[newType].set(cell, true);
+        }
+        occupied.set(cell, newType != CellWord.EMPTY);
+        typeCounts[oldType]--;
+        typeCounts[newType]++;
+    }
+    
+    private void fillVisible(int x, int y, int width, int height, boolean value) {   //sets or clears the visibility of a region, clipped to the grid
+        int left = Math.max(x, 0);
+        int right = (int) Math.min((long) x + width, gridWidth);
+        int top = Math.max(y, 0);
+        int bottom = (int) Math.min((long) y + height, gridHeight);
+        boolean any = false;
+        for (int row = top; row < bottom && left < right; row++) {
+            long from = (long) row * gridWidth + left;
+            long to = (long) row * gridWidth + right;
+            if (visible.count(from, to) != (value ? to - from : 0)) {   // Rows already that way are not changes
+                visible.setRange(from, to, value);
+                any = true;
             }
         }
+        if (any) {
+            changed(left, top, right - left, bottom - top);
+        }
+    }
+    
+    private void changed(int x, int y, int width, int height) {   //bumps the version and logs the region, if it has any cells
+        version++;
+        if (width > 0 && height > 0) {
+            dirty.add(x, y, width, height, version);
+        }
     }
     
     public boolean isGameWon() {   //checks if the game has been won
         return playerX == goalX && playerY == goalY;
     }
+    
+    private void checkBounds(int x, int y) {   //the storages assume coordinates inside the grid
+        if (x < 0 || y < 0 || x >= gridWidth || y >= gridHeight) {
+            throw new IndexOutOfBoundsException("(" + x + "," + y + ") is outside the " + gridWidth + "x" + gridHeight + " grid");
+        }
+    }
+    
+    private void setPayload(int x, int y, int type, int payload, String what) {   //stores an item id or rule, if the cell has the matching type
+        int word = getCell(x, y);
+        if (CellWord.type(word) == type) {
+            cells.set(x, y, CellWord.withPayload(word, payload));
+            if (CellWord.payload(word) != payload) {
+                changed(x, y, 1, 1);
+            }
+            if (type == CellWord.ITEM && CellWord.payload(word) != payload) {
+                items.remove(CellWord.payload(word), x, y);
+                items.add(payload, x, y);
+            }
+        } else if (payload != 0) {
+            throw new IllegalStateException("(" + x + "," + y + ") is " + getGridContents(x, y) + ", not " + what);
+        }
+    }
+    
+    private int ruleFor(int[] requirementIds) {   //rule id for a list of required item ids, adding it if new
+        if (requirementIds == null) {
+            return 0;
+        }
+        if (requirementIds == lastRuleArray) {   // NOPMD - identity check is the point of the cache
+            return lastRule;
+        }
+        RuleKey key = new RuleKey(requirementIds);
+        Integer rule = ruleIds.get(key);
+        if (rule == null) {
+            rule = ruleCount++;
+            if (rule == rules.length) {
+                rules = Arrays.copyOf(rules, rules.length * 2);
+                ruleBits = Arrays.copyOf(ruleBits, rules.length);
+            }
+            rules[rule] = requirementIds;
+            ruleBits[rule] = Inventory.itemBits(requirementIds);
+            ruleIds.put(key, rule);
+        }
+        lastRuleArray = requirementIds;
+        lastRule = rule;
+        return rule;
+    }
+    
+    /**
+     * Hash key comparing required item id arrays by content.
+     */
+    private static final class RuleKey {
+        private final int[] ids;
+        private final int hash;
+        
+        private RuleKey(int[] ids) {
+            this.ids = ids;
+            this.hash = Arrays.hashCode(ids);
+        }
+        
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof RuleKey && Arrays.equals(ids, ((RuleKey) other).ids);
+        }
+        
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
 }
@@ -0,0 +1,175 @@
+package edu.curtin.game;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * ConfigSink that sets up a GameState directly, one declaration at a time.
+ *
+ * The GameState is created as soon as the size, start and goal have all been
+ * declared (normally the first three lines of a map), and from then on every
+ * item and obstacle location is written straight into its grid. Nothing else
+ * is kept, so loading a map needs about one copy of the grid. Items or
+ * obstacles declared before the size, start and goal are held back until the
+ * GameState exists. Once the GameState has been created, a repeated size,
+ * start or goal declaration can no longer change it.
+ *
+ * As in a GameConfig, an obstacle always wins over an item on the same cell,
+ * whichever is declared first. If two different items are declared on one
+ * cell the later declaration wins; a replayed GameConfig, which groups
+ * locations by item name, may settle such a clash the other way. Plugin
+ * names and scripts are only collected; they are loaded once the game (and
+ * its API) has been set up.
+ *
+ * Each item name is interned into the sink's SymbolTable once, and each
+ * distinct set of requirements becomes one int[] of ids shared by every
+ * cell of that obstacle.
+ */
+public class GameStateSink implements ConfigSink {
+    private int width;                  // Declared grid size
+    private int height;
+    private int startX;                 // Declared start position
+    private int startY;
+    private int goalX;                  // Declared goal position
+    private int goalY;
+    private boolean sizeSet;
+    private boolean startSet;
+    private boolean goalSet;
+
+    private GameState state;                                               // Created once size, start and goal are known
+    private final List<Consumer<GameState>> pending = new ArrayList<>();   // Cells declared before the state existed
+    private final List<String> plugins = new ArrayList<>();                // Plugin class names, in order
+    private final List<String> scripts = new ArrayList<>();                // Scripts, in order
+    private final SymbolTable symbols;                                     // Ids of the item names
+    private final Map<List<String>, int[]> requirementIds = new HashMap<>();   // One shared array per set of requirements
+    private GridStorage.Factory storageFactory;                            // Creates the grid storage, or null for GameState's choice
+
+    /**
+     * Creates a sink with its own symbol table.
+     */
+    public GameStateSink() {
+        this(new SymbolTable());
+    }
+
+    /**
+     * Creates a sink whose game state uses an existing symbol table, such as
+     * that of the GameConfig being replayed into it.
+     *
+     * @param symbols The symbol table
+     */
+    public GameStateSink(SymbolTable symbols) {
+        this.symbols = symbols;
+    }
+
+    /**
+     * Sets where the game state will keep its grid, such as
+     * OffHeapGridStorage::new. Only takes effect if called before the game
+     * state is created.
+     *
+     * @param storageFactory Creates the storage for the declared size, or null to let GameState choose
+     */
+    public void setStorageFactory(GridStorage.Factory storageFactory) {
+        this.storageFactory = storageFactory;
+    }
+
+    public List<String> getPlugins() { return plugins; }   //getter for the plugin class names
+    public List<String> getScripts() { return scripts; }   //getter for the scripts
+
+    /**
+     * Returns the populated game state. If the map never declared its size,
+     * start or goal, the missing values default to 0 as in GameConfig.
+     *
+     * @return The game state
+     */
+    public GameState getGameState() {
+        if (state == null) {
+            createState();
+        }
+        return state;
+    }
+
+    @Override
+    public void onSize(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.sizeSet = true;
+        createStateIfReady();
+    }
+
+    @Override
+    public void onStart(int x, int y) {
+        this.startX = x;
+        this.startY = y;
+        this.startSet = true;
+        createStateIfReady();
+    }
+
+    @Override
+    public void onGoal(int x, int y) {
+        this.goalX = x;
+        this.goalY = y;
+        this.goalSet = true;
+        createStateIfReady();
+    }
+
+    @Override
+    public void onPlugin(String className) {
+        plugins.add(className);
+    }
+
+    @Override
+    public void onScript(String script) {
+        scripts.add(script);
+    }
+
+    @Override
+    public void onItemLocation(String name, int x, int y, String message) {
+        int id = symbols.intern(name);
+        if (state == null) {
+            pending.add(target -> placeItem(target, id, x, y));
+        } else {
+            placeItem(state, id, x, y);
+        }
+    }
+
+    @Override
+    public void onObstacleLocation(int x, int y, List<String> requirements) {
+        int[] shared = requirementIds.computeIfAbsent(requirements, symbols::internAll);
+        if (state == null) {
+            pending.add(target -> placeObstacle(target, x, y, shared));
+        } else {
+            placeObstacle(state, x, y, shared);
+        }
+    }
+
+    private static void placeItem(GameState target, int id, int x, int y) {   //puts an item on a cell, unless an obstacle is already there
+        if (target.getCellType(x, y) != CellWord.OBSTACLE) {
+            target.setCellType(x, y, CellWord.ITEM);
+            target.setItemId(x, y, id);
+        }
+    }
+
+    private static void placeObstacle(GameState target, int x, int y, int[] requirements) {   //puts an obstacle on a cell
+        target.setCellType(x, y, CellWord.OBSTACLE);   // Clears any item id
+        target.setRequirementIds(x, y, requirements);
+    }
+
+    private void createStateIfReady() {   //creates the game state once the size, start and goal are all known
+        if (state == null && sizeSet && startSet && goalSet) {
+            createState();
+        }
+    }
+
+    private void createState() {   //creates the game state and places anything held back
+        state = storageFactory == null
+            ? new GameState(width, height, startX, startY, goalX, goalY, symbols)
+            : new GameState(width, height, startX, startY, goalX, goalY, symbols, storageFactory.create(width, height));
+        for (Consumer<GameState> cell : pending) {
+            cell.accept(state);
+        }
+        pending.clear();
+    }
+}
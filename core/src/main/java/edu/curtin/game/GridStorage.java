@@ -0,0 +1,56 @@
+package edu.curtin.game;
+
+/**
+ * Where GameState keeps its cell words (see CellWord).
+ *
+ * A word of 0 is an empty cell, and every cell starts that way, so
+ * a storage only has to remember cells that have been written. Callers
+ * check coordinates before calling; a storage may assume they are inside
+ * the grid. Like GameState, a storage is not thread-safe.
+ *
+ * ArrayGridStorage is one flat array and suits grids that fit in memory.
+ * ChunkedGridStorage allocates 64x64 tiles on first write, so a huge grid
+ * costs memory in proportion to the area that is occupied.
+ * OffHeapGridStorage keeps the grid outside the Java heap, and must be
+ * closed to free it.
+ */
+public interface GridStorage extends AutoCloseable {
+
+    /**
+     * Receives the cells found by forEachNonEmpty.
+     */
+    interface CellVisitor {
+        void visit(int x, int y, int word);
+    }
+
+    /**
+     * Creates empty storage for a grid of a given size.
+     */
+    interface Factory {
+        GridStorage create(int width, int height);
+    }
+
+    int get(int x, int y);   //word of a cell, 0 if never written
+
+    void set(int x, int y, int word);   //replaces the word of a cell
+
+    /**
+     * Calls the visitor for every cell whose word is not 0, in no particular
+     * order. Cells that have never been written are skipped without being
+     * looked at, where the storage allows.
+     *
+     * @param visitor Receives each non-empty cell
+     */
+    void forEachNonEmpty(CellVisitor visitor);
+
+    long getAllocatedBytes();   //approximate memory held for the cell words, on or off the heap
+
+    /**
+     * Releases any memory the storage holds outside the Java heap. The
+     * storage must not be used afterwards. Storage that lives on the heap
+     * has nothing to release.
+     */
+    @Override
+    default void close() {
+    }
+}
@@ -0,0 +1,241 @@
+package edu.curtin.game;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * The player's items, as a count per item id (see SymbolTable).
+ *
+ * Counts live in an int[] indexed by id, so count and has are array reads
+ * and never allocate. The ids held are also kept as a bitset, one bit per
+ * id, so checking a whole set of requirements compiled by itemBits is one
+ * AND NOT per 64 ids. asMap is a read-only view keyed by item name for the
+ * GameAPI; it reads the counts as they are, so it is never copied and
+ * always up to date. Listeners hear about every change of a count.
+ *
+ * Like GameState, an inventory is not thread-safe.
+ */
+public class Inventory {
+
+    /**
+     * Told whenever the count of an item changes.
+     */
+    public interface Listener {
+        void countChanged(int itemId, int oldCount, int newCount);
+    }
+
+    /**
+     * Receives the items found by forEach.
+     */
+    public interface ItemVisitor {
+        void visit(int itemId, int count);
+    }
+
+    private final SymbolTable symbols;                        // Names of the item ids
+    private int[] counts;                                     // Quantity held, indexed by item id
+    private int held;                                         // Ids with a count above 0
+    private long[] heldBits = new long[1];                    // Bit per id, set while its count is above 0
+    private int lastAcquired = SymbolTable.NONE;              // Id of the most recently added item, or NONE
+    private final List<Listener> listeners = new ArrayList<>();
+    private final Map<String, Integer> view = new NameView(); // Live, read-only, keyed by name
+
+    /**
+     * Creates an empty inventory.
+     *
+     * @param symbols Table the item ids come from
+     */
+    public Inventory(SymbolTable symbols) {
+        this.symbols = symbols;
+        this.counts = new int[symbols.size() + 1];
+    }
+
+    public int count(int itemId) {   //quantity of an item held, 0 for NONE or an unknown id
+        return itemId > 0 && itemId < counts.length ? counts[itemId] : 0;
+    }
+
+    public boolean has(int itemId) { return count(itemId) > 0; }   //whether at least one of an item is held
+    public int size() { return held; }   //number of different items held
+    public int getLastAcquired() { return lastAcquired; }   //id of the most recently added item, or NONE
+    public Map<String, Integer> asMap() { return view; }   //live read-only view keyed by item name
+
+    /**
+     * Compiles a list of item ids into the bitset containsAll takes: bit
+     * (id % 64) of word (id / 64) is set for each id.
+     *
+     * @param itemIds The ids; NONE is ignored
+     * @return The bitset, no longer than it needs to be
+     */
+    public static long[] itemBits(int[] itemIds) {
+        int highest = 0;
+        for (int id : itemIds) {
+            highest = Math.max(highest, id);
+        }
+        long[] bits = new long[highest == SymbolTable.NONE ? 0 : (highest >>> 6) + 1];
+        for (int id : itemIds) {
+            if (id != SymbolTable.NONE) {
+                bits[id >>> 6] |= 1L << id;
+            }
+        }
+        return bits;
+    }
+
+    /**
+     * Checks whether at least one of every item in a bitset is held, a
+     * word at a time: (required & ~held) == 0.
+     *
+     * @param itemBits Ids compiled by itemBits; not modified
+     * @return True if every one is held, or the set is empty
+     */
+    public boolean containsAll(long[] itemBits) {
+        for (int word = 0; word < itemBits.length; word++) {
+            long have = word < heldBits.length ? heldBits[word] : 0;
+            if ((itemBits[word] & ~have) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Adds some of an item, which becomes the last acquired item.
+     *
+     * @param itemId The item's id
+     * @param quantity How many to add, at least 1
+     * @throws IllegalArgumentException if the id is NONE or the quantity is not positive
+     */
+    public void add(int itemId, int quantity) {
+        if (itemId <= SymbolTable.NONE || quantity <= 0) {
+            throw new IllegalArgumentException("cannot add " + quantity + " of item id " + itemId);
+        }
+        if (itemId >= counts.length) {
+            counts = Arrays.copyOf(counts, Math.max(itemId + 1, symbols.size() + 1));
+        }
+        int old = counts[itemId];
+        counts[itemId] = old + quantity;
+        lastAcquired = itemId;
+        changed(itemId, old);
+    }
+
+    /**
+     * Removes some of an item, if that many are held.
+     *
+     * @param itemId The item's id
+     * @param quantity How many to remove
+     * @return True if they were removed (always, for a quantity of 0 or less),
+     *         false if fewer are held and nothing was changed
+     */
+    public boolean remove(int itemId, int quantity) {
+        if (quantity <= 0) {
+            return true;
+        }
+        int old = count(itemId);
+        if (old < quantity) {
+            return false;
+        }
+        counts[itemId] = old - quantity;
+        changed(itemId, old);
+        return true;
+    }
+
+    /**
+     * Calls the visitor for every item held, in id order, without
+     * allocating.
+     *
+     * @param visitor Receives each item's id and count
+     */
+    public void forEach(ItemVisitor visitor) {
+        for (int id = 1; id < counts.length; id++) {
+            if (counts[id] > 0) {
+                visitor.visit(id, counts[id]);
+            }
+        }
+    }
+
+    public void addListener(Listener listener) { listeners.add(listener); }   //starts telling a listener about changes
+    public void removeListener(Listener listener) { listeners.remove(listener); }   //stops telling a listener about changes
+
+    private void changed(int itemId, int oldCount) {   //keeps held and heldBits up to date and tells the listeners
+        int newCount = counts[itemId];
+        if (oldCount == 0 && newCount > 0) {
+            held++;
+            if (itemId >>> 6 >= heldBits.length) {
+                heldBits = Arrays.copyOf(heldBits, Math.max((itemId >>> 6) + 1, heldBits.length * 2));
+            }
+            heldBits[itemId >>> 6] |= 1L << itemId;
+        } else if (oldCount > 0 && newCount == 0) {
+            held--;
+            heldBits[itemId >>> 6] &= ~(1L << itemId);
+        }
+        for (Listener listener : listeners) {
+            listener.countChanged(itemId, oldCount, newCount);
+        }
+    }
+
+    /**
+     * The inventory seen as item name -> quantity, for the items held.
+     * Lookups go through the symbol table and the counts array; iterating
+     * creates an entry per item. Every method that would change it throws
+     * UnsupportedOperationException.
+     */
+    private final class NameView extends AbstractMap<String, Integer> {
+        private final Set<Map.Entry<String, Integer>> entries = new AbstractSet<>() {
+            @Override
+            public Iterator<Map.Entry<String, Integer>> iterator() { return new EntryIterator(); }
+
+            @Override
+            public int size() { return held; }
+        };
+
+        @Override
+        public Set<Map.Entry<String, Integer>> entrySet() { return entries; }
+
+        @Override
+        public int size() { return held; }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return key instanceof String && has(symbols.lookup((String) key));
+        }
+
+        @Override
+        public Integer get(Object key) {
+            int count = key instanceof String ? count(symbols.lookup((String) key)) : 0;
+            return count > 0 ? count : null;
+        }
+    }
+
+    /**
+     * Walks the ids with a count above 0.
+     */
+    private final class EntryIterator implements Iterator<Map.Entry<String, Integer>> {
+        private int next = advance(1);   // Next id to return, or counts.length when done
+
+        private int advance(int from) {   //first held id at or after from
+            int id = from;
+            while (id < counts.length && counts[id] == 0) {
+                id++;
+            }
+            return id;
+        }
+
+        @Override
+        public boolean hasNext() { return next < counts.length; }
+
+        @Override
+        public Map.Entry<String, Integer> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            int id = next;
+            next = advance(id + 1);
+            return new AbstractMap.SimpleImmutableEntry<>(symbols.name(id), counts[id]);
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package edu.curtin.game;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Where the items of each id (see SymbolTable) lie on the grid, so they
+ * can be found by name without scanning the grid.
+ *
+ * The cells of an id are bucketed into tiles of 64x64 cells: a hash map
+ * from tile to the offsets, within the tile, of the id's cells there.
+ * Adding or removing a cell touches one tile. nearest searches rings of
+ * tiles outward from a point and stops once no closer item can lie further
+ * out, or reads every tile of the id if that is fewer tiles than the rings
+ * would cover, so a rare item far away is found as quickly as a common one
+ * close by. within works the same way: it reads the tiles a region overlaps,
+ * or every tile of the id, whichever is fewer.
+ *
+ * GameState keeps the index in step with the grid. Like GameState, it is
+ * not thread-safe.
+ */
+public class ItemIndex {
+    private static final int TILE_SHIFT = 6;                   // 64x64 cells per tile
+    private static final int TILE_MASK = (1 << TILE_SHIFT) - 1;
+
+    private Locations[] byId = new Locations[16];   // Item id -> its cells, or null if it has never been placed
+
+    /**
+     * Records an item cell.
+     *
+     * @param itemId The item's id; NONE is ignored
+     * @param x Column of the cell
+     * @param y Row of the cell
+     */
+    public void add(int itemId, int x, int y) {
+        if (itemId == SymbolTable.NONE) {
+            return;
+        }
+        if (itemId >= byId.length) {
+            byId = Arrays.copyOf(byId, Math.max(itemId + 1, byId.length * 2));
+        }
+        if (byId[itemId] == null) {
+            byId[itemId] = new Locations();
+        }
+        byId[itemId].tiles.computeIfAbsent(CoordinateList.pack(x >> TILE_SHIFT, y >> TILE_SHIFT), key -> new Tile())
+            .add(offset(x, y));
+        byId[itemId].count++;
+    }
+
+    /**
+     * Forgets an item cell recorded by add.
+     *
+     * @param itemId The item's id; NONE is ignored
+     * @param x Column of the cell
+     * @param y Row of the cell
+     */
+    public void remove(int itemId, int x, int y) {
+        Locations locations = locations(itemId);
+        if (locations == null) {
+            return;
+        }
+        long key = CoordinateList.pack(x >> TILE_SHIFT, y >> TILE_SHIFT);
+        Tile tile = locations.tiles.get(key);
+        if (tile != null && tile.remove(offset(x, y))) {
+            locations.count--;
+            if (tile.size == 0) {
+                locations.tiles.remove(key);
+            }
+        }
+    }
+
+    public long count(int itemId) {   //number of cells holding an item
+        Locations locations = locations(itemId);
+        return locations == null ? 0 : locations.count;
+    }
+
+    /**
+     * Finds the cell of an item closest to a point, by straight-line
+     * distance; of cells at the same distance, the first row by row.
+     *
+     * @param itemId The item's id
+     * @param x Column of the point, which may be outside the grid
+     * @param y Row of the point, which may be outside the grid
+     * @return The cell as a CoordinateList.pack value, or -1 if the item is nowhere on the grid
+     */
+    public long nearest(int itemId, int x, int y) {
+        Locations locations = locations(itemId);
+        if (locations == null || locations.count == 0) {
+            return -1;
+        }
+        Nearest best = new Nearest(x, y);
+        int tileX = x >> TILE_SHIFT;
+        int tileY = y >> TILE_SHIFT;
+        for (int ring = 0; ; ring++) {
+            long covered = (2L * ring + 1) * (2L * ring + 1);
+            if (covered > locations.tiles.size()) {   //the rings cost more than reading every tile
+                for (Map.Entry<Long, Tile> entry : locations.tiles.entrySet()) {
+                    best.consider(entry.getKey(), entry.getValue());
+                }
+                return best.cell;
+            }
+            for (int dy = -ring; dy <= ring; dy++) {
+                int step = dy == -ring || dy == ring ? 1 : 2 * ring;   // Whole top and bottom rows, only the ends of the rest
+                for (int dx = -ring; dx <= ring; dx += step) {
+                    long key = CoordinateList.pack(tileX + dx, tileY + dy);
+                    Tile tile = locations.tiles.get(key);
+                    if (tile != null) {
+                        best.consider(key, tile);
+                    }
+                }
+            }
+            long reach = (long) ring << TILE_SHIFT;   // Every tile further out is at least this many rows or columns away
+            if (best.cell >= 0 && best.distance <= reach * reach) {
+                return best.cell;
+            }
+        }
+    }
+
+    /**
+     * Finds the cells of an item inside a region, row by row.
+     *
+     * @param itemId The item's id
+     * @param x Left column of the region
+     * @param y Top row of the region
+     * @param width Columns in the region
+     * @param height Rows in the region
+     * @return A new list of the cells
+     */
+    public CoordinateList within(int itemId, int x, int y, int width, int height) {
+        Locations locations = locations(itemId);
+        if (locations == null || locations.count == 0 || width <= 0 || height <= 0) {
+            return new CoordinateList(new long[0]);
+        }
+        long right = (long) x + width;     // Just past the region
+        long bottom = (long) y + height;
+        long regionTiles = (((right - 1) >> TILE_SHIFT) - (x >> TILE_SHIFT) + 1)
+                           * (((bottom - 1) >> TILE_SHIFT) - (y >> TILE_SHIFT) + 1);
+        long tilesRead = Math.min(regionTiles, locations.tiles.size());
+        long most = Math.min(locations.count, tilesRead << (2 * TILE_SHIFT));   // No more than the tiles read can hold
+        long[] found = new long[(int) Math.min(most, Integer.MAX_VALUE - 8)];
+        int size = 0;
+        if (regionTiles > locations.tiles.size()) {
+            for (Map.Entry<Long, Tile> entry : locations.tiles.entrySet()) {
+                size = entry.getValue().collect(entry.getKey(), x, y, right, bottom, found, size);
+            }
+        } else {
+            for (long tileY = y >> TILE_SHIFT; tileY <= (bottom - 1) >> TILE_SHIFT; tileY++) {
+                for (long tileX = x >> TILE_SHIFT; tileX <= (right - 1) >> TILE_SHIFT; tileX++) {
+                    long key = CoordinateList.pack((int) tileX, (int) tileY);
+                    Tile tile = locations.tiles.get(key);
+                    if (tile != null) {
+                        size = tile.collect(key, x, y, right, bottom, found, size);
+                    }
+                }
+            }
+        }
+        Arrays.sort(found, 0, size);   // Row-major keys, so this is row by row
+        long[] cells = new long[size];
+        for (int i = 0; i < size; i++) {
+            cells[i] = CoordinateList.pack((int) found[i], (int) (found[i] >>> 32));
+        }
+        return new CoordinateList(cells);
+    }
+
+    private Locations locations(int itemId) {   //cells of an id, or null
+        return itemId > SymbolTable.NONE && itemId < byId.length ? byId[itemId] : null;
+    }
+
+    private static int offset(int x, int y) {   //position of a cell within its tile
+        return (y & TILE_MASK) << TILE_SHIFT | (x & TILE_MASK);
+    }
+
+    private static int cellX(long key, int offset) {   //column of a tile offset
+        return (CoordinateList.unpackX(key) << TILE_SHIFT) + (offset & TILE_MASK);
+    }
+
+    private static int cellY(long key, int offset) {   //row of a tile offset
+        return (CoordinateList.unpackY(key) << TILE_SHIFT) + (offset >>> TILE_SHIFT);
+    }
+
+    /**
+     * The cells of one id.
+     */
+    private static final class Locations {
+        private final Map<Long, Tile> tiles = new HashMap<>();   // Packed tile coordinate -> cells in that tile
+        private long count;                                     // Cells in all tiles
+    }
+
+    /**
+     * The cells of one id within one tile, as offsets in no particular order.
+     */
+    private static final class Tile {
+        private int[] offsets = new int[2];
+        private int size;
+
+        private void add(int offset) {   //records a cell, growing the array by half when full
+            if (size == offsets.length) {
+                offsets = Arrays.copyOf(offsets, size + (size >> 1) + 1);
+            }
+            offsets[size++] = offset;
+        }
+
+        private boolean remove(int offset) {   //forgets a cell by moving the last one into its place
+            for (int i = 0; i < size; i++) {
+                if (offsets[i] == offset) {
+                    offsets[i] = offsets[--size];
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private int collect(long key, int x, int y, long right, long bottom, long[] found, int size) {   //appends the cells inside a region as row-major keys
+            int end = size;
+            for (int i = 0; i < this.size; i++) {
+                int cellX = cellX(key, offsets[i]);
+                int cellY = cellY(key, offsets[i]);
+                if (cellX >= x && cellX < right && cellY >= y && cellY < bottom) {
+                    found[end++] = (long) cellY << 32 | cellX;
+                }
+            }
+            return end;
+        }
+    }
+
+    /**
+     * The closest cell seen so far by nearest.
+     */
+    private static final class Nearest {
+        private final int x;
+        private final int y;
+        private long cell = -1;                    // Packed, or -1 before the first
+        private long distance = Long.MAX_VALUE;    // Squared distance to cell
+
+        private Nearest(int x, int y) {
+            this.x = x;
+            this.y = y;
+        }
+
+        private void consider(long key, Tile tile) {   //keeps any closer cell of a tile
+            for (int i = 0; i < tile.size; i++) {
+                int cellX = cellX(key, tile.offsets[i]);
+                int cellY = cellY(key, tile.offsets[i]);
+                long dx = (long) cellX - x;
+                long dy = (long) cellY - y;
+                long d = dx * dx + dy * dy;
+                if (d < distance || d == distance && (cellY < CoordinateList.unpackY(cell)
+                        || cellY == CoordinateList.unpackY(cell) && cellX < CoordinateList.unpackX(cell))) {
+                    distance = d;
+                    cell = CoordinateList.pack(cellX, cellY);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,445 @@
+package edu.curtin.game;
+
+import java.io.*;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Compiled binary cache of a parsed map, stored next to the source map as
+ * &lt;name&gt;.mapc (e.g. demoinput.utf8.map is cached in demoinput.utf8.mapc).
+ *
+ * load() uses the cache if the source file's size and modification time
+ * still match the ones recorded in it; otherwise the source is parsed and a
+ * fresh cache is written. The cache is memory-mapped and the coordinate
+ * tables are bulk-copied straight into CoordinateLists, so loading a large
+ * map costs little more than reading the file. A cache can also be sent
+ * straight to a ConfigSink, such as a GameStateSink.
+ *
+ * File layout (big-endian):
+ * - Header: magic "MAPC", format version, source size, source mtime (ms)
+ * - Includes: count, then each fragment's path (byte length + UTF-8 bytes),
+ *   size and mtime; the cache is stale if any of them has changed
+ * - Grid: width, height, startX, startY, goalX, goalY
+ * - String table: count, then each string as byte length + UTF-8 bytes
+ *   (item names, messages, requirements, plugin names and scripts, each
+ *   distinct string stored once)
+ * - Items: count, then name index, message index, location count, packed locations
+ * - Obstacles: count, then requirement count, requirement indexes, location count, packed locations
+ * - Plugins: count, then string indexes
+ * - Scripts: count, then string indexes
+ * - Trailer: CRC32 of everything before it
+ *
+ * A cache that cannot be read or written is ignored - the map is then just
+ * parsed as usual. A map that parsed with errors or warnings is not cached,
+ * so they are reported again on every load until the map is fixed; nor is
+ * one parsed by a backend that prints its errors instead of reporting them.
+ *
+ * Writing a cache needs the whole GameConfig, so load(filename, sink) only
+ * builds one alongside the sink when the cache may be written and the source
+ * is no larger than MAX_CACHED_SOURCE. Otherwise the map is parsed straight
+ * into the sink and is not cached, so loading it needs about one copy of the
+ * grid rather than the config as well.
+ */
+public class MapCache {
+    private static final int MAGIC = 0x4D415043;   // "MAPC"
+    private static final int VERSION = 2;
+    private static final long MAX_CACHED_SOURCE = 32L << 20;   // Larger sources are not cached by load(filename, sink)
+
+    private final GameConfigParser parser;   // Used when the cache is missing or stale
+
+    /**
+     * Creates a cache that falls back to the given parser.
+     *
+     * @param parser Parser for maps without a usable cache
+     */
+    public MapCache(GameConfigParser parser) {
+        this.parser = parser;
+    }
+
+    /**
+     * Loads a map, from its cache if that is up to date, otherwise by parsing
+     * the source and then writing the cache.
+     *
+     * @param filename Path to the source map file
+     * @return GameConfig object containing all the map data
+     * @throws IOException if the source map cannot be read
+     */
+    public GameConfig load(String filename) throws IOException {
+        Path source = Path.of(filename);
+        BasicFileAttributes attributes = Files.readAttributes(source, BasicFileAttributes.class);
+        GameConfig.Builder cached = new GameConfig.Builder();
+        if (readIfCurrent(source, attributes, cached)) {
+            return cached.build();
+        }
+        return parseAndCache(source, attributes);
+    }
+
+    /**
+     * Loads a map into a sink. If the cache is up to date its tables are sent
+     * straight to the sink, without building a GameConfig. Otherwise the
+     * source is parsed into the sink, and also into a GameConfig from which
+     * the cache is written if the map may be cached (see above).
+     *
+     * @param filename Path to the source map file
+     * @param sink Receives the map contents
+     * @throws IOException if the source map cannot be read
+     */
+    public void load(String filename, ConfigSink sink) throws IOException {
+        Path source = Path.of(filename);
+        BasicFileAttributes attributes = Files.readAttributes(source, BasicFileAttributes.class);
+        if (readIfCurrent(source, attributes, sink)) {
+            return;
+        }
+        if (!parser.reportsDiagnostics() || attributes.size() > MAX_CACHED_SOURCE) {
+            parser.parseFile(filename, sink);   // Not cached, so no GameConfig is needed
+            return;
+        }
+        GameConfig.Builder config = new GameConfig.Builder();
+        List<Diagnostic> diagnostics = new ArrayList<>();
+        parser.parseFile(filename, new Tee(sink, config), diagnostic -> {
+            System.out.println(diagnostic);
+            diagnostics.add(diagnostic);
+        });
+        if (diagnostics.isEmpty()) {
+            writeCache(source, attributes, config.build());
+        }
+    }
+
+    private boolean readIfCurrent(Path source, BasicFileAttributes attributes, ConfigSink sink) {   //sends the cache to the sink if it matches the source
+        Path cache = cacheFileFor(source);
+        if (Files.isRegularFile(cache)) {
+            try {
+                return read(cache, attributes.size(), attributes.lastModifiedTime().toMillis(), sink);
+            } catch (IOException e) {
+                System.out.println("Ignoring unreadable map cache " + cache + ": " + e.getMessage());
+            }
+        }
+        return false;
+    }
+
+    private GameConfig parseAndCache(Path source, BasicFileAttributes attributes) throws IOException {   //parses the source and writes a fresh cache
+        List<Diagnostic> diagnostics = new ArrayList<>();
+        GameConfig config = parser.parseFile(source.toString(), diagnostic -> {
+            System.out.println(diagnostic);
+            diagnostics.add(diagnostic);
+        });
+        if (diagnostics.isEmpty() && parser.reportsDiagnostics()) {   // Otherwise parse again next time, so the problems are shown again
+            writeCache(source, attributes, config);
+        }
+        return config;
+    }
+
+    private static void writeCache(Path source, BasicFileAttributes attributes, GameConfig config) {   //writes the cache for a source, reporting rather than throwing if it cannot
+        Path cache = cacheFileFor(source);
+        try {
+            write(cache, config, attributes.size(), attributes.lastModifiedTime().toMillis());
+        } catch (IOException e) {
+            System.out.println("Could not write map cache " + cache + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Returns where the cache for a source map is kept.
+     *
+     * @param source The source map file
+     * @return The .mapc file in the same directory
+     */
+    public static Path cacheFileFor(Path source) {
+        String name = source.getFileName().toString();
+        if (name.endsWith(".map")) {
+            name = name.substring(0, name.length() - ".map".length());
+        }
+        return source.resolveSibling(name + ".mapc");
+    }
+
+    /**
+     * Reads a cache file into a sink. The header and checksum are checked
+     * before anything is sent to the sink.
+     *
+     * @return True if the cache was read, false if it does not match the source
+     * @throws IOException if the file cannot be read or is corrupt
+     */
+    /* default */ static boolean read(Path cache, long sourceSize, long sourceModified, ConfigSink sink) throws IOException {
+        try (FileChannel channel = FileChannel.open(cache, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("cache file too large");
+            }
+            MappedByteBuffer in = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (in.remaining() < 28 || in.getInt() != MAGIC || in.getInt() != VERSION
+                    || in.getLong() != sourceSize || in.getLong() != sourceModified) {
+                return false;
+            }
+            checkCrc(in);
+
+            // Check every fragment before anything is sent to the sink
+            int includeCount = count(in);
+            Path[] fragments = new Path[includeCount];
+            long[] sizes = new long[includeCount];
+            long[] modifieds = new long[includeCount];
+            for (int i = 0; i < includeCount; i++) {
+                byte[] bytes = new byte[count(in)];
+                in.get(bytes);
+                fragments[i] = Path.of(new String(bytes, StandardCharsets.UTF_8));
+                sizes[i] = in.getLong();
+                modifieds[i] = in.getLong();
+                if (!isUnchanged(fragments[i], sizes[i], modifieds[i])) {
+                    return false;
+                }
+            }
+
+            sink.onSize(in.getInt(), in.getInt());
+            sink.onStart(in.getInt(), in.getInt());
+            sink.onGoal(in.getInt(), in.getInt());
+            for (int i = 0; i < includeCount; i++) {
+                sink.onInclude(fragments[i], sizes[i], modifieds[i]);
+            }
+
+            String[] strings = new String[count(in)];
+            for (int i = 0; i < strings.length; i++) {
+                byte[] bytes = new byte[count(in)];
+                in.get(bytes);
+                strings[i] = new String(bytes, StandardCharsets.UTF_8);
+            }
+
+            int itemCount = count(in);
+            for (int i = 0; i < itemCount; i++) {
+                String name = strings[in.getInt()];
+                String message = strings[in.getInt()];
+                sink.onItemLocations(name, message, readLocations(in));
+            }
+
+            int obstacleCount = count(in);
+            for (int i = 0; i < obstacleCount; i++) {
+                List<String> requirements = new ArrayList<>();
+                int requirementCount = count(in);
+                for (int j = 0; j < requirementCount; j++) {
+                    requirements.add(strings[in.getInt()]);
+                }
+                sink.onObstacleLocations(requirements, readLocations(in));
+            }
+
+            int pluginCount = count(in);
+            for (int i = 0; i < pluginCount; i++) {
+                sink.onPlugin(strings[in.getInt()]);
+            }
+            int scriptCount = count(in);
+            for (int i = 0; i < scriptCount; i++) {
+                sink.onScript(strings[in.getInt()]);
+            }
+            return true;
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IOException("cache file is corrupt", e);
+        }
+    }
+
+    /**
+     * Writes a cache file. The file is written under a temporary name and then
+     * moved into place, so a reader never sees a half-written cache.
+     */
+    /* default */ static void write(Path cache, GameConfig config, long sourceSize, long sourceModified) throws IOException {
+        // Intern every string, in first-use order
+        Map<String, Integer> index = new LinkedHashMap<>();
+        for (GameConfig.Item item : config.getItems()) {
+            index.putIfAbsent(item.getName(), index.size());
+            index.putIfAbsent(item.getMessage(), index.size());
+        }
+        for (GameConfig.Obstacle obstacle : config.getObstacles()) {
+            for (String requirement : obstacle.getRequirements()) {
+                index.putIfAbsent(requirement, index.size());
+            }
+        }
+        for (String plugin : config.getPlugins()) {
+            index.putIfAbsent(plugin, index.size());
+        }
+        for (String script : config.getScripts()) {
+            index.putIfAbsent(script, index.size());
+        }
+
+        Path temp = cache.resolveSibling(cache.getFileName() + ".tmp");
+        CRC32 crc = new CRC32();
+        try (DataOutputStream out = new DataOutputStream(new CheckedOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(temp)), crc))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(sourceSize);
+            out.writeLong(sourceModified);
+            out.writeInt(config.getIncludes().size());
+            for (GameConfig.Include include : config.getIncludes()) {
+                byte[] path = include.getFile().toString().getBytes(StandardCharsets.UTF_8);
+                out.writeInt(path.length);
+                out.write(path);
+                out.writeLong(include.getSize());
+                out.writeLong(include.getModified());
+            }
+            out.writeInt(config.getGridWidth());
+            out.writeInt(config.getGridHeight());
+            out.writeInt(config.getStartX());
+            out.writeInt(config.getStartY());
+            out.writeInt(config.getGoalX());
+            out.writeInt(config.getGoalY());
+
+            out.writeInt(index.size());
+            for (String string : index.keySet()) {
+                byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+
+            out.writeInt(config.getItems().size());
+            for (GameConfig.Item item : config.getItems()) {
+                out.writeInt(index.get(item.getName()));
+                out.writeInt(index.get(item.getMessage()));
+                writeLocations(out, item.getLocations());
+            }
+
+            out.writeInt(config.getObstacles().size());
+            for (GameConfig.Obstacle obstacle : config.getObstacles()) {
+                out.writeInt(obstacle.getRequirements().size());
+                for (String requirement : obstacle.getRequirements()) {
+                    out.writeInt(index.get(requirement));
+                }
+                writeLocations(out, obstacle.getLocations());
+            }
+
+            out.writeInt(config.getPlugins().size());
+            for (String plugin : config.getPlugins()) {
+                out.writeInt(index.get(plugin));
+            }
+            out.writeInt(config.getScripts().size());
+            for (String script : config.getScripts()) {
+                out.writeInt(index.get(script));
+            }
+            out.writeInt((int) crc.getValue());
+        }
+        Files.move(temp, cache, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static boolean isUnchanged(Path fragment, long size, long modified) {   //whether a fragment still has the recorded size and mtime
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(fragment, BasicFileAttributes.class);
+            return attributes.size() == size && attributes.lastModifiedTime().toMillis() == modified;
+        } catch (IOException e) {
+            return false;   // Deleted or unreadable: parse the map again, which reports it
+        }
+    }
+
+    private static void checkCrc(ByteBuffer in) throws IOException {   //checks the trailer against the rest of the file, then drops it from the limit
+        int end = in.limit() - Integer.BYTES;
+        CRC32 crc = new CRC32();
+        crc.update(in.duplicate().position(0).limit(end));
+        if ((int) crc.getValue() != in.getInt(end)) {
+            throw new IOException("cache file is corrupt");
+        }
+        in.limit(end);
+    }
+
+    private static CoordinateList readLocations(ByteBuffer in) throws IOException {   //reads a location count and the packed locations
+        long[] packed = new long[count(in)];
+        in.asLongBuffer().get(packed);
+        in.position(in.position() + packed.length * Long.BYTES);
+        return new CoordinateList(packed);
+    }
+
+    private static void writeLocations(DataOutputStream out, CoordinateList locations) throws IOException {   //writes a location count and the packed locations
+        out.writeInt(locations.size());
+        for (int i = 0; i < locations.size(); i++) {
+            out.writeLong(locations.getPacked(i));
+        }
+    }
+
+    private static int count(ByteBuffer in) throws IOException {   //reads a count or length, checking it fits in what is left
+        int count = in.getInt();
+        if (count < 0 || count > in.remaining()) {
+            throw new IOException("cache file is corrupt");
+        }
+        return count;
+    }
+
+    /**
+     * Sends every declaration to two sinks: the caller's, and the builder the
+     * cache is written from. Location lists are shared, which is safe as
+     * GameConfig.Builder copies one before adding to it.
+     */
+    private static final class Tee implements ConfigSink {
+        private final ConfigSink sink;
+        private final GameConfig.Builder config;
+
+        private Tee(ConfigSink sink, GameConfig.Builder config) {
+            this.sink = sink;
+            this.config = config;
+        }
+
+        @Override
+        public void onSize(int width, int height) {
+            sink.onSize(width, height);
+            config.onSize(width, height);
+        }
+
+        @Override
+        public void onStart(int x, int y) {
+            sink.onStart(x, y);
+            config.onStart(x, y);
+        }
+
+        @Override
+        public void onGoal(int x, int y) {
+            sink.onGoal(x, y);
+            config.onGoal(x, y);
+        }
+
+        @Override
+        public void onPlugin(String className) {
+            sink.onPlugin(className);
+            config.onPlugin(className);
+        }
+
+        @Override
+        public void onScript(String script) {
+            sink.onScript(script);
+            config.onScript(script);
+        }
+
+        @Override
+        public void onDeclaration(int line, int column) {
+            sink.onDeclaration(line, column);
+        }
+
+        @Override
+        public void onInclude(Path fragment, long size, long modified) {
+            sink.onInclude(fragment, size, modified);
+            config.onInclude(fragment, size, modified);
+        }
+
+        @Override
+        public void onItemLocation(String name, int x, int y, String message) {
+            sink.onItemLocation(name, x, y, message);
+            config.onItemLocation(name, x, y, message);
+        }
+
+        @Override
+        public void onObstacleLocation(int x, int y, List<String> requirements) {
+            sink.onObstacleLocation(x, y, requirements);
+            config.onObstacleLocation(x, y, requirements);
+        }
+
+        @Override
+        public void onItemLocations(String name, String message, CoordinateList locations) {
+            sink.onItemLocations(name, message, locations);
+            config.onItemLocations(name, message, locations);
+        }
+
+        @Override
+        public void onObstacleLocations(List<String> requirements, CoordinateList locations) {
+            sink.onObstacleLocations(requirements, locations);
+            config.onObstacleLocations(requirements, locations);
+        }
+    }
+}
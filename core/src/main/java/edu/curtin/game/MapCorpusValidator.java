@@ -0,0 +1,141 @@
+package edu.curtin.game;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Command-line tool that validates every map in a directory tree, for
+ * checking generated maps as part of a build.
+ *
+ * Usage:
+ *   MapCorpusValidator directory [threads]
+ *
+ * Every .map, .map.gz and .map.deflate file under the directory is checked
+ * with GameConfigParser.validateFile, one file per task on a fixed pool of
+ * threads (by default one per core). Diagnostics are printed per file in
+ * path order as "file: line L, column C: error: ...", followed by a summary
+ * with the number of maps checked per second. The exit status is 1 if any
+ * map has an error, so a build step running this fails on a bad map;
+ * warnings alone do not fail it.
+ */
+public class MapCorpusValidator {
+
+    /**
+     * Diagnostics for one map file.
+     */
+    private static class Result {
+        private final Path file;
+        private final List<Diagnostic> diagnostics;
+
+        private Result(Path file, List<Diagnostic> diagnostics) {
+            this.file = file;
+            this.diagnostics = diagnostics;
+        }
+
+        private boolean hasErrors() {   //true if any diagnostic is an error
+            return diagnostics.stream().anyMatch(Diagnostic::isError);
+        }
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length < 1 || args.length > 2) {
+            System.out.println("Usage: MapCorpusValidator <directory> [threads]");
+            return;
+        }
+        Path directory = Path.of(args[0]);
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+
+        if (!validateAll(directory, threads)) {
+            System.exit(1);   // NOPMD - the exit status is how a build step sees invalid maps
+        }
+    }
+
+    /**
+     * Validates every map under a directory and prints the report.
+     *
+     * @param directory Root of the map corpus
+     * @param threads Number of maps to validate at once
+     * @return True if no map has an error
+     * @throws IOException if the directory cannot be listed
+     * @throws InterruptedException if interrupted while waiting for results
+     */
+    public static boolean validateAll(Path directory, int threads) throws IOException, InterruptedException {
+        List<Path> files = findMaps(directory);
+        long startTime = System.nanoTime();
+
+        int clean = 0;
+        int withWarnings = 0;
+        int withErrors = 0;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Result>> results = new ArrayList<>(files.size());
+            for (Path file : files) {
+                results.add(pool.submit(() -> validate(file)));
+            }
+
+            // Report in path order while later maps are still being checked
+            for (Future<Result> future : results) {
+                Result result = getResult(future);
+                for (Diagnostic diagnostic : result.diagnostics) {
+                    System.out.println(result.file + ": " + diagnostic);
+                }
+                if (result.hasErrors()) {
+                    withErrors++;
+                } else if (result.diagnostics.isEmpty()) {
+                    clean++;
+                } else {
+                    withWarnings++;
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        double seconds = (System.nanoTime() - startTime) / 1e9;
+        System.out.printf("Validated %d maps in %.2f s (%.1f maps/sec, %d threads): "
+                + "%d ok, %d with warnings only, %d with errors%n",
+            files.size(), seconds, files.size() / seconds, threads, clean, withWarnings, withErrors);
+        return withErrors == 0;
+    }
+
+    private static List<Path> findMaps(Path directory) throws IOException {   //every map file under a directory, sorted by path
+        try (Stream<Path> paths = Files.walk(directory)) {
+            return paths
+                .filter(Files::isRegularFile)
+                .filter(path -> isMap(path.getFileName().toString()))
+                .sorted()
+                .collect(Collectors.toList());
+        }
+    }
+
+    private static boolean isMap(String name) {   //whether a file name is a plain or compressed map
+        return CompressedMapReader.stripSuffix(name).endsWith(".map");
+    }
+
+    private static Result validate(Path file) {   //validates one map, turning a read failure into a diagnostic
+        List<Diagnostic> diagnostics;
+        try {
+            diagnostics = new GameConfigParser().validateFile(file.toString());
+        } catch (IOException e) {
+            diagnostics = List.of(new Diagnostic(Diagnostic.Severity.ERROR, 0, 0, "cannot read the map: " + e.getMessage()));
+        }
+        return new Result(file, diagnostics);
+    }
+
+    private static Result getResult(Future<Result> future) throws InterruptedException {   //waits for one map's result
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Validation failed unexpectedly", e);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package edu.curtin.game;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Cell-level difference between two versions of the same map.
+ *
+ * Used by the --watch dev mode: when the map file is edited, only the cells
+ * whose item or obstacle actually changed are applied to the live GameState,
+ * so the player's position, inventory, visibility and any items already
+ * collected are left alone.
+ *
+ * Each config is laid out as the final contents of each cell it lists, the
+ * same way GameStateSink places them (an obstacle wins over an item on the
+ * same cell), in a hash map keyed by CoordinateList.pack, so the work and
+ * memory grow with the number of listed cells rather than the grid area.
+ * Only the cells listed in either config are compared. Changes to the grid
+ * size, start or goal cannot be applied to a running game; needsRestart()
+ * reports them instead.
+ */
+public class MapDiff {
+    private final boolean restart;                            // Grid size, start or goal changed
+    private final List<Change> changes = new ArrayList<>();   // Changed cells, in the order found
+
+    /**
+     * New contents of one cell: an item name (String), obstacle requirements
+     * (List of String), or null for an empty cell.
+     */
+    private static class Change {
+        private final int x;
+        private final int y;
+        private final Object contents;
+
+        private Change(int x, int y, Object contents) {
+            this.x = x;
+            this.y = y;
+            this.contents = contents;
+        }
+    }
+
+    private MapDiff(boolean restart) {
+        this.restart = restart;
+    }
+
+    /**
+     * Works out which cells differ between two configs.
+     *
+     * @param before The config the running game was set up from
+     * @param after The newly parsed config
+     * @return The differences
+     */
+    public static MapDiff between(GameConfig before, GameConfig after) {
+        int width = after.getGridWidth();
+        int height = after.getGridHeight();
+        MapDiff diff = new MapDiff(before.getGridWidth() != width || before.getGridHeight() != height
+            || before.getStartX() != after.getStartX() || before.getStartY() != after.getStartY()
+            || before.getGoalX() != after.getGoalX() || before.getGoalY() != after.getGoalY());
+        if (before.getGridWidth() != width || before.getGridHeight() != height) {
+            return diff;   // Cells cannot be matched up
+        }
+
+        Map<Long, Object> oldCells = layOut(before, width, height);
+        Map<Long, Object> newCells = layOut(after, width, height);
+        diff.compare(before, oldCells, newCells, width, height);
+        diff.compare(after, oldCells, newCells, width, height);
+        return diff;
+    }
+
+    public boolean needsRestart() { return restart; }   //true if the grid size, start or goal changed
+    public int size() { return changes.size(); }   //number of changed cells
+    public boolean isEmpty() { return changes.isEmpty(); }   //true if no cell changed
+
+    /**
+     * Applies the changed cells to a running game. Everything else in the
+     * game state is kept.
+     *
+     * @param state The live game state (must match the grid size of the configs)
+     */
+    public void applyTo(GameState state) {
+        for (Change change : changes) {
+            if (change.contents instanceof String) {
+                state.setCellType(change.x, change.y, CellWord.ITEM);
+                state.setItemName(change.x, change.y, (String) change.contents);
+            } else if (change.contents instanceof List) {
+                @SuppressWarnings("unchecked")
+                List<String> requirements = (List<String>) change.contents;
+                state.setCellType(change.x, change.y, CellWord.OBSTACLE);
+                state.setObstacleRequirements(change.x, change.y, requirements);
+            } else {
+                boolean goal = change.x == state.getGoalX() && change.y == state.getGoalY();
+                state.setCellType(change.x, change.y, goal ? CellWord.GOAL : CellWord.EMPTY);   // Clears any item or requirements
+            }
+        }
+    }
+
+    /**
+     * Records every cell listed in config whose contents differ, then marks it
+     * as equal so a cell listed in both configs is only recorded once.
+     */
+    private void compare(GameConfig config, Map<Long, Object> oldCells, Map<Long, Object> newCells, int width, int height) {
+        for (GameConfig.Item item : config.getItems()) {
+            compareCells(item.getLocations(), oldCells, newCells, width, height);
+        }
+        for (GameConfig.Obstacle obstacle : config.getObstacles()) {
+            compareCells(obstacle.getLocations(), oldCells, newCells, width, height);
+        }
+    }
+
+    private void compareCells(CoordinateList locations, Map<Long, Object> oldCells, Map<Long, Object> newCells,
+                              int width, int height) {
+        for (int i = 0; i < locations.size(); i++) {
+            int x = locations.getX(i);
+            int y = locations.getY(i);
+            if (inBounds(x, y, width, height)) {
+                Long cell = CoordinateList.pack(x, y);
+                Object contents = newCells.get(cell);
+                if (!Objects.equals(oldCells.get(cell), contents)) {
+                    changes.add(new Change(x, y, contents));
+                    oldCells.put(cell, contents);
+                }
+            }
+        }
+    }
+
+    private static Map<Long, Object> layOut(GameConfig config, int width, int height) {   //final contents of each listed cell, keyed by CoordinateList.pack
+        Map<Long, Object> cells = new HashMap<>();
+        for (GameConfig.Item item : config.getItems()) {
+            String name = item.getName();
+            CoordinateList locations = item.getLocations();
+            for (int i = 0; i < locations.size(); i++) {
+                if (inBounds(locations.getX(i), locations.getY(i), width, height)) {
+                    cells.put(CoordinateList.pack(locations.getX(i), locations.getY(i)), name);
+                }
+            }
+        }
+        for (GameConfig.Obstacle obstacle : config.getObstacles()) {
+            List<String> requirements = obstacle.getRequirements();
+            CoordinateList locations = obstacle.getLocations();
+            for (int i = 0; i < locations.size(); i++) {
+                if (inBounds(locations.getX(i), locations.getY(i), width, height)) {
+                    cells.put(CoordinateList.pack(locations.getX(i), locations.getY(i)), requirements);
+                }
+            }
+        }
+        return cells;
+    }
+
+    private static boolean inBounds(int x, int y, int width, int height) {
+        return x >= 0 && y >= 0 && x < width && y < height;
+    }
+}
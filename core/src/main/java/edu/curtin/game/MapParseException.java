@@ -0,0 +1,31 @@
+package edu.curtin.game;
+
+/**
+ * Thrown when a declaration in a map file does not match the DSL syntax.
+ * Carries the line and column of the token where the problem was found.
+ */
+public class MapParseException extends Exception {
+    private final int line;     // Line of the offending token (starting at 1)
+    private final int column;   // Column of the offending token (starting at 1)
+
+    public MapParseException(String message, int line, int column) {
+        super(message);
+        this.line = line;
+        this.column = column;
+    }
+
+    public MapParseException(String message, int line, int column, Throwable cause) {
+        super(message, cause);
+        this.line = line;
+        this.column = column;
+    }
+
+    public int getLine() { return line; }   //getter for the line number
+    public int getColumn() { return column; }   //getter for the column number
+    public String getDetail() { return super.getMessage(); }   //getter for the message without the position
+
+    @Override
+    public String getMessage() {
+        return "line " + line + ", column " + column + ": " + super.getMessage();
+    }
+}
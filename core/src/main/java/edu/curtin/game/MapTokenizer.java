@@ -0,0 +1,293 @@
+package edu.curtin.game;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Hand-written, single-pass tokenizer for the game configuration DSL.
+ *
+ * The tokenizer pulls characters from a Reader through its own fixed-size
+ * buffer and recognises one token at a time:
+ * - WORD: keywords and (dotted) plugin class names, e.g. item, edu.curtin.X
+ * - INTEGER: non-negative decimal integers, decoded without creating a String
+ * - STRING: double-quoted strings, with backslash escapes removed
+ * - SYMBOL: single punctuation characters such as ( ) , { }
+ * - SCRIPT: the raw text between !{ and the next }
+ * - EOF: end of input
+ *
+ * Whitespace and // comments are skipped. The whole file is never held in
+ * memory - only the current buffer and the characters of the current token.
+ * Line and column numbers (both starting at 1) are tracked for every token
+ * so that parse errors can point at the offending input.
+ */
+public class MapTokenizer {
+    /** Kinds of token produced by the tokenizer. */
+    public enum TokenType { WORD, INTEGER, STRING, SYMBOL, SCRIPT, EOF }
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final Reader reader;         // Source of characters
+    private final char[] buffer;         // Read-ahead buffer
+    private int bufferPos;               // Next unread position in buffer
+    private int bufferLimit;             // Number of valid chars in buffer
+
+    private int line;                    // Line of the next unread character
+    private int column;                  // Column of the next unread character
+
+    // Current token
+    private TokenType type;
+    private char[] text = new char[64];  // Characters of WORD/STRING/SCRIPT tokens
+    private int textLength;
+    private String textCache;            // Lazily created String of text
+    private int intValue;                // Value of INTEGER tokens
+    private boolean intTooLarge;         // INTEGER token was above Integer.MAX_VALUE; intValue is clamped
+    private char symbol;                 // Character of SYMBOL tokens
+    private int tokenLine;
+    private int tokenColumn;
+
+    /**
+     * Creates a tokenizer reading from the given Reader. The tokenizer does its
+     * own buffering, so there is no need to wrap the reader in a BufferedReader.
+     *
+     * @param reader Source of the DSL text
+     */
+    public MapTokenizer(Reader reader) {
+        this(reader, 1, 1);
+    }
+
+    /**
+     * Creates a tokenizer for text that starts part-way through a file, so that
+     * line and column numbers still refer to the whole file.
+     *
+     * @param reader Source of the DSL text
+     * @param line Line of the first character read from the reader
+     * @param column Column of the first character read from the reader
+     */
+    public MapTokenizer(Reader reader, int line, int column) {
+        this.reader = reader;
+        this.buffer = new char[BUFFER_SIZE];
+        this.line = line;
+        this.column = column;
+    }
+
+    public TokenType getType() { return type; }   //getter for the current token type
+    public int getIntValue() { return intValue; }   //getter for the value of an INTEGER token
+    public boolean isIntTooLarge() { return intTooLarge; }   //whether the INTEGER token did not fit in an int
+    public char getSymbol() { return symbol; }   //getter for the character of a SYMBOL token
+    public int getLine() { return tokenLine; }   //getter for the line the current token starts on
+    public int getColumn() { return tokenColumn; }   //getter for the column the current token starts at
+
+    /**
+     * Returns the text of the current WORD, STRING or SCRIPT token.
+     * The String is only created on first request.
+     */
+    public String getText() {
+        if (textCache == null) {
+            textCache = new String(text, 0, textLength);
+        }
+        return textCache;
+    }
+
+    /**
+     * Checks whether the current token is the given word, without creating a String.
+     */
+    public boolean isWord(String word) {
+        if (type != TokenType.WORD || textLength != word.length()) {
+            return false;
+        }
+        for (int i = 0; i < textLength; i++) {
+            if (text[i] != word.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether the current token is the given punctuation character.
+     */
+    public boolean isSymbol(char c) {
+        return type == TokenType.SYMBOL && symbol == c;
+    }
+
+    /**
+     * Short human-readable description of the current token, for error messages.
+     */
+    public String describe() {
+        switch (type) {
+            case WORD:
+                return "'" + getText() + "'";
+            case INTEGER:
+                return intTooLarge ? "number above " + Integer.MAX_VALUE : "number " + intValue;
+            case STRING:
+                return "string \"" + getText() + "\"";
+            case SYMBOL:
+                return "'" + symbol + "'";
+            case SCRIPT:
+                return "script block";
+            default:
+                return "end of file";
+        }
+    }
+
+    /**
+     * Advances to the next token.
+     *
+     * @return The type of the new current token
+     * @throws IOException if the underlying reader fails
+     */
+    public TokenType next() throws IOException {
+        textLength = 0;
+        textCache = null;
+
+        int c = skipWhitespaceAndComments();
+        tokenLine = line;
+        tokenColumn = column;
+
+        if (c == -1) {
+            type = TokenType.EOF;
+        } else if (c >= '0' && c <= '9') {
+            readInteger();
+        } else if (c == '"') {
+            read();
+            readString();
+        } else if (c == '!' && peekAhead() == '{') {
+            read();
+            read();
+            readScript();
+        } else if (Character.isLetter(c) || c == '_') {
+            readWord();
+        } else {
+            symbol = (char) read();
+            type = TokenType.SYMBOL;
+        }
+        return type;
+    }
+
+    private int skipWhitespaceAndComments() throws IOException {   //skips whitespace and // comments, returns the next char without consuming it
+        while (true) {
+            int c = peek();
+            if (c == ' ' || c == '\t' || c == '\r' || c == '\n' || c == '\uFEFF') {
+                read();
+            } else if (c == '/' && peekAhead() == '/') {
+                while (c != -1 && c != '\n') {
+                    read();
+                    c = peek();
+                }
+            } else {
+                return c;
+            }
+        }
+    }
+
+    private void readInteger() throws IOException {   //reads a decimal integer into intValue
+        long value = 0;
+        intTooLarge = false;
+        int c = peek();
+        while (c >= '0' && c <= '9') {
+            value = value * 10 + (c - '0');
+            if (value > Integer.MAX_VALUE) {
+                value = Integer.MAX_VALUE;   // clamp so the digits cannot overflow the long; the parser reports it
+                intTooLarge = true;
+            }
+            read();
+            c = peek();
+        }
+        intValue = (int) value;
+        type = TokenType.INTEGER;
+    }
+
+    private void readString() throws IOException {   //reads a quoted string, the opening quote is already consumed
+        int c = read();
+        while (c != -1 && c != '"') {
+            if (c == '\\') {
+                c = read();
+                if (c == -1) {
+                    break;
+                }
+            }
+            append((char) c);
+            c = read();
+        }
+        type = TokenType.STRING;
+    }
+
+    private void readScript() throws IOException {   //reads a script block, the opening !{ is already consumed
+        // The block ends at the first '}' - script bodies may contain '{' but not '}'
+        int c = read();
+        while (c != -1 && c != '}') {
+            if (c != '\r') {
+                append((char) c);
+            }
+            c = read();
+        }
+        type = TokenType.SCRIPT;
+    }
+
+    private void readWord() throws IOException {   //reads a keyword or a dotted class name
+        int c = peek();
+        while (c != -1 && (Character.isLetterOrDigit(c) || c == '_' || c == '.')) {
+            append((char) read());
+            c = peek();
+        }
+        type = TokenType.WORD;
+    }
+
+    private void append(char c) {   //appends a character to the current token text, growing if needed
+        if (textLength == text.length) {
+            char[] bigger = new char[text.length * 2];
+            System.arraycopy(text, 0, bigger, 0, textLength);
+            text = bigger;
+        }
+        text[textLength++] = c;
+    }
+
+    private int peek() throws IOException {   //returns the next char without consuming it, or -1 at end of input
+        if (bufferPos == bufferLimit && !fill()) {
+            return -1;
+        }
+        return buffer[bufferPos];
+    }
+
+    private int peekAhead() throws IOException {   //returns the char after the next one without consuming either
+        if (bufferPos + 1 >= bufferLimit) {
+            // Move the unread tail to the front so both chars fit in the buffer
+            int remaining = bufferLimit - bufferPos;
+            System.arraycopy(buffer, bufferPos, buffer, 0, remaining);
+            bufferPos = 0;
+            bufferLimit = remaining;
+            int n = reader.read(buffer, bufferLimit, buffer.length - bufferLimit);
+            if (n > 0) {
+                bufferLimit += n;
+            }
+            if (bufferLimit < 2) {
+                return -1;
+            }
+        }
+        return buffer[bufferPos + 1];
+    }
+
+    private int read() throws IOException {   //consumes and returns the next char, or -1 at end of input
+        if (bufferPos == bufferLimit && !fill()) {
+            return -1;
+        }
+        char c = buffer[bufferPos++];
+        if (c == '\n') {
+            line++;
+            column = 1;
+        } else {
+            column++;
+        }
+        return c;
+    }
+
+    private boolean fill() throws IOException {   //refills the buffer, returns false at end of input
+        int n;
+        do {
+            n = reader.read(buffer, 0, buffer.length);
+        } while (n == 0);
+        bufferPos = 0;
+        bufferLimit = Math.max(n, 0);
+        return n > 0;
+    }
+}
@@ -0,0 +1,221 @@
+package edu.curtin.game;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * ConfigSink that checks a map instead of loading it.
+ *
+ * Problems that would otherwise only show up once the game is running are
+ * reported as diagnostics, at the position of the declaration they come from:
+ * - a location outside the grid (an error: GameState would throw)
+ * - a cell given more than one item or obstacle (a warning: only one survives)
+ * - the start or goal outside the grid, or under an obstacle
+ * - a missing, repeated or unusable size, start or goal
+ *
+ * Occupied cells are tracked in CellBitSets, one bit per cell, so checking a
+ * map takes far less memory than loading it. Locations declared before the
+ * size are held back and checked once the size is known.
+ *
+ * Syntax errors from the parser are passed to report(), so one list holds
+ * everything wrong with the map. Use GameConfigParser.validate to run both.
+ */
+public class MapValidator implements ConfigSink {
+    private final List<Diagnostic> diagnostics = new ArrayList<>();   // Everything found so far
+    private final List<Runnable> pending = new ArrayList<>();         // Cell checks waiting for the size
+    private int line;                                                 // Position of the current declaration
+    private int column;
+
+    private int width;                  // Declared grid size
+    private int height;
+    private int startX;                 // Declared start position
+    private int startY;
+    private int goalX;                  // Declared goal position
+    private int goalY;
+    private int startLine;              // Where the start and goal were declared
+    private int startColumn;
+    private int goalLine;
+    private int goalColumn;
+    private boolean sizeSet;
+    private boolean startSet;
+    private boolean goalSet;
+
+    private CellBitSet occupied;        // Cells with an item or obstacle, once the size is known
+    private CellBitSet blocked;         // Cells with an obstacle
+
+    /**
+     * Adds a diagnostic found elsewhere, such as a syntax error from the parser.
+     *
+     * @param diagnostic The problem
+     */
+    public void report(Diagnostic diagnostic) {
+        diagnostics.add(diagnostic);
+    }
+
+    /**
+     * Runs the checks that need the whole map and returns every diagnostic,
+     * sorted by position. Whole-map problems come last.
+     *
+     * @return The diagnostics
+     */
+    public List<Diagnostic> finish() {
+        if (!sizeSet) {
+            addForMap(Diagnostic.Severity.ERROR, "no size declaration");
+        }
+        if (!startSet) {
+            addForMap(Diagnostic.Severity.ERROR, "no start declaration");
+        }
+        if (!goalSet) {
+            addForMap(Diagnostic.Severity.ERROR, "no goal declaration");
+        }
+        if (blocked != null) {
+            if (startSet && inBounds(startX, startY) && blocked.get(cell(startX, startY))) {
+                diagnostics.add(new Diagnostic(Diagnostic.Severity.WARNING, startLine, startColumn,
+                    "the start " + point(startX, startY) + " is under an obstacle"));
+            }
+            if (goalSet && inBounds(goalX, goalY) && blocked.get(cell(goalX, goalY))) {
+                diagnostics.add(new Diagnostic(Diagnostic.Severity.WARNING, goalLine, goalColumn,
+                    "the goal " + point(goalX, goalY) + " is under an obstacle"));
+            }
+        }
+        diagnostics.sort(Comparator.comparingInt((Diagnostic d) -> d.getLine() == 0 ? Integer.MAX_VALUE : d.getLine())
+            .thenComparingInt(Diagnostic::getColumn));
+        return diagnostics;
+    }
+
+    @Override
+    public void onDeclaration(int line, int column) {
+        this.line = line;
+        this.column = column;
+    }
+
+    @Override
+    public void onSize(int width, int height) {
+        if (sizeSet) {
+            addHere(Diagnostic.Severity.WARNING, "size is declared more than once; only the first is checked");
+            return;
+        }
+        sizeSet = true;
+        if (width <= 0 || height <= 0) {
+            addHere(Diagnostic.Severity.ERROR, "size " + point(width, height) + " is not a usable grid");
+            return;
+        }
+        this.width = width;
+        this.height = height;
+        this.occupied = new CellBitSet(width, height);
+        this.blocked = new CellBitSet(width, height);
+        if (startSet) {
+            checkPosition("start", startX, startY, startLine, startColumn);
+        }
+        if (goalSet) {
+            checkPosition("goal", goalX, goalY, goalLine, goalColumn);
+        }
+        for (Runnable check : pending) {
+            check.run();
+        }
+        pending.clear();
+    }
+
+    @Override
+    public void onStart(int x, int y) {
+        if (startSet) {
+            addHere(Diagnostic.Severity.WARNING, "start is declared more than once; only the first is checked");
+            return;
+        }
+        startSet = true;
+        startX = x;
+        startY = y;
+        startLine = line;
+        startColumn = column;
+        checkPosition("start", x, y, line, column);
+    }
+
+    @Override
+    public void onGoal(int x, int y) {
+        if (goalSet) {
+            addHere(Diagnostic.Severity.WARNING, "goal is declared more than once; only the first is checked");
+            return;
+        }
+        goalSet = true;
+        goalX = x;
+        goalY = y;
+        goalLine = line;
+        goalColumn = column;
+        checkPosition("goal", x, y, line, column);
+    }
+
+    @Override
+    public void onPlugin(String className) {
+        // Plugins are only checked when the game loads them
+    }
+
+    @Override
+    public void onScript(String script) {
+        // Scripts are only checked when the game runs them
+    }
+
+    @Override
+    public void onItemLocation(String name, int x, int y, String message) {
+        checkCell("item \"" + name + "\"", x, y, false, line, column);
+    }
+
+    @Override
+    public void onObstacleLocation(int x, int y, List<String> requirements) {
+        checkCell("obstacle", x, y, true, line, column);
+    }
+
+    /**
+     * Checks that one item or obstacle location is inside the grid and is the
+     * only thing on its cell.
+     */
+    private void checkCell(String what, int x, int y, boolean obstacle, int atLine, int atColumn) {
+        if (!sizeSet) {
+            pending.add(() -> checkCell(what, x, y, obstacle, atLine, atColumn));
+            return;
+        }
+        if (occupied == null) {
+            return;   // The size was unusable and has already been reported
+        }
+        if (!inBounds(x, y)) {
+            diagnostics.add(new Diagnostic(Diagnostic.Severity.ERROR, atLine, atColumn,
+                what + " at " + point(x, y) + " is outside the " + width + "x" + height + " grid"));
+            return;
+        }
+        long index = cell(x, y);
+        if (occupied.getAndSet(index)) {
+            diagnostics.add(new Diagnostic(Diagnostic.Severity.WARNING, atLine, atColumn,
+                what + " at " + point(x, y) + " is on a cell that already has an item or obstacle"));
+        }
+        if (obstacle) {
+            blocked.getAndSet(index);
+        }
+    }
+
+    private void checkPosition(String what, int x, int y, int atLine, int atColumn) {   //reports a start or goal outside the grid
+        if (occupied != null && !inBounds(x, y)) {
+            diagnostics.add(new Diagnostic(Diagnostic.Severity.ERROR, atLine, atColumn,
+                "the " + what + " " + point(x, y) + " is outside the " + width + "x" + height + " grid"));
+        }
+    }
+
+    private void addHere(Diagnostic.Severity severity, String message) {   //adds a diagnostic at the current declaration
+        diagnostics.add(new Diagnostic(severity, line, column, message));
+    }
+
+    private void addForMap(Diagnostic.Severity severity, String message) {   //adds a diagnostic for the whole map
+        diagnostics.add(new Diagnostic(severity, 0, 0, message));
+    }
+
+    private boolean inBounds(int x, int y) {
+        return x >= 0 && y >= 0 && x < width && y < height;
+    }
+
+    private long cell(int x, int y) {   //bit index of a cell
+        return (long) y * width + x;
+    }
+
+    private static String point(int x, int y) {
+        return "(" + x + "," + y + ")";
+    }
+}
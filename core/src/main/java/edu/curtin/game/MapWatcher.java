@@ -0,0 +1,85 @@
+package edu.curtin.game;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches a map file for changes, for the --watch dev mode.
+ *
+ * A WatchService is registered on the map's directory and a daemon thread
+ * waits on it. Editors often save in several steps (truncate, write, rename),
+ * so after the first event for the map the thread waits until no further
+ * event arrives for QUIET_MILLIS, then calls the listener once. The listener
+ * runs on the watcher thread, so it can re-parse without blocking the UI.
+ */
+public class MapWatcher implements AutoCloseable {
+    private static final long QUIET_MILLIS = 20;   // How long the file must be left alone before it is reloaded
+
+    /**
+     * Told when the watched map has been saved.
+     */
+    public interface Listener {
+        void mapChanged(Path file);
+    }
+
+    private final Path file;              // The map file being watched
+    private final Listener listener;      // Called after each change
+    private final WatchService watcher;   // Watches the map's directory
+    private final Thread thread;          // Waits for and filters events
+
+    /**
+     * Starts watching a map file.
+     *
+     * @param file The map file to watch
+     * @param listener Called (on the watcher thread) each time the file changes
+     * @throws IOException if the directory cannot be watched
+     */
+    public MapWatcher(Path file, Listener listener) throws IOException {
+        this.file = file.toAbsolutePath();
+        this.listener = listener;
+        this.watcher = FileSystems.getDefault().newWatchService();
+        this.file.getParent().register(watcher,
+            StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+
+        this.thread = new Thread(this::run, "map-watcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public void close() throws IOException {
+        watcher.close();   // Wakes the thread with a ClosedWatchServiceException
+    }
+
+    private void run() {   //waits for changes to the map until the watch service is closed
+        try {
+            while (true) {
+                if (isMapEvent(watcher.take())) {
+                    // Let the save finish before reloading
+                    WatchKey key = watcher.poll(QUIET_MILLIS, TimeUnit.MILLISECONDS);
+                    while (key != null) {
+                        isMapEvent(key);
+                        key = watcher.poll(QUIET_MILLIS, TimeUnit.MILLISECONDS);
+                    }
+                    listener.mapChanged(file);
+                }
+            }
+        } catch (ClosedWatchServiceException e) {
+            System.out.println("Stopped watching " + file);   // close() was called
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private boolean isMapEvent(WatchKey key) {   //consumes a key's events and whether any was for the map file
+        boolean found = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (file.getFileName().equals(event.context())) {
+                found = true;
+            }
+        }
+        key.reset();
+        return found;
+    }
+}
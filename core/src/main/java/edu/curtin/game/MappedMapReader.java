@@ -0,0 +1,186 @@
+package edu.curtin.game;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.*;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reader that decodes a map file straight out of a memory-mapped FileChannel.
+ *
+ * The file is mapped in fixed-size windows and decoded with a CharsetDecoder
+ * directly into the caller's char array (normally the MapTokenizer buffer),
+ * so no byte[] copy, line String or whole-file String is ever created. Heap
+ * use while loading therefore stays flat regardless of file size.
+ *
+ * The encoding is detected from the byte order mark, if there is one:
+ * - EF BB BF     UTF-8
+ * - 00 00 FE FF  UTF-32BE
+ * - FF FE 00 00  UTF-32LE
+ * - FE FF        UTF-16BE
+ * - FF FE        UTF-16LE
+ * Otherwise the fallback charset (chosen from the filename suffix) is used.
+ * The BOM itself is skipped. Malformed input is replaced with U+FFFD, as an
+ * InputStreamReader would do.
+ *
+ * A character outside the Basic Multilingual Plane decodes to two chars (a
+ * surrogate pair), which the decoder will only write together. A read with
+ * room for one char therefore decodes into a small pending buffer, and
+ * hands its chars out over as many reads as it takes.
+ */
+public class MappedMapReader extends Reader {
+    private static final long WINDOW_SIZE = 64L * 1024 * 1024;   // Bytes mapped at a time
+
+    private final FileChannel channel;      // Open channel on the map file
+    private final long fileSize;            // Total file size in bytes
+    private final Charset charset;          // Detected or fallback encoding
+    private final CharsetDecoder decoder;   // Decoder for charset
+    private MappedByteBuffer window;        // Currently mapped region
+    private long windowStart;               // File offset of the start of window
+    private boolean finished;               // True once the decoder has been flushed
+    private final CharBuffer pending = CharBuffer.allocate(2).limit(0);   // Rest of a character decoded for a one-char read
+
+    /**
+     * Opens and maps the given file.
+     *
+     * @param file The map file to read
+     * @param fallback Encoding to use when the file has no byte order mark
+     * @throws IOException if the file cannot be opened or mapped
+     */
+    public MappedMapReader(Path file, Charset fallback) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            this.fileSize = channel.size();
+            mapWindow(0);
+
+            Charset bomCharset = detectBom(window);
+            this.charset = bomCharset != null ? bomCharset : fallback;
+            window.position(bomLength(bomCharset));
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        this.decoder = charset.newDecoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    }
+
+    public Charset getCharset() { return charset; }   //getter for the encoding being decoded
+
+    /**
+     * Works out the encoding from the byte order mark at the start of the buffer.
+     *
+     * @param start Bytes at the start of the file (position is not changed)
+     * @return The encoding named by the byte order mark, or null if there is none
+     */
+    public static Charset detectBom(ByteBuffer start) {
+        int b0 = byteAt(start, 0);
+        int b1 = byteAt(start, 1);
+        int b2 = byteAt(start, 2);
+        int b3 = byteAt(start, 3);
+
+        if (b0 == 0xEF && b1 == 0xBB && b2 == 0xBF) {
+            return StandardCharsets.UTF_8;
+        } else if (b0 == 0x00 && b1 == 0x00 && b2 == 0xFE && b3 == 0xFF) {
+            return Charset.forName("UTF-32BE");
+        } else if (b0 == 0xFF && b1 == 0xFE && b2 == 0x00 && b3 == 0x00) {
+            // Checked before UTF-16LE, whose BOM is a prefix of this one
+            return Charset.forName("UTF-32LE");
+        } else if (b0 == 0xFE && b1 == 0xFF) {
+            return StandardCharsets.UTF_16BE;
+        } else if (b0 == 0xFF && b1 == 0xFE) {
+            return StandardCharsets.UTF_16LE;
+        }
+        return null;
+    }
+
+    /**
+     * Length in bytes of the byte order mark for an encoding returned by detectBom.
+     *
+     * @param bomCharset Result of detectBom (may be null)
+     * @return 2, 3 or 4, or 0 if bomCharset is null
+     */
+    public static int bomLength(Charset bomCharset) {
+        if (bomCharset == null) {
+            return 0;
+        } else if (StandardCharsets.UTF_8.equals(bomCharset)) {
+            return 3;
+        } else if (bomCharset.name().startsWith("UTF-32")) {
+            return 4;
+        }
+        return 2;
+    }
+
+    private static int byteAt(ByteBuffer buffer, int index) {   //unsigned byte at the given index past the position, or -1
+        int absolute = buffer.position() + index;
+        return absolute < buffer.limit() ? buffer.get(absolute) & 0xFF : -1;
+    }
+
+    @Override
+    public int read(char[] cbuf, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (pending.hasRemaining()) {
+            int count = Math.min(len, pending.remaining());
+            pending.get(cbuf, off, count);
+            return count;
+        }
+        if (len == 1) {
+            pending.clear();
+            int count = decode(pending);
+            pending.flip();
+            if (count < 0) {
+                return -1;
+            }
+            cbuf[off] = pending.get();
+            return 1;
+        }
+        return decode(CharBuffer.wrap(cbuf, off, len));
+    }
+
+    private int decode(CharBuffer out) throws IOException {   //decodes at least one char into out, which has room for two; -1 at end of input
+        if (finished) {
+            return -1;
+        }
+        int start = out.position();
+        while (out.position() == start) {
+            boolean endOfInput = windowStart + window.limit() >= fileSize;
+            CoderResult result = decoder.decode(window, out, endOfInput);
+            if (result.isUnderflow()) {
+                if (endOfInput) {
+                    decoder.flush(out);
+                    finished = true;
+                    break;
+                }
+                // Window used up (possibly mid-character) - map the next one from here
+                mapWindow(windowStart + window.position());
+            } else if (result.isOverflow()) {
+                break;   // out is full
+            } else if (result.isError()) {
+                result.throwException();
+            }
+        }
+
+        int count = out.position() - start;
+        return count == 0 && finished ? -1 : count;
+    }
+
+    @Override
+    public void close() throws IOException {
+        // The mapping itself is released when the buffer is garbage collected
+        window = null;
+        channel.close();
+    }
+
+    private void mapWindow(long start) throws IOException {   //maps the next window of the file, starting at the given offset
+        long size = Math.min(WINDOW_SIZE, fileSize - start);
+        window = channel.map(FileChannel.MapMode.READ_ONLY, start, size);
+        windowStart = start;
+    }
+}
@@ -32,13 +32,20 @@ import edu.curtin.game.GridAreaIcon;
  * - Proper build system integration
  */
 public class MazeGameApp extends Application {
+    private static final int MAX_REFRESH_CELLS = 1 << 16;   // Changed regions larger than this rebuild every icon
+    
     // Core game state and API
     private GameState gameState;           // Manages player position, grid contents, visibility
     private GameAPIImpl gameAPI;          // Provides interface for plugins/scripts
     
     // GUI components
     private GridArea gridArea;            // Displays the 2D game grid
+    private GridAreaIcon playerIcon;      // Moved rather than replaced
+    private GridAreaIcon goalIcon;        // Shown once the goal has been seen
+    private final Map<Long, GridAreaIcon> cellIcons = new HashMap<>();   // Item and obstacle icons by packed cell; hidden ones are reused
+    private long shownVersion = -1;       // GameState version the icons show; -1 before the first full rebuild
     private TextArea statusArea;         // Shows game status and inventory
+    private String inventoryText;        // Inventory as shown in statusArea; null until rebuilt after a change
     private Label statusLabel;           // Current game status text
     private Label dateLabel;             // Displays localized current date
     private TextField localeField;       // Input field for locale changes
@@ -51,6 +58,10 @@ public class MazeGameApp extends Application {
     private List<Plugin> loadedPlugins; // List of successfully loaded plugins
     private Map<String, Button> pluginButtons; // Buttons for plugin menu options
     
+    // Dev mode (--watch): reload the map when it is saved
+    private GameConfig loadedConfig;    // Config the current grid contents came from
+    private MapWatcher mapWatcher;      // Watches the input file, or null if not in dev mode
+    
     // Movement controls (stored as instance variables for game over handling)
     private Button upBtn;
     private Button downBtn;
@@ -61,11 +72,17 @@ public class MazeGameApp extends Application {
      * Main entry point for the application.
      * Validates command-line arguments and launches the JavaFX application.
      * 
-     * @param args Command-line arguments - expects exactly one input file path
+     * @param args Command-line arguments - expects an input file path, optionally
+     *             followed by --watch to reload the map whenever it is saved
+     *             and/or --off-heap to keep the grid outside the Java heap
      */
     public static void main(String[] args) {
-        if (args.length != 1) {
-            System.err.println("Usage: java MazeGameApp <input_file>");
+        boolean valid = args.length >= 1 && args.length <= 3;
+        for (int i = 1; i < args.length; i++) {
+            valid &= "--watch".equals(args[i]) || "--off-heap".equals(args[i]);
+        }
+        if (!valid) {
+            System.err.println("Usage: java MazeGameApp <input_file> [--watch] [--off-heap]");
             System.exit(1);
         }
         launch(args);
@@ -85,6 +102,8 @@ public class MazeGameApp extends Application {
         
         // Parse command line arguments
         String inputFile = getParameters().getRaw().get(0);
+        boolean watch = getParameters().getRaw().contains("--watch");
+        boolean offHeap = getParameters().getRaw().contains("--off-heap");   // Keeps the grid out of the heap on huge maps
         
         try {
             // Parse input file and initialize game state
@@ -93,25 +112,43 @@ public class MazeGameApp extends Application {
             if (!new java.io.File(inputFile).exists()) {
                 inputFile = "../" + inputFile;
             }
-            GameConfig config = parser.parseFile(inputFile);
-            
-            gameState = new GameState(
-                config.getGridWidth(), config.getGridHeight(),
-                config.getStartX(), config.getStartY(),
-                config.getGoalX(), config.getGoalY()
-            );
+            // Reuse the compiled .mapc next to the map if it is up to date.
+            // The map goes straight into the game state, except in dev mode,
+            // which keeps the GameConfig to diff against on reload.
+            MapCache cache = new MapCache(parser);
+            GameStateSink sink;
+            if (watch) {
+                loadedConfig = cache.load(inputFile);
+                sink = new GameStateSink(loadedConfig.getSymbols());   // The game state uses the config's ids
+                if (offHeap) {
+                    sink.setStorageFactory(OffHeapGridStorage::new);
+                }
+                loadedConfig.sendTo(sink);
+            } else {
+                sink = new GameStateSink();
+                if (offHeap) {
+                    sink.setStorageFactory(OffHeapGridStorage::new);
+                }
+                cache.load(inputFile, sink);
+            }
+            gameState = sink.getGameState();
+            gameState.getInventory().addListener((itemId, oldCount, newCount) -> inventoryText = null);
             
             // Initialize API and load plugins
             gameAPI = new GameAPIImpl(gameState);
             loadedPlugins = new ArrayList<>();
             pluginButtons = new HashMap<>();
             
-            // Load plugins and scripts from config
-            loadPlugins(config);
-            loadScripts(config);
+            // Load plugins and scripts from the map
+            loadPlugins(sink.getPlugins());
+            loadScripts(sink.getScripts());
             
-            // Set up items and obstacles from config
-            setupGameFromConfig(config);
+            pickUpStartingItem();
+            
+            if (watch) {
+                mapWatcher = new MapWatcher(java.nio.file.Path.of(inputFile), this::reloadMap);
+                System.out.println("Watching " + inputFile + " for changes");
+            }
             
         } catch (Exception e) {
             System.err.println("Error initializing game: " + e.getMessage());
@@ -137,6 +174,7 @@ public class MazeGameApp extends Application {
             // Fallback to default messages
             messages = ResourceBundle.getBundle("Messages", Locale.ENGLISH);
         }
+        inventoryText = null;   // Its title is in the old language
     }
     
     /**
@@ -322,14 +360,14 @@ public class MazeGameApp extends Application {
             gameAPI.advanceDate();
             
             // Check for items
-            if ("item".equals(gameState.getGridContents(newX, newY))) {
-                String itemName = gameState.getItemName(newX, newY);   //gets the item name
-                gameState.addItem(itemName);
-                gameState.setGridContents(newX, newY, "empty");   //sets the grid contents to empty
-                gameState.setItemName(newX, newY, null);
+            if (gameState.getCellType(newX, newY) == CellWord.ITEM) {
+                int itemId = gameState.getItemId(newX, newY);   //gets the item id
+                String itemName = gameState.getSymbols().name(itemId);
+                gameState.addItem(itemId);
+                gameState.setCellType(newX, newY, CellWord.EMPTY);   //empties the cell, which also clears its item id
                 
                 statusArea.appendText(messages.getString("item.acquired") + ": " + itemName + "\n");
-                gameAPI.notifyItemAcquired(itemName, gameState.getInventory().get(itemName));   //notifies the game API that the player has acquired an item
+                gameAPI.notifyItemAcquired(itemName, gameState.getItemCount(itemId));   //notifies the game API that the player has acquired an item
             }
             
             // Notify plugins of move
@@ -350,7 +388,7 @@ public class MazeGameApp extends Application {
             updateDisplay();
         } else {
             // Check if it's an obstacle
-            if ("obstacle".equals(gameState.getGridContents(newX, newY))) {
+            if (gameState.getCellType(newX, newY) == CellWord.OBSTACLE) {
                 List<String> requirements = gameState.getObstacleRequirements(newX, newY);
                 if (requirements != null) {
                     statusArea.appendText(messages.getString("obstacle.blocked") + ": ");
@@ -361,89 +399,106 @@ public class MazeGameApp extends Application {
     }
     
     private boolean canMoveTo(int x, int y) {   //checks if the player can move to the given x and y coordinates
-        String contents = gameState.getGridContents(x, y);
-        
-        if ("empty".equals(contents) || "goal".equals(contents)) {
-            return true;
+        if (gameState.getCellType(x, y) == CellWord.OBSTACLE) {
+            return gameState.meetsRequirements(x, y);   //one bitset test against the held items, no allocation
         }
+        return true;   // Empty, item and goal cells can always be entered
+    }
+    
+    private void updateDisplay() {   //updates the display
+        System.out.println("Updating display - Player at (" + gameState.getPlayerX() + "," + gameState.getPlayerY() + ")");
+        System.out.println("Grid dimensions: " + gameState.getGridWidth() + "x" + gameState.getGridHeight());
         
-        if ("item".equals(contents)) {
-            return true;
+        // Redraw only the cells changed since the last update, unless the
+        // change log no longer reaches back that far or a change is too big
+        boolean[] tooBig = {false};
+        boolean complete = gameState.drainDirty(shownVersion, (x, y, width, height) -> {
+            if ((long) width * height > MAX_REFRESH_CELLS) {
+                tooBig[0] = true;
+            } else if (!tooBig[0]) {
+                refreshRegion(x, y, width, height);
+            }
+        });
+        if (!complete || tooBig[0]) {
+            rebuildIcons();
         }
+        shownVersion = gameState.getVersion();
+        playerIcon.setPosition(gameState.getPlayerX(), gameState.getPlayerY());
+        goalIcon.setShown(gameState.isVisible(gameState.getGoalX(), gameState.getGoalY()));
         
-        if ("obstacle".equals(contents)) {
-            List<String> requirements = gameState.getObstacleRequirements(x, y);
-            if (requirements != null) {
-                for (String requirement : requirements) {
-                    if (gameState.getInventory().getOrDefault(requirement, 0) == 0) {
-                        return false;
-                    }
-                }
-            }
-            return true;
+        // Update status
+        statusLabel.setText(messages.getString("status.ready"));
+        dateLabel.setText(messages.getString("date.current") + ": " + gameAPI.getCurrentDate());
+        
+        // Update inventory display, which only has to be rebuilt after the inventory changes
+        if (inventoryText == null) {
+            StringBuilder text = new StringBuilder(messages.getString("inventory.title")).append(":\n");
+            gameState.getInventory().forEach((itemId, count) -> text.append("  ")
+                .append(gameState.getSymbols().name(itemId)).append(": ").append(count).append('\n'));
+            inventoryText = text.toString();
         }
+        statusArea.setText(inventoryText);
         
-        return false;
+        gridArea.requestLayout();
     }
     
-    private void updateDisplay() {   //updates the display
-        System.out.println("Updating display - Player at (" + gameState.getPlayerX() + "," + gameState.getPlayerY() + ")");
-        System.out.println("Grid dimensions: " + gameState.getGridWidth() + "x" + gameState.getGridHeight());
-        
-        // Clear existing icons
+    private void rebuildIcons() {   //replaces every icon, from the whole grid
         gridArea.getIcons().clear();
+        cellIcons.clear();
         
         // Add player icon (using text display for now)
-        gridArea.getIcons().add(new GridAreaIcon(
+        playerIcon = new GridAreaIcon(
             gameState.getPlayerX(), gameState.getPlayerY(), 0.0, 1.0,
             (java.io.InputStream) null,
             "P" // Player symbol
-        ));
+        );
+        gridArea.getIcons().add(playerIcon);
         
         // Add goal icon
-        if (gameState.isVisible(gameState.getGoalX(), gameState.getGoalY())) {
-            gridArea.getIcons().add(new GridAreaIcon(
-                gameState.getGoalX(), gameState.getGoalY(), 0.0, 1.0,
-                (java.io.InputStream) null,
-                "G" // Goal symbol
-            ));
-        }
+        goalIcon = new GridAreaIcon(
+            gameState.getGoalX(), gameState.getGoalY(), 0.0, 1.0,
+            (java.io.InputStream) null,
+            "G" // Goal symbol
+        );
+        gridArea.getIcons().add(goalIcon);
         
-        // Add visible items and obstacles
-        for (int y = 0; y < gameState.getGridHeight(); y++) {
-            for (int x = 0; x < gameState.getGridWidth(); x++) {
-                if (gameState.isVisible(x, y)) {
-                    String contents = gameState.getGridContents(x, y);
-                    if ("item".equals(contents)) {
-                        String itemName = gameState.getItemName(x, y);
-                        gridArea.getIcons().add(new GridAreaIcon(
-                            x, y, 0.0, 0.8,
-                            (java.io.InputStream) null,
-                            "I" // Item symbol
-                        ));
-                    } else if ("obstacle".equals(contents)) {
-                        gridArea.getIcons().add(new GridAreaIcon(
-                            x, y, 0.0, 0.8,
-                            (java.io.InputStream) null,
-                            "X" // Obstacle symbol
-                        ));
-                    }
-                }
+        // Add visible items and obstacles. Only stored cells are visited, so
+        // this stays quick on a huge, mostly empty grid
+        gameState.forEachNonEmptyCell((x, y, cell) -> refreshCell(x, y));
+    }
+    
+    private void refreshRegion(int x, int y, int width, int height) {   //brings the icons of a changed region up to date
+        for (int row = y; row < y + height; row++) {
+            for (int column = x; column < x + width; column++) {
+                refreshCell(column, row);
             }
         }
-        
-        // Update status
-        statusLabel.setText(messages.getString("status.ready"));
-        dateLabel.setText(messages.getString("date.current") + ": " + gameAPI.getCurrentDate());
-        
-        // Update inventory display
-        statusArea.clear();
-        statusArea.appendText(messages.getString("inventory.title") + ":\n");
-        for (Map.Entry<String, Integer> entry : gameState.getInventory().entrySet()) {
-            statusArea.appendText("  " + entry.getKey() + ": " + entry.getValue() + "\n");
+    }
+    
+    private void refreshCell(int x, int y) {   //shows, changes or hides the icon of one cell
+        int type = gameState.getCellType(x, y);
+        String caption = null;
+        if (gameState.isVisible(x, y)) {
+            if (type == CellWord.ITEM) {
+                caption = "I"; // Item symbol
+            } else if (type == CellWord.OBSTACLE) {
+                caption = "X"; // Obstacle symbol
+            }
+        }
+        Long key = CoordinateList.pack(x, y);
+        GridAreaIcon icon = cellIcons.get(key);
+        if (caption == null) {
+            if (icon != null) {
+                icon.setShown(false);
+            }
+        } else if (icon == null) {
+            icon = new GridAreaIcon(x, y, 0.0, 0.8, (java.io.InputStream) null, caption);
+            cellIcons.put(key, icon);
+            gridArea.getIcons().add(icon);
+        } else {
+            icon.setCaption(caption);
+            icon.setShown(true);
         }
-        
-        gridArea.requestLayout();
     }
     
     private void changeLocale() {   //changes the locale
@@ -460,9 +515,9 @@ public class MazeGameApp extends Application {
         }
     }
     
-    private void loadPlugins(GameConfig config) {   //loads the plugins
+    private void loadPlugins(List<String> pluginClasses) {   //loads the plugins
         PluginManager pluginManager = new PluginManager(gameAPI);
-        loadedPlugins = pluginManager.loadPlugins(config.getPlugins());
+        loadedPlugins = pluginManager.loadPlugins(pluginClasses);
         
         // Add plugin buttons to UI
         for (Plugin plugin : loadedPlugins) {
@@ -474,44 +529,80 @@ public class MazeGameApp extends Application {
         }
     }
     
-    private void loadScripts(GameConfig config) {   //loads the scripts
+    private void loadScripts(List<String> scriptSources) {   //loads the scripts
         ScriptManager scriptManager = new ScriptManager(gameAPI);
         Map<String, String> scripts = new HashMap<>();
-        for (int i = 0; i < config.getScripts().size(); i++) {
-            scripts.put("Script" + i, config.getScripts().get(i));
+        for (int i = 0; i < scriptSources.size(); i++) {
+            scripts.put("Script" + i, scriptSources.get(i));
         }
         scriptManager.executeScripts(scripts);
     }
     
-    private void setupGameFromConfig(GameConfig config) {   //sets up the game from the config
-        // Set up items
-        System.out.println("Loading " + config.getItems().size() + " items...");
-        for (GameConfig.Item item : config.getItems()) {
-            System.out.println("Item: " + item.getName() + " at " + item.getLocations().size() + " locations");
-            for (int[] location : item.getLocations()) {
-                gameState.setGridContents(location[0], location[1], "item");
-                gameState.setItemName(location[0], location[1], item.getName());
-                System.out.println("  Placed at (" + location[0] + "," + location[1] + ")");
+    /**
+     * Dev mode: re-parses the map after it has been saved and applies only the
+     * changed cells to the running game. Called on the watcher thread; the
+     * game state and display are updated on the JavaFX thread. A save with
+     * errors (say, half-way through an edit) is reported and not applied, so
+     * the declarations it mangles are not taken out of the game and later
+     * put back.
+     */
+    private void reloadMap(java.nio.file.Path file) {   //reloads the map after an edit
+        long start = System.nanoTime();
+        GameConfig config;
+        MapDiff diff;
+        try {
+            List<Diagnostic> diagnostics = new ArrayList<>();
+            config = new GameConfigParser(GameConfigParser.Backend.PARALLEL).parseFile(file.toString(), diagnostics::add);
+            boolean errors = false;
+            for (Diagnostic diagnostic : diagnostics) {
+                System.out.println(diagnostic);
+                errors |= diagnostic.isError();
             }
-        }
-        
-        // Set up obstacles
-        for (GameConfig.Obstacle obstacle : config.getObstacles()) {
-            for (int[] location : obstacle.getLocations()) {
-                gameState.setGridContents(location[0], location[1], "obstacle");
-                gameState.setObstacleRequirements(location[0], location[1], obstacle.getRequirements());
+            if (errors) {
+                System.out.println("Not reloading " + file.getFileName() + " until its errors are fixed");
+                return;
             }
+            diff = MapDiff.between(loadedConfig, config);
+        } catch (java.io.IOException e) {
+            System.out.println("Could not reload " + file + ": " + e.getMessage());
+            return;
+        } catch (RuntimeException e) {   // NOPMD - one bad reload must not end the watcher thread
+            System.err.println("Could not reload " + file + ": " + e);
+            return;
         }
-        
+        loadedConfig = config;
+        if (diff.needsRestart()) {
+            System.out.println("Grid size, start or goal changed - restart to apply");
+        }
+        if (!diff.isEmpty()) {
+            Platform.runLater(() -> {
+                diff.applyTo(gameState);
+                updateDisplay();
+                System.out.printf("Reloaded %s: %d cells changed in %.1f ms%n",
+                    file.getFileName(), diff.size(), (System.nanoTime() - start) / 1e6);
+            });
+        }
+    }
+    
+    @Override
+    public void stop() throws Exception {   //stops watching the map and frees the grid when the window closes
+        if (mapWatcher != null) {
+            mapWatcher.close();
+        }
+        if (gameState != null) {
+            gameState.close();
+        }
+    }
+    
+    private void pickUpStartingItem() {   //picks up an item the player starts on
         // Check if player starts on an item and pick it up automatically
         int playerX = gameState.getPlayerX();
         int playerY = gameState.getPlayerY();
-        if ("item".equals(gameState.getGridContents(playerX, playerY))) {
+        if (gameState.getCellType(playerX, playerY) == CellWord.ITEM) {
             String itemName = gameState.getItemName(playerX, playerY);
             if (itemName != null) {
                 gameState.addItem(itemName);
-                gameState.setGridContents(playerX, playerY, "empty");
-                gameState.setItemName(playerX, playerY, null);
+                gameState.setCellType(playerX, playerY, CellWord.EMPTY);
                 System.out.println("Player automatically picked up starting item: " + itemName);
             }
         }
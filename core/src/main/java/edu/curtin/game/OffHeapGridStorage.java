@@ -0,0 +1,210 @@
+package edu.curtin.game;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * GridStorage that keeps every cell word outside the Java heap, at index
+ * y * width + x.
+ *
+ * The words are held in direct ByteBuffers, or in a memory-mapped scratch
+ * file for grids bigger than RAM, split into segments of up to 2^28 cells
+ * (1 GB) because a single buffer is limited to 2 GB. The grid takes no
+ * heap, so the heap can be sized for the game's objects alone, and a grid
+ * can be larger than the heap or, mapped, larger than RAM. Every access
+ * goes through a buffer rather than an array, which costs about a third of
+ * the move rate. An int[] on the heap is not scanned by the collector
+ * either, so this does not by itself shorten GC pauses; measure with
+ * GridStorageGcBenchmark.
+ *
+ * Direct buffers count against -XX:MaxDirectMemorySize, which defaults to
+ * the maximum heap size. Pages of a mapped file are read in and written
+ * back by the operating system as needed.
+ *
+ * The memory is held until close() is called, which frees it at once and
+ * deletes the scratch file; the storage cannot be used afterwards. If close()
+ * is never called, the memory is only returned once the buffers are
+ * garbage collected.
+ */
+public class OffHeapGridStorage implements GridStorage {
+    private static final int SEGMENT_SHIFT = 28;                      // 2^28 cells (1 GB) per segment
+    private static final long SEGMENT_CELLS = 1L << SEGMENT_SHIFT;
+    private static final int SEGMENT_MASK = (int) SEGMENT_CELLS - 1;
+
+    private static final Object UNSAFE;              // sun.misc.Unsafe, or null if it is not available
+    private static final Method INVOKE_CLEANER;      // Unsafe.invokeCleaner(ByteBuffer), frees a buffer at once
+
+    static {
+        Object unsafe;
+        Method invokeCleaner;
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field instance = unsafeClass.getDeclaredField("theUnsafe");
+            instance.setAccessible(true);
+            unsafe = instance.get(null);
+            invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+        } catch (ReflectiveOperationException | SecurityException e) {
+            unsafe = null;                               // Buffers are freed by the garbage collector instead
+            invokeCleaner = null;
+        }
+        UNSAFE = unsafe;
+        INVOKE_CLEANER = invokeCleaner;
+    }
+
+    private final int width;
+    private final long cellCount;
+    private final Path file;                 // Scratch file the segments are mapped from, or null
+    private FileChannel channel;             // Open on the scratch file, or null
+    private ByteBuffer[] buffers;            // Segments as allocated or mapped; null once closed
+    private IntBuffer[] segments;            // The same segments, addressed by cell
+
+    /**
+     * Creates storage in direct buffers, with every cell empty.
+     *
+     * @param width Grid width
+     * @param height Grid height
+     * @throws OutOfMemoryError if there is not enough direct memory for the grid
+     */
+    public OffHeapGridStorage(int width, int height) {
+        this.width = width;
+        this.cellCount = (long) width * height;
+        this.file = null;
+        this.buffers = new ByteBuffer[segmentCount(cellCount)];
+        this.segments = new IntBuffer[buffers.length];
+        for (int segment = 0; segment < buffers.length; segment++) {
+            buffers[segment] = ByteBuffer.allocateDirect(4 * segmentCells(segment));   // Zero-filled
+            segments[segment] = buffers[segment].order(ByteOrder.nativeOrder()).asIntBuffer();
+        }
+    }
+
+    /**
+     * Creates storage mapped from a scratch file, with every cell empty. The
+     * file is replaced if it exists, grows to 4 bytes per cell (sparsely,
+     * where the file system allows), and is deleted by close().
+     *
+     * @param width Grid width
+     * @param height Grid height
+     * @param file Scratch file to map the grid from
+     * @throws IOException if the file cannot be created or mapped
+     */
+    public OffHeapGridStorage(int width, int height, Path file) throws IOException {
+        this.width = width;
+        this.cellCount = (long) width * height;
+        this.file = file;
+        this.buffers = new ByteBuffer[segmentCount(cellCount)];
+        this.segments = new IntBuffer[buffers.length];
+        FileChannel opened = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,   // NOPMD - closed by close()
+                                              StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            for (int segment = 0; segment < buffers.length; segment++) {
+                // Mapping past the end of the file extends it with zeros
+                buffers[segment] = opened.map(FileChannel.MapMode.READ_WRITE, 4 * (segment * SEGMENT_CELLS),
+                                              4L * segmentCells(segment));
+                segments[segment] = buffers[segment].order(ByteOrder.nativeOrder()).asIntBuffer();
+            }
+        } catch (IOException e) {
+            opened.close();
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        this.channel = opened;
+    }
+
+    @Override
+    public int get(int x, int y) {
+        long index = (long) y * width + x;
+        return segment(index).get((int) index & SEGMENT_MASK);
+    }
+
+    @Override
+    public void set(int x, int y, int word) {
+        long index = (long) y * width + x;
+        segment(index).put((int) index & SEGMENT_MASK, word);
+    }
+
+    @Override
+    public void forEachNonEmpty(CellVisitor visitor) {
+        for (int segment = 0; segment < segmentCount(cellCount); segment++) {
+            long base = segment * SEGMENT_CELLS;
+            IntBuffer words = segment(base);
+            int limit = words.limit();
+            for (int offset = 0; offset < limit; offset++) {
+                int word = words.get(offset);
+                if (word != 0) {
+                    long index = base + offset;
+                    visitor.visit((int) (index % width), (int) (index / width), word);
+                }
+            }
+        }
+    }
+
+    @Override
+    public long getAllocatedBytes() { return buffers == null ? 0 : 4 * cellCount; }   //size of the buffers, outside the heap
+
+    public boolean isFileBacked() { return file != null; }   //whether the grid is mapped from a scratch file
+
+    /**
+     * Frees the buffers and, for a mapped grid, closes and deletes the
+     * scratch file. Calling it again does nothing.
+     *
+     * @throws UncheckedIOException if the scratch file cannot be closed or deleted
+     */
+    @Override
+    public void close() {
+        if (buffers == null) {
+            return;
+        }
+        ByteBuffer[] released = buffers;
+        buffers = null;
+        segments = null;
+        for (ByteBuffer buffer : released) {
+            free(buffer);
+        }
+        if (channel != null) {
+            try {
+                channel.close();
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                throw new UncheckedIOException("could not remove grid file " + file, e);
+            } finally {
+                channel = null;
+            }
+        }
+    }
+
+    private IntBuffer segment(long index) {   //segment holding a cell index
+        if (segments == null) {
+            throw new IllegalStateException("grid storage has been closed");
+        }
+        return segments[(int) (index >>> SEGMENT_SHIFT)];
+    }
+
+    private int segmentCells(int segment) {   //cells in one segment; only the last may be short
+        return (int) Math.min(SEGMENT_CELLS, cellCount - segment * SEGMENT_CELLS);
+    }
+
+    private static int segmentCount(long cells) {   //segments needed for a number of cells
+        return (int) ((cells + SEGMENT_CELLS - 1) >>> SEGMENT_SHIFT);
+    }
+
+    private static boolean free(ByteBuffer buffer) {   //releases a direct or mapped buffer now; false if left to the garbage collector
+        if (INVOKE_CLEANER == null) {
+            return false;
+        }
+        try {
+            INVOKE_CLEANER.invoke(UNSAFE, buffer);
+            return true;
+        } catch (ReflectiveOperationException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,320 @@
+package edu.curtin.game;
+
+import java.io.CharArrayReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Consumer;
+
+/**
+ * Parses the game configuration DSL in two phases, using a ForkJoinPool.
+ *
+ * 1. A boundary scan walks the text once, following the same token rules as
+ *    MapTokenizer (so keywords inside strings, scripts and comments are
+ *    ignored), and cuts it into spans of roughly SPAN_SIZE characters. Each
+ *    span starts at a declaration keyword, so it holds whole declarations.
+ * 2. The spans are parsed concurrently by a RecursiveTask, each into its own
+ *    GameConfig.Builder. Partial results are merged with Builder.addAll in
+ *    the original declaration order, so the final GameConfig (and the order
+ *    of any error messages) is the same as a sequential parse.
+ *
+ * The text is held in memory as a char[] while parsing, since the spans need
+ * random access to it.
+ */
+public class ParallelConfigParser {
+    /** Approximate number of characters parsed by one task. */
+    private static final int SPAN_SIZE = 1 << 16;
+
+    private final ForkJoinPool pool;                // Pool the span tasks run on
+    private final GameConfigParser spanParser;      // Stateless, shared by all tasks
+
+    /**
+     * Creates a parser that runs on the common ForkJoinPool.
+     */
+    public ParallelConfigParser() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a parser that runs on the given pool.
+     *
+     * @param pool The pool to parse on
+     */
+    public ParallelConfigParser(ForkJoinPool pool) {
+        this.pool = pool;
+        this.spanParser = new GameConfigParser();
+    }
+
+    /**
+     * Parses DSL text from a Reader.
+     *
+     * @param reader Source of the DSL text (not closed by this method)
+     * @return GameConfig object with all parsed data
+     * @throws IOException if the reader fails
+     */
+    public GameConfig parse(Reader reader) throws IOException {
+        return parse(reader, Path.of(""));
+    }
+
+    /**
+     * Parses DSL text from a Reader, resolving include paths against a directory.
+     *
+     * @param reader Source of the DSL text (not closed by this method)
+     * @param directory Directory that include paths are relative to
+     * @return GameConfig object with all parsed data
+     * @throws IOException if the reader fails
+     */
+    public GameConfig parse(Reader reader, Path directory) throws IOException {
+        return parse(reader, directory, System.out::println);
+    }
+
+    /**
+     * Parses DSL text from a Reader, passing each problem to a consumer, in
+     * file order, instead of printing it.
+     *
+     * @param reader Source of the DSL text (not closed by this method)
+     * @param directory Directory that include paths are relative to
+     * @param errors Receives a diagnostic for each malformed declaration or location
+     * @return GameConfig object with all parsed data
+     * @throws IOException if the reader fails
+     */
+    public GameConfig parse(Reader reader, Path directory, Consumer<Diagnostic> errors) throws IOException {
+        char[] text = readAll(reader);
+        List<Span> spans = new BoundaryScanner(text).scan();
+
+        Partial result = pool.invoke(new SpanTask(text, spans, 0, spans.size(), new SymbolTable(), directory));
+        if (result.failure != null) {
+            throw result.failure;
+        }
+        for (Diagnostic error : result.errors) {
+            errors.accept(error);
+        }
+        return result.config.build();
+    }
+
+    private static char[] readAll(Reader reader) throws IOException {   //reads the whole input into an exactly-sized array
+        char[] text = new char[SPAN_SIZE];
+        int length = 0;
+        int n;
+        while ((n = reader.read(text, length, text.length - length)) != -1) {
+            length += n;
+            if (length == text.length) {
+                text = Arrays.copyOf(text, text.length * 2);
+            }
+        }
+        return Arrays.copyOf(text, length);
+    }
+
+    /**
+     * A run of whole declarations: text from start up to the next span's start.
+     */
+    private static class Span {
+        private final int start;    // Offset of the first character
+        private final int line;     // Line of the first character
+        private final int column;   // Column of the first character
+
+        private Span(int start, int line, int column) {
+            this.start = start;
+            this.line = line;
+            this.column = column;
+        }
+    }
+
+    /**
+     * Result of parsing one or more spans.
+     */
+    private static class Partial {
+        private final GameConfig.Builder config;                     // Shares the parse's symbol table
+        private final List<Diagnostic> errors = new ArrayList<>();   // Malformed declarations and locations
+        private IOException failure;                                 // Set if reading a span failed
+
+        private Partial(SymbolTable symbols) {
+            this.config = new GameConfig.Builder(symbols);
+        }
+
+        private Partial merge(Partial later) {   //appends the results of the spans after this one
+            config.addAll(later.config);
+            errors.addAll(later.errors);
+            if (failure == null) {
+                failure = later.failure;
+            }
+            return this;
+        }
+    }
+
+    /**
+     * Parses spans [from, to), splitting the range in half until one span is left.
+     */
+    private class SpanTask extends RecursiveTask<Partial> {
+        private static final long serialVersionUID = 1L;
+
+        private final char[] text;
+        private final List<Span> spans;
+        private final int from;
+        private final int to;
+        private final SymbolTable symbols;   // Shared by every span, so the partial configs' ids agree
+        private final Path directory;        // Include paths are relative to this
+
+        private SpanTask(char[] text, List<Span> spans, int from, int to, SymbolTable symbols, Path directory) {
+            this.text = text;
+            this.spans = spans;
+            this.from = from;
+            this.to = to;
+            this.symbols = symbols;
+            this.directory = directory;
+        }
+
+        @Override
+        protected Partial compute() {
+            if (to - from > 1) {
+                int middle = (from + to) >>> 1;
+                SpanTask left = new SpanTask(text, spans, from, middle, symbols, directory);
+                left.fork();
+                Partial right = new SpanTask(text, spans, middle, to, symbols, directory).compute();
+                return left.join().merge(right);
+            }
+
+            Partial partial = new Partial(symbols);
+            Span span = spans.get(from);
+            int end = to < spans.size() ? spans.get(to).start : text.length;
+            MapTokenizer tokens = new MapTokenizer(
+                new CharArrayReader(text, span.start, end - span.start), span.line, span.column);
+            try {
+                spanParser.parseDeclarations(tokens, partial.config, partial.errors::add, directory);
+            } catch (IOException e) {
+                partial.failure = e;
+            }
+            return partial;
+        }
+    }
+
+    /**
+     * Single pass over the text that finds where to cut it into spans.
+     *
+     * Tokens are recognised exactly as MapTokenizer does, so only a keyword
+     * that the tokenizer would return as a WORD can start a span. The word
+     * straight after 'plugin' is the class name, not a declaration, even if it
+     * happens to be a keyword.
+     */
+    private static class BoundaryScanner {
+        private final char[] text;
+        private int pos;            // Next character to scan
+        private int line = 1;       // Line of pos
+        private int lineStart;      // Offset of the first character of the line
+
+        private BoundaryScanner(char[] text) {
+            this.text = text;
+        }
+
+        private List<Span> scan() {
+            List<Span> spans = new ArrayList<>();
+            spans.add(new Span(0, 1, 1));
+            int nextCut = SPAN_SIZE;
+            boolean pluginName = false;   // True if the next token is a plugin class name
+
+            while (pos < text.length) {
+                char c = text[pos];
+                if (c == '\n') {
+                    newLine();
+                } else if (c == ' ' || c == '\t' || c == '\r' || c == '\uFEFF') {
+                    pos++;
+                } else if (c == '/' && charAt(pos + 1) == '/') {
+                    while (pos < text.length && text[pos] != '\n') {
+                        pos++;
+                    }
+                } else if (Character.isLetter(c) || c == '_') {
+                    int start = pos;
+                    skipWord();
+                    if (!pluginName && isDeclarationKeyword(start, pos)) {
+                        if (start >= nextCut) {
+                            spans.add(new Span(start, line, start - lineStart + 1));
+                            nextCut = start + SPAN_SIZE;
+                        }
+                        pluginName = matches(start, pos, "plugin");
+                        continue;
+                    }
+                    pluginName = false;
+                } else {
+                    skipOtherToken(c);
+                    pluginName = false;
+                }
+            }
+            return spans;
+        }
+
+        private void skipOtherToken(char c) {   //skips a number, string, script or symbol
+            if (c >= '0' && c <= '9') {
+                while (pos < text.length && text[pos] >= '0' && text[pos] <= '9') {
+                    pos++;
+                }
+            } else if (c == '"') {
+                pos++;
+                while (pos < text.length && text[pos] != '"') {
+                    if (text[pos] == '\\') {
+                        pos++;
+                    }
+                    skipChar();
+                }
+                pos++;
+            } else if (c == '!' && charAt(pos + 1) == '{') {
+                pos += 2;
+                while (pos < text.length && text[pos] != '}') {
+                    skipChar();
+                }
+                pos++;
+            } else {
+                pos++;
+            }
+        }
+
+        private void skipWord() {   //skips a keyword or dotted class name
+            while (pos < text.length && (Character.isLetterOrDigit(text[pos]) || text[pos] == '_' || text[pos] == '.')) {
+                pos++;
+            }
+        }
+
+        private void skipChar() {   //skips one character, keeping track of lines
+            if (pos < text.length && text[pos] == '\n') {
+                newLine();
+            } else {
+                pos++;
+            }
+        }
+
+        private void newLine() {
+            pos++;
+            line++;
+            lineStart = pos;
+        }
+
+        private int charAt(int index) {   //character at index, or -1 past the end
+            return index < text.length ? text[index] : -1;
+        }
+
+        private boolean isDeclarationKeyword(int start, int end) {   //whether text[start, end) is a declaration keyword
+            for (String keyword : GameConfigParser.DECLARATION_KEYWORDS) {
+                if (matches(start, end, keyword)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean matches(int start, int end, String word) {   //whether text[start, end) is the given word
+            if (end - start != word.length()) {
+                return false;
+            }
+            for (int i = 0; i < word.length(); i++) {
+                if (text[start + i] != word.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
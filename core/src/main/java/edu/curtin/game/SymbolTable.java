@@ -0,0 +1,113 @@
+package edu.curtin.game;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maps each distinct item name to a small int id.
+ *
+ * Item names recur throughout a map: once per item, again in the requirements
+ * of every obstacle, and once per cell in the game state. GameConfig and
+ * GameState store ids from a SymbolTable instead, so each name is held once,
+ * and comparing two names is an int compare. Names are translated back to
+ * Strings at the GameAPI boundary.
+ *
+ * Ids start at 1 and are never reused; NONE (0) means "no item", so a fresh
+ * int array reads as empty. A table is safe to share between threads, so the
+ * spans of a parallel parse can intern into one table.
+ */
+public class SymbolTable {
+    /** Id that stands for no name. */
+    public static final int NONE = 0;
+
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();   // Name -> id
+    private final Object lock = new Object();                            // Guards adding names
+    private volatile String[] names = new String[16];                   // Id -> name; replaced, never shrunk
+    private volatile int size;                                           // Ids handed out so far
+
+    /**
+     * Returns the id for a name, giving it a new id if it has not been seen.
+     *
+     * @param name The name (not null)
+     * @return The id, at least 1
+     */
+    public int intern(String name) {
+        Integer id = ids.get(name);
+        return id != null ? id : add(name);
+    }
+
+    /**
+     * Interns every name in a list.
+     *
+     * @param list The names
+     * @return Their ids, in the same order
+     */
+    public int[] internAll(List<String> list) {
+        int[] result = new int[list.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = intern(list.get(i));
+        }
+        return result;
+    }
+
+    /**
+     * Looks up a name without adding it.
+     *
+     * @param name The name
+     * @return Its id, or NONE if the name has never been interned
+     */
+    public int lookup(String name) {
+        Integer id = name == null ? null : ids.get(name);
+        return id != null ? id : NONE;
+    }
+
+    /**
+     * Translates an id back to its name.
+     *
+     * @param id An id from this table, or NONE
+     * @return The name, or null for NONE
+     */
+    public String name(int id) {
+        return id == NONE ? null : names[id];
+    }
+
+    /**
+     * Translates a list of ids back to names.
+     *
+     * @param list Ids from this table
+     * @return The names, unmodifiable
+     */
+    public List<String> names(int[] list) {
+        String[] current = names;
+        List<String> result = new ArrayList<>(list.length);
+        for (int id : list) {
+            result.add(current[id]);
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    public int size() { return size; }   //number of distinct names
+
+    private int add(String name) {   //assigns the next id, unless another thread just did
+        synchronized (lock) {
+            Integer existing = ids.get(name);
+            if (existing != null) {
+                return existing;
+            }
+            int id = size + 1;
+            String[] current = names;
+            if (id == current.length) {
+                current = Arrays.copyOf(current, current.length * 2);
+            }
+            current[id] = name;
+            names = current;
+            size = id;
+            ids.put(name, id);   // Published after the name, so name(id) sees it
+            return id;
+        }
+    }
+}
@@ -120,6 +120,18 @@ public class GameConfigBaseListener implements GameConfigListener {
 	 * <p>The default implementation does nothing.</p>
 	 */
 	@Override public void exitScriptDeclaration(GameConfigParser.ScriptDeclarationContext ctx) { }
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p>The default implementation does nothing.</p>
+	 */
+	@Override public void enterIncludeDeclaration(GameConfigParser.IncludeDeclarationContext ctx) { }
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p>The default implementation does nothing.</p>
+	 */
+	@Override public void exitIncludeDeclaration(GameConfigParser.IncludeDeclarationContext ctx) { }
 	/**
 	 * {@inheritDoc}
 	 *
@@ -156,6 +168,18 @@ public class GameConfigBaseListener implements GameConfigListener {
 	 * <p>The default implementation does nothing.</p>
 	 */
 	@Override public void exitRequiresDeclaration(GameConfigParser.RequiresDeclarationContext ctx) { }
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p>The default implementation does nothing.</p>
+	 */
+	@Override public void enterOffsetDeclaration(GameConfigParser.OffsetDeclarationContext ctx) { }
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p>The default implementation does nothing.</p>
+	 */
+	@Override public void exitOffsetDeclaration(GameConfigParser.OffsetDeclarationContext ctx) { }
 	/**
 	 * {@inheritDoc}
 	 *
@@ -192,6 +216,18 @@ public class GameConfigBaseListener implements GameConfigListener {
 	 * <p>The default implementation does nothing.</p>
 	 */
 	@Override public void exitStringList(GameConfigParser.StringListContext ctx) { }
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p>The default implementation does nothing.</p>
+	 */
+	@Override public void enterSignedInteger(GameConfigParser.SignedIntegerContext ctx) { }
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p>The default implementation does nothing.</p>
+	 */
+	@Override public void exitSignedInteger(GameConfigParser.SignedIntegerContext ctx) { }
 
 	/**
 	 * {@inheritDoc}
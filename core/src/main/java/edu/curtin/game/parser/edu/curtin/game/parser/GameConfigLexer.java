@@ -19,7 +19,8 @@ public class GameConfigLexer extends Lexer {
 	public static final int
 		T__0=1, T__1=2, T__2=3, T__3=4, T__4=5, T__5=6, T__6=7, T__7=8, T__8=9, 
 		T__9=10, T__10=11, T__11=12, T__12=13, T__13=14, T__14=15, T__15=16, T__16=17, 
-		INTEGER=18, STRING=19, IDENTIFIER=20, SCRIPT_CONTENT=21, WS=22, COMMENT=23;
+		T__17=18, T__18=19, INTEGER=20, STRING=21, IDENTIFIER=22, SCRIPT_CONTENT=23, 
+		WS=24, COMMENT=25;
 	public static String[] channelNames = {
 		"DEFAULT_TOKEN_CHANNEL", "HIDDEN"
 	};
@@ -32,7 +33,8 @@ public class GameConfigLexer extends Lexer {
 		return new String[] {
 			"T__0", "T__1", "T__2", "T__3", "T__4", "T__5", "T__6", "T__7", "T__8", 
 			"T__9", "T__10", "T__11", "T__12", "T__13", "T__14", "T__15", "T__16", 
-			"INTEGER", "STRING", "IDENTIFIER", "SCRIPT_CONTENT", "WS", "COMMENT"
+			"T__17", "T__18", "INTEGER", "STRING", "IDENTIFIER", "SCRIPT_CONTENT", 
+			"WS", "COMMENT"
 		};
 	}
 	public static final String[] ruleNames = makeRuleNames();
@@ -40,16 +42,16 @@ public class GameConfigLexer extends Lexer {
 	private static String[] makeLiteralNames() {
 		return new String[] {
 			null, "'size'", "'('", "','", "')'", "'start'", "'goal'", "'item'", "'{'", 
-			"'}'", "'obstacle'", "'plugin'", "'.'", "'script'", "'!{'", "'at'", "'message'", 
-			"'requires'"
+			"'}'", "'obstacle'", "'plugin'", "'.'", "'script'", "'include'", "'at'", 
+			"'message'", "'requires'", "'offset'", "'-'"
 		};
 	}
 	private static final String[] _LITERAL_NAMES = makeLiteralNames();
 	private static String[] makeSymbolicNames() {
 		return new String[] {
 			null, null, null, null, null, null, null, null, null, null, null, null, 
-			null, null, null, null, null, null, "INTEGER", "STRING", "IDENTIFIER", 
-			"SCRIPT_CONTENT", "WS", "COMMENT"
+			null, null, null, null, null, null, null, null, "INTEGER", "STRING", 
+			"IDENTIFIER", "SCRIPT_CONTENT", "WS", "COMMENT"
 		};
 	}
 	private static final String[] _SYMBOLIC_NAMES = makeSymbolicNames();
@@ -111,117 +113,126 @@ public class GameConfigLexer extends Lexer {
 	public ATN getATN() { return _ATN; }
 
 	public static final String _serializedATN =
-		"\u0004\u0000\u0017\u00b4\u0006\uffff\uffff\u0002\u0000\u0007\u0000\u0002"+
+		"\u0004\u0000\u0019\u00c4\u0006\uffff\uffff\u0002\u0000\u0007\u0000\u0002"+
 		"\u0001\u0007\u0001\u0002\u0002\u0007\u0002\u0002\u0003\u0007\u0003\u0002"+
 		"\u0004\u0007\u0004\u0002\u0005\u0007\u0005\u0002\u0006\u0007\u0006\u0002"+
 		"\u0007\u0007\u0007\u0002\b\u0007\b\u0002\t\u0007\t\u0002\n\u0007\n\u0002"+
 		"\u000b\u0007\u000b\u0002\f\u0007\f\u0002\r\u0007\r\u0002\u000e\u0007\u000e"+
 		"\u0002\u000f\u0007\u000f\u0002\u0010\u0007\u0010\u0002\u0011\u0007\u0011"+
 		"\u0002\u0012\u0007\u0012\u0002\u0013\u0007\u0013\u0002\u0014\u0007\u0014"+
-		"\u0002\u0015\u0007\u0015\u0002\u0016\u0007\u0016\u0001\u0000\u0001\u0000"+
-		"\u0001\u0000\u0001\u0000\u0001\u0000\u0001\u0001\u0001\u0001\u0001\u0002"+
-		"\u0001\u0002\u0001\u0003\u0001\u0003\u0001\u0004\u0001\u0004\u0001\u0004"+
-		"\u0001\u0004\u0001\u0004\u0001\u0004\u0001\u0005\u0001\u0005\u0001\u0005"+
-		"\u0001\u0005\u0001\u0005\u0001\u0006\u0001\u0006\u0001\u0006\u0001\u0006"+
-		"\u0001\u0006\u0001\u0007\u0001\u0007\u0001\b\u0001\b\u0001\t\u0001\t\u0001"+
-		"\t\u0001\t\u0001\t\u0001\t\u0001\t\u0001\t\u0001\t\u0001\n\u0001\n\u0001"+
-		"\n\u0001\n\u0001\n\u0001\n\u0001\n\u0001\u000b\u0001\u000b\u0001\f\u0001"+
-		"\f\u0001\f\u0001\f\u0001\f\u0001\f\u0001\f\u0001\r\u0001\r\u0001\r\u0001"+
-		"\u000e\u0001\u000e\u0001\u000e\u0001\u000f\u0001\u000f\u0001\u000f\u0001"+
-		"\u000f\u0001\u000f\u0001\u000f\u0001\u000f\u0001\u000f\u0001\u0010\u0001"+
-		"\u0010\u0001\u0010\u0001\u0010\u0001\u0010\u0001\u0010\u0001\u0010\u0001"+
-		"\u0010\u0001\u0010\u0001\u0011\u0004\u0011\u0080\b\u0011\u000b\u0011\f"+
-		"\u0011\u0081\u0001\u0012\u0001\u0012\u0001\u0012\u0001\u0012\u0005\u0012"+
-		"\u0088\b\u0012\n\u0012\f\u0012\u008b\t\u0012\u0001\u0012\u0001\u0012\u0001"+
-		"\u0013\u0001\u0013\u0005\u0013\u0091\b\u0013\n\u0013\f\u0013\u0094\t\u0013"+
-		"\u0001\u0014\u0001\u0014\u0001\u0014\u0001\u0014\u0001\u0014\u0001\u0014"+
-		"\u0005\u0014\u009c\b\u0014\n\u0014\f\u0014\u009f\t\u0014\u0001\u0014\u0001"+
-		"\u0014\u0001\u0015\u0004\u0015\u00a4\b\u0015\u000b\u0015\f\u0015\u00a5"+
-		"\u0001\u0015\u0001\u0015\u0001\u0016\u0001\u0016\u0001\u0016\u0001\u0016"+
-		"\u0005\u0016\u00ae\b\u0016\n\u0016\f\u0016\u00b1\t\u0016\u0001\u0016\u0001"+
-		"\u0016\u0000\u0000\u0017\u0001\u0001\u0003\u0002\u0005\u0003\u0007\u0004"+
-		"\t\u0005\u000b\u0006\r\u0007\u000f\b\u0011\t\u0013\n\u0015\u000b\u0017"+
-		"\f\u0019\r\u001b\u000e\u001d\u000f\u001f\u0010!\u0011#\u0012%\u0013\'"+
-		"\u0014)\u0015+\u0016-\u0017\u0001\u0000\u0007\u0001\u000009\u0002\u0000"+
-		"\"\"\\\\\u0003\u0000AZ__az\u0004\u000009AZ__az\u0001\u0000}}\u0003\u0000"+
-		"\t\n\r\r  \u0002\u0000\n\n\r\r\u00bb\u0000\u0001\u0001\u0000\u0000\u0000"+
-		"\u0000\u0003\u0001\u0000\u0000\u0000\u0000\u0005\u0001\u0000\u0000\u0000"+
-		"\u0000\u0007\u0001\u0000\u0000\u0000\u0000\t\u0001\u0000\u0000\u0000\u0000"+
-		"\u000b\u0001\u0000\u0000\u0000\u0000\r\u0001\u0000\u0000\u0000\u0000\u000f"+
-		"\u0001\u0000\u0000\u0000\u0000\u0011\u0001\u0000\u0000\u0000\u0000\u0013"+
-		"\u0001\u0000\u0000\u0000\u0000\u0015\u0001\u0000\u0000\u0000\u0000\u0017"+
-		"\u0001\u0000\u0000\u0000\u0000\u0019\u0001\u0000\u0000\u0000\u0000\u001b"+
-		"\u0001\u0000\u0000\u0000\u0000\u001d\u0001\u0000\u0000\u0000\u0000\u001f"+
-		"\u0001\u0000\u0000\u0000\u0000!\u0001\u0000\u0000\u0000\u0000#\u0001\u0000"+
-		"\u0000\u0000\u0000%\u0001\u0000\u0000\u0000\u0000\'\u0001\u0000\u0000"+
-		"\u0000\u0000)\u0001\u0000\u0000\u0000\u0000+\u0001\u0000\u0000\u0000\u0000"+
-		"-\u0001\u0000\u0000\u0000\u0001/\u0001\u0000\u0000\u0000\u00034\u0001"+
-		"\u0000\u0000\u0000\u00056\u0001\u0000\u0000\u0000\u00078\u0001\u0000\u0000"+
-		"\u0000\t:\u0001\u0000\u0000\u0000\u000b@\u0001\u0000\u0000\u0000\rE\u0001"+
-		"\u0000\u0000\u0000\u000fJ\u0001\u0000\u0000\u0000\u0011L\u0001\u0000\u0000"+
-		"\u0000\u0013N\u0001\u0000\u0000\u0000\u0015W\u0001\u0000\u0000\u0000\u0017"+
-		"^\u0001\u0000\u0000\u0000\u0019`\u0001\u0000\u0000\u0000\u001bg\u0001"+
-		"\u0000\u0000\u0000\u001dj\u0001\u0000\u0000\u0000\u001fm\u0001\u0000\u0000"+
-		"\u0000!u\u0001\u0000\u0000\u0000#\u007f\u0001\u0000\u0000\u0000%\u0083"+
-		"\u0001\u0000\u0000\u0000\'\u008e\u0001\u0000\u0000\u0000)\u0095\u0001"+
-		"\u0000\u0000\u0000+\u00a3\u0001\u0000\u0000\u0000-\u00a9\u0001\u0000\u0000"+
-		"\u0000/0\u0005s\u0000\u000001\u0005i\u0000\u000012\u0005z\u0000\u0000"+
-		"23\u0005e\u0000\u00003\u0002\u0001\u0000\u0000\u000045\u0005(\u0000\u0000"+
-		"5\u0004\u0001\u0000\u0000\u000067\u0005,\u0000\u00007\u0006\u0001\u0000"+
-		"\u0000\u000089\u0005)\u0000\u00009\b\u0001\u0000\u0000\u0000:;\u0005s"+
-		"\u0000\u0000;<\u0005t\u0000\u0000<=\u0005a\u0000\u0000=>\u0005r\u0000"+
-		"\u0000>?\u0005t\u0000\u0000?\n\u0001\u0000\u0000\u0000@A\u0005g\u0000"+
-		"\u0000AB\u0005o\u0000\u0000BC\u0005a\u0000\u0000CD\u0005l\u0000\u0000"+
-		"D\f\u0001\u0000\u0000\u0000EF\u0005i\u0000\u0000FG\u0005t\u0000\u0000"+
-		"GH\u0005e\u0000\u0000HI\u0005m\u0000\u0000I\u000e\u0001\u0000\u0000\u0000"+
-		"JK\u0005{\u0000\u0000K\u0010\u0001\u0000\u0000\u0000LM\u0005}\u0000\u0000"+
-		"M\u0012\u0001\u0000\u0000\u0000NO\u0005o\u0000\u0000OP\u0005b\u0000\u0000"+
-		"PQ\u0005s\u0000\u0000QR\u0005t\u0000\u0000RS\u0005a\u0000\u0000ST\u0005"+
-		"c\u0000\u0000TU\u0005l\u0000\u0000UV\u0005e\u0000\u0000V\u0014\u0001\u0000"+
-		"\u0000\u0000WX\u0005p\u0000\u0000XY\u0005l\u0000\u0000YZ\u0005u\u0000"+
-		"\u0000Z[\u0005g\u0000\u0000[\\\u0005i\u0000\u0000\\]\u0005n\u0000\u0000"+
-		"]\u0016\u0001\u0000\u0000\u0000^_\u0005.\u0000\u0000_\u0018\u0001\u0000"+
-		"\u0000\u0000`a\u0005s\u0000\u0000ab\u0005c\u0000\u0000bc\u0005r\u0000"+
-		"\u0000cd\u0005i\u0000\u0000de\u0005p\u0000\u0000ef\u0005t\u0000\u0000"+
-		"f\u001a\u0001\u0000\u0000\u0000gh\u0005!\u0000\u0000hi\u0005{\u0000\u0000"+
-		"i\u001c\u0001\u0000\u0000\u0000jk\u0005a\u0000\u0000kl\u0005t\u0000\u0000"+
-		"l\u001e\u0001\u0000\u0000\u0000mn\u0005m\u0000\u0000no\u0005e\u0000\u0000"+
-		"op\u0005s\u0000\u0000pq\u0005s\u0000\u0000qr\u0005a\u0000\u0000rs\u0005"+
-		"g\u0000\u0000st\u0005e\u0000\u0000t \u0001\u0000\u0000\u0000uv\u0005r"+
-		"\u0000\u0000vw\u0005e\u0000\u0000wx\u0005q\u0000\u0000xy\u0005u\u0000"+
-		"\u0000yz\u0005i\u0000\u0000z{\u0005r\u0000\u0000{|\u0005e\u0000\u0000"+
-		"|}\u0005s\u0000\u0000}\"\u0001\u0000\u0000\u0000~\u0080\u0007\u0000\u0000"+
-		"\u0000\u007f~\u0001\u0000\u0000\u0000\u0080\u0081\u0001\u0000\u0000\u0000"+
-		"\u0081\u007f\u0001\u0000\u0000\u0000\u0081\u0082\u0001\u0000\u0000\u0000"+
-		"\u0082$\u0001\u0000\u0000\u0000\u0083\u0089\u0005\"\u0000\u0000\u0084"+
-		"\u0088\b\u0001\u0000\u0000\u0085\u0086\u0005\\\u0000\u0000\u0086\u0088"+
-		"\t\u0000\u0000\u0000\u0087\u0084\u0001\u0000\u0000\u0000\u0087\u0085\u0001"+
-		"\u0000\u0000\u0000\u0088\u008b\u0001\u0000\u0000\u0000\u0089\u0087\u0001"+
-		"\u0000\u0000\u0000\u0089\u008a\u0001\u0000\u0000\u0000\u008a\u008c\u0001"+
-		"\u0000\u0000\u0000\u008b\u0089\u0001\u0000\u0000\u0000\u008c\u008d\u0005"+
-		"\"\u0000\u0000\u008d&\u0001\u0000\u0000\u0000\u008e\u0092\u0007\u0002"+
-		"\u0000\u0000\u008f\u0091\u0007\u0003\u0000\u0000\u0090\u008f\u0001\u0000"+
-		"\u0000\u0000\u0091\u0094\u0001\u0000\u0000\u0000\u0092\u0090\u0001\u0000"+
-		"\u0000\u0000\u0092\u0093\u0001\u0000\u0000\u0000\u0093(\u0001\u0000\u0000"+
-		"\u0000\u0094\u0092\u0001\u0000\u0000\u0000\u0095\u0096\u0005!\u0000\u0000"+
-		"\u0096\u0097\u0005{\u0000\u0000\u0097\u009d\u0001\u0000\u0000\u0000\u0098"+
-		"\u009c\b\u0004\u0000\u0000\u0099\u009a\u0005}\u0000\u0000\u009a\u009c"+
-		"\b\u0004\u0000\u0000\u009b\u0098\u0001\u0000\u0000\u0000\u009b\u0099\u0001"+
-		"\u0000\u0000\u0000\u009c\u009f\u0001\u0000\u0000\u0000\u009d\u009b\u0001"+
-		"\u0000\u0000\u0000\u009d\u009e\u0001\u0000\u0000\u0000\u009e\u00a0\u0001"+
-		"\u0000\u0000\u0000\u009f\u009d\u0001\u0000\u0000\u0000\u00a0\u00a1\u0005"+
-		"}\u0000\u0000\u00a1*\u0001\u0000\u0000\u0000\u00a2\u00a4\u0007\u0005\u0000"+
-		"\u0000\u00a3\u00a2\u0001\u0000\u0000\u0000\u00a4\u00a5\u0001\u0000\u0000"+
-		"\u0000\u00a5\u00a3\u0001\u0000\u0000\u0000\u00a5\u00a6\u0001\u0000\u0000"+
-		"\u0000\u00a6\u00a7\u0001\u0000\u0000\u0000\u00a7\u00a8\u0006\u0015\u0000"+
-		"\u0000\u00a8,\u0001\u0000\u0000\u0000\u00a9\u00aa\u0005/\u0000\u0000\u00aa"+
-		"\u00ab\u0005/\u0000\u0000\u00ab\u00af\u0001\u0000\u0000\u0000\u00ac\u00ae"+
-		"\b\u0006\u0000\u0000\u00ad\u00ac\u0001\u0000\u0000\u0000\u00ae\u00b1\u0001"+
-		"\u0000\u0000\u0000\u00af\u00ad\u0001\u0000\u0000\u0000\u00af\u00b0\u0001"+
-		"\u0000\u0000\u0000\u00b0\u00b2\u0001\u0000\u0000\u0000\u00b1\u00af\u0001"+
-		"\u0000\u0000\u0000\u00b2\u00b3\u0006\u0016\u0000\u0000\u00b3.\u0001\u0000"+
-		"\u0000\u0000\t\u0000\u0081\u0087\u0089\u0092\u009b\u009d\u00a5\u00af\u0001"+
-		"\u0006\u0000\u0000";
+		"\u0002\u0015\u0007\u0015\u0002\u0016\u0007\u0016\u0002\u0017\u0007\u0017"+
+		"\u0002\u0018\u0007\u0018\u0001\u0000\u0001\u0000\u0001\u0000\u0001\u0000"+
+		"\u0001\u0000\u0001\u0001\u0001\u0001\u0001\u0002\u0001\u0002\u0001\u0003"+
+		"\u0001\u0003\u0001\u0004\u0001\u0004\u0001\u0004\u0001\u0004\u0001\u0004"+
+		"\u0001\u0004\u0001\u0005\u0001\u0005\u0001\u0005\u0001\u0005\u0001\u0005"+
+		"\u0001\u0006\u0001\u0006\u0001\u0006\u0001\u0006\u0001\u0006\u0001\u0007"+
+		"\u0001\u0007\u0001\b\u0001\b\u0001\t\u0001\t\u0001\t\u0001\t\u0001\t\u0001"+
+		"\t\u0001\t\u0001\t\u0001\t\u0001\n\u0001\n\u0001\n\u0001\n\u0001\n\u0001"+
+		"\n\u0001\n\u0001\u000b\u0001\u000b\u0001\f\u0001\f\u0001\f\u0001\f\u0001"+
+		"\f\u0001\f\u0001\f\u0001\r\u0001\r\u0001\r\u0001\r\u0001\r\u0001\r\u0001"+
+		"\r\u0001\r\u0001\u000e\u0001\u000e\u0001\u000e\u0001\u000f\u0001\u000f"+
+		"\u0001\u000f\u0001\u000f\u0001\u000f\u0001\u000f\u0001\u000f\u0001\u000f"+
+		"\u0001\u0010\u0001\u0010\u0001\u0010\u0001\u0010\u0001\u0010\u0001\u0010"+
+		"\u0001\u0010\u0001\u0010\u0001\u0010\u0001\u0011\u0001\u0011\u0001\u0011"+
+		"\u0001\u0011\u0001\u0011\u0001\u0011\u0001\u0011\u0001\u0012\u0001\u0012"+
+		"\u0001\u0013\u0004\u0013\u0092\b\u0013\u000b\u0013\f\u0013\u0093\u0001"+
+		"\u0014\u0001\u0014\u0001\u0014\u0001\u0014\u0005\u0014\u009a\b\u0014\n"+
+		"\u0014\f\u0014\u009d\t\u0014\u0001\u0014\u0001\u0014\u0001\u0015\u0001"+
+		"\u0015\u0005\u0015\u00a3\b\u0015\n\u0015\f\u0015\u00a6\t\u0015\u0001\u0016"+
+		"\u0001\u0016\u0001\u0016\u0001\u0016\u0005\u0016\u00ac\b\u0016\n\u0016"+
+		"\f\u0016\u00af\t\u0016\u0001\u0016\u0001\u0016\u0001\u0017\u0004\u0017"+
+		"\u00b4\b\u0017\u000b\u0017\f\u0017\u00b5\u0001\u0017\u0001\u0017\u0001"+
+		"\u0018\u0001\u0018\u0001\u0018\u0001\u0018\u0005\u0018\u00be\b\u0018\n"+
+		"\u0018\f\u0018\u00c1\t\u0018\u0001\u0018\u0001\u0018\u0000\u0000\u0019"+
+		"\u0001\u0001\u0003\u0002\u0005\u0003\u0007\u0004\t\u0005\u000b\u0006\r"+
+		"\u0007\u000f\b\u0011\t\u0013\n\u0015\u000b\u0017\f\u0019\r\u001b\u000e"+
+		"\u001d\u000f\u001f\u0010!\u0011#\u0012%\u0013\'\u0014)\u0015+\u0016-\u0017"+
+		"/\u00181\u0019\u0001\u0000\u0007\u0001\u000009\u0002\u0000\"\"\\\\\u0003"+
+		"\u0000AZ__az\u0004\u000009AZ__az\u0001\u0000}}\u0003\u0000\t\n\r\r  \u0002"+
+		"\u0000\n\n\r\r\u00ca\u0000\u0001\u0001\u0000\u0000\u0000\u0000\u0003\u0001"+
+		"\u0000\u0000\u0000\u0000\u0005\u0001\u0000\u0000\u0000\u0000\u0007\u0001"+
+		"\u0000\u0000\u0000\u0000\t\u0001\u0000\u0000\u0000\u0000\u000b\u0001\u0000"+
+		"\u0000\u0000\u0000\r\u0001\u0000\u0000\u0000\u0000\u000f\u0001\u0000\u0000"+
+		"\u0000\u0000\u0011\u0001\u0000\u0000\u0000\u0000\u0013\u0001\u0000\u0000"+
+		"\u0000\u0000\u0015\u0001\u0000\u0000\u0000\u0000\u0017\u0001\u0000\u0000"+
+		"\u0000\u0000\u0019\u0001\u0000\u0000\u0000\u0000\u001b\u0001\u0000\u0000"+
+		"\u0000\u0000\u001d\u0001\u0000\u0000\u0000\u0000\u001f\u0001\u0000\u0000"+
+		"\u0000\u0000!\u0001\u0000\u0000\u0000\u0000#\u0001\u0000\u0000\u0000\u0000"+
+		"%\u0001\u0000\u0000\u0000\u0000\'\u0001\u0000\u0000\u0000\u0000)\u0001"+
+		"\u0000\u0000\u0000\u0000+\u0001\u0000\u0000\u0000\u0000-\u0001\u0000\u0000"+
+		"\u0000\u0000/\u0001\u0000\u0000\u0000\u00001\u0001\u0000\u0000\u0000\u0001"+
+		"3\u0001\u0000\u0000\u0000\u00038\u0001\u0000\u0000\u0000\u0005:\u0001"+
+		"\u0000\u0000\u0000\u0007<\u0001\u0000\u0000\u0000\t>\u0001\u0000\u0000"+
+		"\u0000\u000bD\u0001\u0000\u0000\u0000\rI\u0001\u0000\u0000\u0000\u000f"+
+		"N\u0001\u0000\u0000\u0000\u0011P\u0001\u0000\u0000\u0000\u0013R\u0001"+
+		"\u0000\u0000\u0000\u0015[\u0001\u0000\u0000\u0000\u0017b\u0001\u0000\u0000"+
+		"\u0000\u0019d\u0001\u0000\u0000\u0000\u001bk\u0001\u0000\u0000\u0000\u001d"+
+		"s\u0001\u0000\u0000\u0000\u001fv\u0001\u0000\u0000\u0000!~\u0001\u0000"+
+		"\u0000\u0000#\u0087\u0001\u0000\u0000\u0000%\u008e\u0001\u0000\u0000\u0000"+
+		"\'\u0091\u0001\u0000\u0000\u0000)\u0095\u0001\u0000\u0000\u0000+\u00a0"+
+		"\u0001\u0000\u0000\u0000-\u00a7\u0001\u0000\u0000\u0000/\u00b3\u0001\u0000"+
+		"\u0000\u00001\u00b9\u0001\u0000\u0000\u000034\u0005s\u0000\u000045\u0005"+
+		"i\u0000\u000056\u0005z\u0000\u000067\u0005e\u0000\u00007\u0002\u0001\u0000"+
+		"\u0000\u000089\u0005(\u0000\u00009\u0004\u0001\u0000\u0000\u0000:;\u0005"+
+		",\u0000\u0000;\u0006\u0001\u0000\u0000\u0000<=\u0005)\u0000\u0000=\b\u0001"+
+		"\u0000\u0000\u0000>?\u0005s\u0000\u0000?@\u0005t\u0000\u0000@A\u0005a"+
+		"\u0000\u0000AB\u0005r\u0000\u0000BC\u0005t\u0000\u0000C\n\u0001\u0000"+
+		"\u0000\u0000DE\u0005g\u0000\u0000EF\u0005o\u0000\u0000FG\u0005a\u0000"+
+		"\u0000GH\u0005l\u0000\u0000H\f\u0001\u0000\u0000\u0000IJ\u0005i\u0000"+
+		"\u0000JK\u0005t\u0000\u0000KL\u0005e\u0000\u0000LM\u0005m\u0000\u0000"+
+		"M\u000e\u0001\u0000\u0000\u0000NO\u0005{\u0000\u0000O\u0010\u0001\u0000"+
+		"\u0000\u0000PQ\u0005}\u0000\u0000Q\u0012\u0001\u0000\u0000\u0000RS\u0005"+
+		"o\u0000\u0000ST\u0005b\u0000\u0000TU\u0005s\u0000\u0000UV\u0005t\u0000"+
+		"\u0000VW\u0005a\u0000\u0000WX\u0005c\u0000\u0000XY\u0005l\u0000\u0000"+
+		"YZ\u0005e\u0000\u0000Z\u0014\u0001\u0000\u0000\u0000[\\\u0005p\u0000\u0000"+
+		"\\]\u0005l\u0000\u0000]^\u0005u\u0000\u0000^_\u0005g\u0000\u0000_`\u0005"+
+		"i\u0000\u0000`a\u0005n\u0000\u0000a\u0016\u0001\u0000\u0000\u0000bc\u0005"+
+		".\u0000\u0000c\u0018\u0001\u0000\u0000\u0000de\u0005s\u0000\u0000ef\u0005"+
+		"c\u0000\u0000fg\u0005r\u0000\u0000gh\u0005i\u0000\u0000hi\u0005p\u0000"+
+		"\u0000ij\u0005t\u0000\u0000j\u001a\u0001\u0000\u0000\u0000kl\u0005i\u0000"+
+		"\u0000lm\u0005n\u0000\u0000mn\u0005c\u0000\u0000no\u0005l\u0000\u0000"+
+		"op\u0005u\u0000\u0000pq\u0005d\u0000\u0000qr\u0005e\u0000\u0000r\u001c"+
+		"\u0001\u0000\u0000\u0000st\u0005a\u0000\u0000tu\u0005t\u0000\u0000u\u001e"+
+		"\u0001\u0000\u0000\u0000vw\u0005m\u0000\u0000wx\u0005e\u0000\u0000xy\u0005"+
+		"s\u0000\u0000yz\u0005s\u0000\u0000z{\u0005a\u0000\u0000{|\u0005g\u0000"+
+		"\u0000|}\u0005e\u0000\u0000} \u0001\u0000\u0000\u0000~\u007f\u0005r\u0000"+
+		"\u0000\u007f\u0080\u0005e\u0000\u0000\u0080\u0081\u0005q\u0000\u0000\u0081"+
+		"\u0082\u0005u\u0000\u0000\u0082\u0083\u0005i\u0000\u0000\u0083\u0084\u0005"+
+		"r\u0000\u0000\u0084\u0085\u0005e\u0000\u0000\u0085\u0086\u0005s\u0000"+
+		"\u0000\u0086\"\u0001\u0000\u0000\u0000\u0087\u0088\u0005o\u0000\u0000"+
+		"\u0088\u0089\u0005f\u0000\u0000\u0089\u008a\u0005f\u0000\u0000\u008a\u008b"+
+		"\u0005s\u0000\u0000\u008b\u008c\u0005e\u0000\u0000\u008c\u008d\u0005t"+
+		"\u0000\u0000\u008d$\u0001\u0000\u0000\u0000\u008e\u008f\u0005-\u0000\u0000"+
+		"\u008f&\u0001\u0000\u0000\u0000\u0090\u0092\u0007\u0000\u0000\u0000\u0091"+
+		"\u0090\u0001\u0000\u0000\u0000\u0092\u0093\u0001\u0000\u0000\u0000\u0093"+
+		"\u0091\u0001\u0000\u0000\u0000\u0093\u0094\u0001\u0000\u0000\u0000\u0094"+
+		"(\u0001\u0000\u0000\u0000\u0095\u009b\u0005\"\u0000\u0000\u0096\u009a"+
+		"\b\u0001\u0000\u0000\u0097\u0098\u0005\\\u0000\u0000\u0098\u009a\t\u0000"+
+		"\u0000\u0000\u0099\u0096\u0001\u0000\u0000\u0000\u0099\u0097\u0001\u0000"+
+		"\u0000\u0000\u009a\u009d\u0001\u0000\u0000\u0000\u009b\u0099\u0001\u0000"+
+		"\u0000\u0000\u009b\u009c\u0001\u0000\u0000\u0000\u009c\u009e\u0001\u0000"+
+		"\u0000\u0000\u009d\u009b\u0001\u0000\u0000\u0000\u009e\u009f\u0005\"\u0000"+
+		"\u0000\u009f*\u0001\u0000\u0000\u0000\u00a0\u00a4\u0007\u0002\u0000\u0000"+
+		"\u00a1\u00a3\u0007\u0003\u0000\u0000\u00a2\u00a1\u0001\u0000\u0000\u0000"+
+		"\u00a3\u00a6\u0001\u0000\u0000\u0000\u00a4\u00a2\u0001\u0000\u0000\u0000"+
+		"\u00a4\u00a5\u0001\u0000\u0000\u0000\u00a5,\u0001\u0000\u0000\u0000\u00a6"+
+		"\u00a4\u0001\u0000\u0000\u0000\u00a7\u00a8\u0005!\u0000\u0000\u00a8\u00a9"+
+		"\u0005{\u0000\u0000\u00a9\u00ad\u0001\u0000\u0000\u0000\u00aa\u00ac\b"+
+		"\u0004\u0000\u0000\u00ab\u00aa\u0001\u0000\u0000\u0000\u00ac\u00af\u0001"+
+		"\u0000\u0000\u0000\u00ad\u00ab\u0001\u0000\u0000\u0000\u00ad\u00ae\u0001"+
+		"\u0000\u0000\u0000\u00ae\u00b0\u0001\u0000\u0000\u0000\u00af\u00ad\u0001"+
+		"\u0000\u0000\u0000\u00b0\u00b1\u0005}\u0000\u0000\u00b1.\u0001\u0000\u0000"+
+		"\u0000\u00b2\u00b4\u0007\u0005\u0000\u0000\u00b3\u00b2\u0001\u0000\u0000"+
+		"\u0000\u00b4\u00b5\u0001\u0000\u0000\u0000\u00b5\u00b3\u0001\u0000\u0000"+
+		"\u0000\u00b5\u00b6\u0001\u0000\u0000\u0000\u00b6\u00b7\u0001\u0000\u0000"+
+		"\u0000\u00b7\u00b8\u0006\u0017\u0000\u0000\u00b80\u0001\u0000\u0000\u0000"+
+		"\u00b9\u00ba\u0005/\u0000\u0000\u00ba\u00bb\u0005/\u0000\u0000\u00bb\u00bf"+
+		"\u0001\u0000\u0000\u0000\u00bc\u00be\b\u0006\u0000\u0000\u00bd\u00bc\u0001"+
+		"\u0000\u0000\u0000\u00be\u00c1\u0001\u0000\u0000\u0000\u00bf\u00bd\u0001"+
+		"\u0000\u0000\u0000\u00bf\u00c0\u0001\u0000\u0000\u0000\u00c0\u00c2\u0001"+
+		"\u0000\u0000\u0000\u00c1\u00bf\u0001\u0000\u0000\u0000\u00c2\u00c3\u0006"+
+		"\u0018\u0000\u0000\u00c32\u0001\u0000\u0000\u0000\b\u0000\u0093\u0099"+
+		"\u009b\u00a4\u00ad\u00b5\u00bf\u0001\u0006\u0000\u0000";
 	public static final ATN _ATN =
 		new ATNDeserializer().deserialize(_serializedATN.toCharArray());
 	static {
@@ -97,6 +97,16 @@ public interface GameConfigListener extends ParseTreeListener {
 	 * @param ctx the parse tree
 	 */
 	void exitScriptDeclaration(GameConfigParser.ScriptDeclarationContext ctx);
+	/**
+	 * Enter a parse tree produced by {@link GameConfigParser#includeDeclaration}.
+	 * @param ctx the parse tree
+	 */
+	void enterIncludeDeclaration(GameConfigParser.IncludeDeclarationContext ctx);
+	/**
+	 * Exit a parse tree produced by {@link GameConfigParser#includeDeclaration}.
+	 * @param ctx the parse tree
+	 */
+	void exitIncludeDeclaration(GameConfigParser.IncludeDeclarationContext ctx);
 	/**
 	 * Enter a parse tree produced by {@link GameConfigParser#atDeclaration}.
 	 * @param ctx the parse tree
@@ -127,6 +137,16 @@ public interface GameConfigListener extends ParseTreeListener {
 	 * @param ctx the parse tree
 	 */
 	void exitRequiresDeclaration(GameConfigParser.RequiresDeclarationContext ctx);
+	/**
+	 * Enter a parse tree produced by {@link GameConfigParser#offsetDeclaration}.
+	 * @param ctx the parse tree
+	 */
+	void enterOffsetDeclaration(GameConfigParser.OffsetDeclarationContext ctx);
+	/**
+	 * Exit a parse tree produced by {@link GameConfigParser#offsetDeclaration}.
+	 * @param ctx the parse tree
+	 */
+	void exitOffsetDeclaration(GameConfigParser.OffsetDeclarationContext ctx);
 	/**
 	 * Enter a parse tree produced by {@link GameConfigParser#locationList}.
 	 * @param ctx the parse tree
@@ -157,4 +177,14 @@ public interface GameConfigListener extends ParseTreeListener {
 	 * @param ctx the parse tree
 	 */
 	void exitStringList(GameConfigParser.StringListContext ctx);
+	/**
+	 * Enter a parse tree produced by {@link GameConfigParser#signedInteger}.
+	 * @param ctx the parse tree
+	 */
+	void enterSignedInteger(GameConfigParser.SignedIntegerContext ctx);
+	/**
+	 * Exit a parse tree produced by {@link GameConfigParser#signedInteger}.
+	 * @param ctx the parse tree
+	 */
+	void exitSignedInteger(GameConfigParser.SignedIntegerContext ctx);
 }
\ No newline at end of file
@@ -19,19 +19,21 @@ public class GameConfigParser extends Parser {
 	public static final int
 		T__0=1, T__1=2, T__2=3, T__3=4, T__4=5, T__5=6, T__6=7, T__7=8, T__8=9, 
 		T__9=10, T__10=11, T__11=12, T__12=13, T__13=14, T__14=15, T__15=16, T__16=17, 
-		INTEGER=18, STRING=19, IDENTIFIER=20, SCRIPT_CONTENT=21, WS=22, COMMENT=23;
+		T__17=18, T__18=19, INTEGER=20, STRING=21, IDENTIFIER=22, SCRIPT_CONTENT=23, 
+		WS=24, COMMENT=25;
 	public static final int
 		RULE_config = 0, RULE_declarations = 1, RULE_sizeDeclaration = 2, RULE_startDeclaration = 3, 
 		RULE_goalDeclaration = 4, RULE_itemDeclaration = 5, RULE_obstacleDeclaration = 6, 
-		RULE_pluginDeclaration = 7, RULE_scriptDeclaration = 8, RULE_atDeclaration = 9, 
-		RULE_messageDeclaration = 10, RULE_requiresDeclaration = 11, RULE_locationList = 12, 
-		RULE_location = 13, RULE_stringList = 14;
+		RULE_pluginDeclaration = 7, RULE_scriptDeclaration = 8, RULE_includeDeclaration = 9, 
+		RULE_atDeclaration = 10, RULE_messageDeclaration = 11, RULE_requiresDeclaration = 12, 
+		RULE_offsetDeclaration = 13, RULE_locationList = 14, RULE_location = 15, 
+		RULE_stringList = 16, RULE_signedInteger = 17;
 	private static String[] makeRuleNames() {
 		return new String[] {
 			"config", "declarations", "sizeDeclaration", "startDeclaration", "goalDeclaration", 
 			"itemDeclaration", "obstacleDeclaration", "pluginDeclaration", "scriptDeclaration", 
-			"atDeclaration", "messageDeclaration", "requiresDeclaration", "locationList", 
-			"location", "stringList"
+			"includeDeclaration", "atDeclaration", "messageDeclaration", "requiresDeclaration", 
+			"offsetDeclaration", "locationList", "location", "stringList", "signedInteger"
 		};
 	}
 	public static final String[] ruleNames = makeRuleNames();
@@ -39,16 +41,16 @@ public class GameConfigParser extends Parser {
 	private static String[] makeLiteralNames() {
 		return new String[] {
 			null, "'size'", "'('", "','", "')'", "'start'", "'goal'", "'item'", "'{'", 
-			"'}'", "'obstacle'", "'plugin'", "'.'", "'script'", "'!{'", "'at'", "'message'", 
-			"'requires'"
+			"'}'", "'obstacle'", "'plugin'", "'.'", "'script'", "'include'", "'at'", 
+			"'message'", "'requires'", "'offset'", "'-'"
 		};
 	}
 	private static final String[] _LITERAL_NAMES = makeLiteralNames();
 	private static String[] makeSymbolicNames() {
 		return new String[] {
 			null, null, null, null, null, null, null, null, null, null, null, null, 
-			null, null, null, null, null, null, "INTEGER", "STRING", "IDENTIFIER", 
-			"SCRIPT_CONTENT", "WS", "COMMENT"
+			null, null, null, null, null, null, null, null, "INTEGER", "STRING", 
+			"IDENTIFIER", "SCRIPT_CONTENT", "WS", "COMMENT"
 		};
 	}
 	private static final String[] _SYMBOLIC_NAMES = makeSymbolicNames();
@@ -128,9 +130,9 @@ public class GameConfigParser extends Parser {
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(30);
+			setState(36);
 			declarations();
-			setState(31);
+			setState(37);
 			match(EOF);
 			}
 		}
@@ -180,6 +182,12 @@ public class GameConfigParser extends Parser {
 		public ScriptDeclarationContext scriptDeclaration(int i) {
 			return getRuleContext(ScriptDeclarationContext.class,i);
 		}
+		public List<IncludeDeclarationContext> includeDeclaration() {
+			return getRuleContexts(IncludeDeclarationContext.class);
+		}
+		public IncludeDeclarationContext includeDeclaration(int i) {
+			return getRuleContext(IncludeDeclarationContext.class,i);
+		}
 		public DeclarationsContext(ParserRuleContext parent, int invokingState) {
 			super(parent, invokingState);
 		}
@@ -201,49 +209,55 @@ public class GameConfigParser extends Parser {
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(33);
+			setState(39);
 			sizeDeclaration();
-			setState(34);
+			setState(40);
 			startDeclaration();
-			setState(35);
+			setState(41);
 			goalDeclaration();
-			setState(42);
+			setState(49);
 			_errHandler.sync(this);
 			_la = _input.LA(1);
-			while ((((_la) & ~0x3f) == 0 && ((1L << _la) & 11392L) != 0)) {
+			while ((((_la) & ~0x3f) == 0 && ((1L << _la) & 27776L) != 0)) {
 				{
-				setState(40);
+				setState(47);
 				_errHandler.sync(this);
 				switch (_input.LA(1)) {
 				case T__6:
 					{
-					setState(36);
+					setState(42);
 					itemDeclaration();
 					}
 					break;
 				case T__9:
 					{
-					setState(37);
+					setState(43);
 					obstacleDeclaration();
 					}
 					break;
 				case T__10:
 					{
-					setState(38);
+					setState(44);
 					pluginDeclaration();
 					}
 					break;
 				case T__12:
 					{
-					setState(39);
+					setState(45);
 					scriptDeclaration();
 					}
 					break;
+				case T__13:
+					{
+					setState(46);
+					includeDeclaration();
+					}
+					break;
 				default:
 					throw new NoViableAltException(this);
 				}
 				}
-				setState(44);
+				setState(51);
 				_errHandler.sync(this);
 				_la = _input.LA(1);
 			}
@@ -286,17 +300,17 @@ public class GameConfigParser extends Parser {
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(45);
+			setState(52);
 			match(T__0);
-			setState(46);
+			setState(53);
 			match(T__1);
-			setState(47);
+			setState(54);
 			match(INTEGER);
-			setState(48);
+			setState(55);
 			match(T__2);
-			setState(49);
+			setState(56);
 			match(INTEGER);
-			setState(50);
+			setState(57);
 			match(T__3);
 			}
 		}
@@ -337,17 +351,17 @@ public class GameConfigParser extends Parser {
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(52);
+			setState(59);
 			match(T__4);
-			setState(53);
+			setState(60);
 			match(T__1);
-			setState(54);
+			setState(61);
 			match(INTEGER);
-			setState(55);
+			setState(62);
 			match(T__2);
-			setState(56);
+			setState(63);
 			match(INTEGER);
-			setState(57);
+			setState(64);
 			match(T__3);
 			}
 		}
@@ -388,17 +402,17 @@ public class GameConfigParser extends Parser {
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(59);
+			setState(66);
 			match(T__5);
-			setState(60);
+			setState(67);
 			match(T__1);
-			setState(61);
+			setState(68);
 			match(INTEGER);
-			setState(62);
+			setState(69);
 			match(T__2);
-			setState(63);
+			setState(70);
 			match(INTEGER);
-			setState(64);
+			setState(71);
 			match(T__3);
 			}
 		}
@@ -442,17 +456,17 @@ public class GameConfigParser extends Parser {
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(66);
+			setState(73);
 			match(T__6);
-			setState(67);
+			setState(74);
 			match(STRING);
-			setState(68);
+			setState(75);
 			match(T__7);
-			setState(69);
+			setState(76);
 			atDeclaration();
-			setState(70);
+			setState(77);
 			messageDeclaration();
-			setState(71);
+			setState(78);
 			match(T__8);
 			}
 		}
@@ -495,15 +509,15 @@ public class GameConfigParser extends Parser {
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(73);
+			setState(80);
 			match(T__9);
-			setState(74);
+			setState(81);
 			match(T__7);
-			setState(75);
+			setState(82);
 			atDeclaration();
-			setState(76);
+			setState(83);
 			requiresDeclaration();
-			setState(77);
+			setState(84);
 			match(T__8);
 			}
 		}
@@ -545,23 +559,23 @@ public class GameConfigParser extends Parser {
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(79);
+			setState(86);
 			match(T__10);
-			setState(80);
+			setState(87);
 			match(IDENTIFIER);
-			setState(85);
+			setState(92);
 			_errHandler.sync(this);
 			_la = _input.LA(1);
 			while (_la==T__11) {
 				{
 				{
-				setState(81);
+				setState(88);
 				match(T__11);
-				setState(82);
+				setState(89);
 				match(IDENTIFIER);
 				}
 				}
-				setState(87);
+				setState(94);
 				_errHandler.sync(this);
 				_la = _input.LA(1);
 			}
@@ -601,14 +615,64 @@ public class GameConfigParser extends Parser {
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(88);
+			setState(95);
 			match(T__12);
-			setState(89);
-			match(T__13);
-			setState(90);
+			setState(96);
 			match(SCRIPT_CONTENT);
-			setState(91);
-			match(T__8);
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	@SuppressWarnings("CheckReturnValue")
+	public static class IncludeDeclarationContext extends ParserRuleContext {
+		public TerminalNode STRING() { return getToken(GameConfigParser.STRING, 0); }
+		public OffsetDeclarationContext offsetDeclaration() {
+			return getRuleContext(OffsetDeclarationContext.class,0);
+		}
+		public IncludeDeclarationContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_includeDeclaration; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof GameConfigListener ) ((GameConfigListener)listener).enterIncludeDeclaration(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof GameConfigListener ) ((GameConfigListener)listener).exitIncludeDeclaration(this);
+		}
+	}
+
+	public final IncludeDeclarationContext includeDeclaration() throws RecognitionException {
+		IncludeDeclarationContext _localctx = new IncludeDeclarationContext(_ctx, getState());
+		enterRule(_localctx, 18, RULE_includeDeclaration);
+		int _la;
+		try {
+			enterOuterAlt(_localctx, 1);
+			{
+			setState(98);
+			match(T__13);
+			setState(99);
+			match(STRING);
+			setState(101);
+			_errHandler.sync(this);
+			_la = _input.LA(1);
+			if (_la==T__17) {
+				{
+				setState(100);
+				offsetDeclaration();
+				}
+			}
+
 			}
 		}
 		catch (RecognitionException re) {
@@ -643,13 +707,13 @@ public class GameConfigParser extends Parser {
 
 	public final AtDeclarationContext atDeclaration() throws RecognitionException {
 		AtDeclarationContext _localctx = new AtDeclarationContext(_ctx, getState());
-		enterRule(_localctx, 18, RULE_atDeclaration);
+		enterRule(_localctx, 20, RULE_atDeclaration);
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(93);
+			setState(103);
 			match(T__14);
-			setState(94);
+			setState(104);
 			locationList();
 			}
 		}
@@ -683,13 +747,13 @@ public class GameConfigParser extends Parser {
 
 	public final MessageDeclarationContext messageDeclaration() throws RecognitionException {
 		MessageDeclarationContext _localctx = new MessageDeclarationContext(_ctx, getState());
-		enterRule(_localctx, 20, RULE_messageDeclaration);
+		enterRule(_localctx, 22, RULE_messageDeclaration);
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(96);
+			setState(106);
 			match(T__15);
-			setState(97);
+			setState(107);
 			match(STRING);
 			}
 		}
@@ -725,13 +789,13 @@ public class GameConfigParser extends Parser {
 
 	public final RequiresDeclarationContext requiresDeclaration() throws RecognitionException {
 		RequiresDeclarationContext _localctx = new RequiresDeclarationContext(_ctx, getState());
-		enterRule(_localctx, 22, RULE_requiresDeclaration);
+		enterRule(_localctx, 24, RULE_requiresDeclaration);
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(99);
+			setState(109);
 			match(T__16);
-			setState(100);
+			setState(110);
 			stringList();
 			}
 		}
@@ -746,6 +810,59 @@ public class GameConfigParser extends Parser {
 		return _localctx;
 	}
 
+	@SuppressWarnings("CheckReturnValue")
+	public static class OffsetDeclarationContext extends ParserRuleContext {
+		public List<SignedIntegerContext> signedInteger() {
+			return getRuleContexts(SignedIntegerContext.class);
+		}
+		public SignedIntegerContext signedInteger(int i) {
+			return getRuleContext(SignedIntegerContext.class,i);
+		}
+		public OffsetDeclarationContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_offsetDeclaration; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof GameConfigListener ) ((GameConfigListener)listener).enterOffsetDeclaration(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof GameConfigListener ) ((GameConfigListener)listener).exitOffsetDeclaration(this);
+		}
+	}
+
+	public final OffsetDeclarationContext offsetDeclaration() throws RecognitionException {
+		OffsetDeclarationContext _localctx = new OffsetDeclarationContext(_ctx, getState());
+		enterRule(_localctx, 26, RULE_offsetDeclaration);
+		try {
+			enterOuterAlt(_localctx, 1);
+			{
+			setState(112);
+			match(T__17);
+			setState(113);
+			match(T__1);
+			setState(114);
+			signedInteger();
+			setState(115);
+			match(T__2);
+			setState(116);
+			signedInteger();
+			setState(117);
+			match(T__3);
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
 	@SuppressWarnings("CheckReturnValue")
 	public static class LocationListContext extends ParserRuleContext {
 		public List<LocationContext> location() {
@@ -770,26 +887,26 @@ public class GameConfigParser extends Parser {
 
 	public final LocationListContext locationList() throws RecognitionException {
 		LocationListContext _localctx = new LocationListContext(_ctx, getState());
-		enterRule(_localctx, 24, RULE_locationList);
+		enterRule(_localctx, 28, RULE_locationList);
 		int _la;
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(102);
+			setState(119);
 			location();
-			setState(107);
+			setState(124);
 			_errHandler.sync(this);
 			_la = _input.LA(1);
 			while (_la==T__2) {
 				{
 				{
-				setState(103);
+				setState(120);
 				match(T__2);
-				setState(104);
+				setState(121);
 				location();
 				}
 				}
-				setState(109);
+				setState(126);
 				_errHandler.sync(this);
 				_la = _input.LA(1);
 			}
@@ -828,19 +945,19 @@ public class GameConfigParser extends Parser {
 
 	public final LocationContext location() throws RecognitionException {
 		LocationContext _localctx = new LocationContext(_ctx, getState());
-		enterRule(_localctx, 26, RULE_location);
+		enterRule(_localctx, 30, RULE_location);
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(110);
+			setState(127);
 			match(T__1);
-			setState(111);
+			setState(128);
 			match(INTEGER);
-			setState(112);
+			setState(129);
 			match(T__2);
-			setState(113);
+			setState(130);
 			match(INTEGER);
-			setState(114);
+			setState(131);
 			match(T__3);
 			}
 		}
@@ -877,26 +994,26 @@ public class GameConfigParser extends Parser {
 
 	public final StringListContext stringList() throws RecognitionException {
 		StringListContext _localctx = new StringListContext(_ctx, getState());
-		enterRule(_localctx, 28, RULE_stringList);
+		enterRule(_localctx, 32, RULE_stringList);
 		int _la;
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(116);
+			setState(133);
 			match(STRING);
-			setState(121);
+			setState(138);
 			_errHandler.sync(this);
 			_la = _input.LA(1);
 			while (_la==T__2) {
 				{
 				{
-				setState(117);
+				setState(134);
 				match(T__2);
-				setState(118);
+				setState(135);
 				match(STRING);
 				}
 				}
-				setState(123);
+				setState(140);
 				_errHandler.sync(this);
 				_la = _input.LA(1);
 			}
@@ -913,71 +1030,135 @@ public class GameConfigParser extends Parser {
 		return _localctx;
 	}
 
+	@SuppressWarnings("CheckReturnValue")
+	public static class SignedIntegerContext extends ParserRuleContext {
+		public TerminalNode INTEGER() { return getToken(GameConfigParser.INTEGER, 0); }
+		public SignedIntegerContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_signedInteger; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof GameConfigListener ) ((GameConfigListener)listener).enterSignedInteger(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof GameConfigListener ) ((GameConfigListener)listener).exitSignedInteger(this);
+		}
+	}
+
+	public final SignedIntegerContext signedInteger() throws RecognitionException {
+		SignedIntegerContext _localctx = new SignedIntegerContext(_ctx, getState());
+		enterRule(_localctx, 34, RULE_signedInteger);
+		int _la;
+		try {
+			enterOuterAlt(_localctx, 1);
+			{
+			setState(142);
+			_errHandler.sync(this);
+			_la = _input.LA(1);
+			if (_la==T__18) {
+				{
+				setState(141);
+				match(T__18);
+				}
+			}
+
+			setState(144);
+			match(INTEGER);
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
 	public static final String _serializedATN =
-		"\u0004\u0001\u0017}\u0002\u0000\u0007\u0000\u0002\u0001\u0007\u0001\u0002"+
-		"\u0002\u0007\u0002\u0002\u0003\u0007\u0003\u0002\u0004\u0007\u0004\u0002"+
-		"\u0005\u0007\u0005\u0002\u0006\u0007\u0006\u0002\u0007\u0007\u0007\u0002"+
-		"\b\u0007\b\u0002\t\u0007\t\u0002\n\u0007\n\u0002\u000b\u0007\u000b\u0002"+
-		"\f\u0007\f\u0002\r\u0007\r\u0002\u000e\u0007\u000e\u0001\u0000\u0001\u0000"+
-		"\u0001\u0000\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001"+
-		"\u0001\u0001\u0001\u0001\u0005\u0001)\b\u0001\n\u0001\f\u0001,\t\u0001"+
-		"\u0001\u0002\u0001\u0002\u0001\u0002\u0001\u0002\u0001\u0002\u0001\u0002"+
-		"\u0001\u0002\u0001\u0003\u0001\u0003\u0001\u0003\u0001\u0003\u0001\u0003"+
-		"\u0001\u0003\u0001\u0003\u0001\u0004\u0001\u0004\u0001\u0004\u0001\u0004"+
-		"\u0001\u0004\u0001\u0004\u0001\u0004\u0001\u0005\u0001\u0005\u0001\u0005"+
-		"\u0001\u0005\u0001\u0005\u0001\u0005\u0001\u0005\u0001\u0006\u0001\u0006"+
-		"\u0001\u0006\u0001\u0006\u0001\u0006\u0001\u0006\u0001\u0007\u0001\u0007"+
-		"\u0001\u0007\u0001\u0007\u0005\u0007T\b\u0007\n\u0007\f\u0007W\t\u0007"+
-		"\u0001\b\u0001\b\u0001\b\u0001\b\u0001\b\u0001\t\u0001\t\u0001\t\u0001"+
-		"\n\u0001\n\u0001\n\u0001\u000b\u0001\u000b\u0001\u000b\u0001\f\u0001\f"+
-		"\u0001\f\u0005\fj\b\f\n\f\f\fm\t\f\u0001\r\u0001\r\u0001\r\u0001\r\u0001"+
-		"\r\u0001\r\u0001\u000e\u0001\u000e\u0001\u000e\u0005\u000ex\b\u000e\n"+
-		"\u000e\f\u000e{\t\u000e\u0001\u000e\u0000\u0000\u000f\u0000\u0002\u0004"+
-		"\u0006\b\n\f\u000e\u0010\u0012\u0014\u0016\u0018\u001a\u001c\u0000\u0000"+
-		"t\u0000\u001e\u0001\u0000\u0000\u0000\u0002!\u0001\u0000\u0000\u0000\u0004"+
-		"-\u0001\u0000\u0000\u0000\u00064\u0001\u0000\u0000\u0000\b;\u0001\u0000"+
-		"\u0000\u0000\nB\u0001\u0000\u0000\u0000\fI\u0001\u0000\u0000\u0000\u000e"+
-		"O\u0001\u0000\u0000\u0000\u0010X\u0001\u0000\u0000\u0000\u0012]\u0001"+
-		"\u0000\u0000\u0000\u0014`\u0001\u0000\u0000\u0000\u0016c\u0001\u0000\u0000"+
-		"\u0000\u0018f\u0001\u0000\u0000\u0000\u001an\u0001\u0000\u0000\u0000\u001c"+
-		"t\u0001\u0000\u0000\u0000\u001e\u001f\u0003\u0002\u0001\u0000\u001f \u0005"+
-		"\u0000\u0000\u0001 \u0001\u0001\u0000\u0000\u0000!\"\u0003\u0004\u0002"+
-		"\u0000\"#\u0003\u0006\u0003\u0000#*\u0003\b\u0004\u0000$)\u0003\n\u0005"+
-		"\u0000%)\u0003\f\u0006\u0000&)\u0003\u000e\u0007\u0000\')\u0003\u0010"+
-		"\b\u0000($\u0001\u0000\u0000\u0000(%\u0001\u0000\u0000\u0000(&\u0001\u0000"+
-		"\u0000\u0000(\'\u0001\u0000\u0000\u0000),\u0001\u0000\u0000\u0000*(\u0001"+
-		"\u0000\u0000\u0000*+\u0001\u0000\u0000\u0000+\u0003\u0001\u0000\u0000"+
-		"\u0000,*\u0001\u0000\u0000\u0000-.\u0005\u0001\u0000\u0000./\u0005\u0002"+
-		"\u0000\u0000/0\u0005\u0012\u0000\u000001\u0005\u0003\u0000\u000012\u0005"+
-		"\u0012\u0000\u000023\u0005\u0004\u0000\u00003\u0005\u0001\u0000\u0000"+
-		"\u000045\u0005\u0005\u0000\u000056\u0005\u0002\u0000\u000067\u0005\u0012"+
-		"\u0000\u000078\u0005\u0003\u0000\u000089\u0005\u0012\u0000\u00009:\u0005"+
-		"\u0004\u0000\u0000:\u0007\u0001\u0000\u0000\u0000;<\u0005\u0006\u0000"+
-		"\u0000<=\u0005\u0002\u0000\u0000=>\u0005\u0012\u0000\u0000>?\u0005\u0003"+
-		"\u0000\u0000?@\u0005\u0012\u0000\u0000@A\u0005\u0004\u0000\u0000A\t\u0001"+
-		"\u0000\u0000\u0000BC\u0005\u0007\u0000\u0000CD\u0005\u0013\u0000\u0000"+
-		"DE\u0005\b\u0000\u0000EF\u0003\u0012\t\u0000FG\u0003\u0014\n\u0000GH\u0005"+
-		"\t\u0000\u0000H\u000b\u0001\u0000\u0000\u0000IJ\u0005\n\u0000\u0000JK"+
-		"\u0005\b\u0000\u0000KL\u0003\u0012\t\u0000LM\u0003\u0016\u000b\u0000M"+
-		"N\u0005\t\u0000\u0000N\r\u0001\u0000\u0000\u0000OP\u0005\u000b\u0000\u0000"+
-		"PU\u0005\u0014\u0000\u0000QR\u0005\f\u0000\u0000RT\u0005\u0014\u0000\u0000"+
-		"SQ\u0001\u0000\u0000\u0000TW\u0001\u0000\u0000\u0000US\u0001\u0000\u0000"+
-		"\u0000UV\u0001\u0000\u0000\u0000V\u000f\u0001\u0000\u0000\u0000WU\u0001"+
-		"\u0000\u0000\u0000XY\u0005\r\u0000\u0000YZ\u0005\u000e\u0000\u0000Z[\u0005"+
-		"\u0015\u0000\u0000[\\\u0005\t\u0000\u0000\\\u0011\u0001\u0000\u0000\u0000"+
-		"]^\u0005\u000f\u0000\u0000^_\u0003\u0018\f\u0000_\u0013\u0001\u0000\u0000"+
-		"\u0000`a\u0005\u0010\u0000\u0000ab\u0005\u0013\u0000\u0000b\u0015\u0001"+
-		"\u0000\u0000\u0000cd\u0005\u0011\u0000\u0000de\u0003\u001c\u000e\u0000"+
-		"e\u0017\u0001\u0000\u0000\u0000fk\u0003\u001a\r\u0000gh\u0005\u0003\u0000"+
-		"\u0000hj\u0003\u001a\r\u0000ig\u0001\u0000\u0000\u0000jm\u0001\u0000\u0000"+
-		"\u0000ki\u0001\u0000\u0000\u0000kl\u0001\u0000\u0000\u0000l\u0019\u0001"+
-		"\u0000\u0000\u0000mk\u0001\u0000\u0000\u0000no\u0005\u0002\u0000\u0000"+
-		"op\u0005\u0012\u0000\u0000pq\u0005\u0003\u0000\u0000qr\u0005\u0012\u0000"+
-		"\u0000rs\u0005\u0004\u0000\u0000s\u001b\u0001\u0000\u0000\u0000ty\u0005"+
-		"\u0013\u0000\u0000uv\u0005\u0003\u0000\u0000vx\u0005\u0013\u0000\u0000"+
-		"wu\u0001\u0000\u0000\u0000x{\u0001\u0000\u0000\u0000yw\u0001\u0000\u0000"+
-		"\u0000yz\u0001\u0000\u0000\u0000z\u001d\u0001\u0000\u0000\u0000{y\u0001"+
-		"\u0000\u0000\u0000\u0005(*Uky";
+		"\u0004\u0001\u0019\u0093\u0002\u0000\u0007\u0000\u0002\u0001\u0007\u0001"+
+		"\u0002\u0002\u0007\u0002\u0002\u0003\u0007\u0003\u0002\u0004\u0007\u0004"+
+		"\u0002\u0005\u0007\u0005\u0002\u0006\u0007\u0006\u0002\u0007\u0007\u0007"+
+		"\u0002\b\u0007\b\u0002\t\u0007\t\u0002\n\u0007\n\u0002\u000b\u0007\u000b"+
+		"\u0002\f\u0007\f\u0002\r\u0007\r\u0002\u000e\u0007\u000e\u0002\u000f\u0007"+
+		"\u000f\u0002\u0010\u0007\u0010\u0002\u0011\u0007\u0011\u0001\u0000\u0001"+
+		"\u0000\u0001\u0000\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001"+
+		"\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0005\u00010\b\u0001\n\u0001"+
+		"\f\u00013\t\u0001\u0001\u0002\u0001\u0002\u0001\u0002\u0001\u0002\u0001"+
+		"\u0002\u0001\u0002\u0001\u0002\u0001\u0003\u0001\u0003\u0001\u0003\u0001"+
+		"\u0003\u0001\u0003\u0001\u0003\u0001\u0003\u0001\u0004\u0001\u0004\u0001"+
+		"\u0004\u0001\u0004\u0001\u0004\u0001\u0004\u0001\u0004\u0001\u0005\u0001"+
+		"\u0005\u0001\u0005\u0001\u0005\u0001\u0005\u0001\u0005\u0001\u0005\u0001"+
+		"\u0006\u0001\u0006\u0001\u0006\u0001\u0006\u0001\u0006\u0001\u0006\u0001"+
+		"\u0007\u0001\u0007\u0001\u0007\u0001\u0007\u0005\u0007[\b\u0007\n\u0007"+
+		"\f\u0007^\t\u0007\u0001\b\u0001\b\u0001\b\u0001\t\u0001\t\u0001\t\u0003"+
+		"\tf\b\t\u0001\n\u0001\n\u0001\n\u0001\u000b\u0001\u000b\u0001\u000b\u0001"+
+		"\f\u0001\f\u0001\f\u0001\r\u0001\r\u0001\r\u0001\r\u0001\r\u0001\r\u0001"+
+		"\r\u0001\u000e\u0001\u000e\u0001\u000e\u0005\u000e{\b\u000e\n\u000e\f"+
+		"\u000e~\t\u000e\u0001\u000f\u0001\u000f\u0001\u000f\u0001\u000f\u0001"+
+		"\u000f\u0001\u000f\u0001\u0010\u0001\u0010\u0001\u0010\u0005\u0010\u0089"+
+		"\b\u0010\n\u0010\f\u0010\u008c\t\u0010\u0001\u0011\u0003\u0011\u008f\b"+
+		"\u0011\u0001\u0011\u0001\u0011\u0001\u0011\u0000\u0000\u0012\u0000\u0002"+
+		"\u0004\u0006\b\n\f\u000e\u0010\u0012\u0014\u0016\u0018\u001a\u001c\u001e"+
+		" \"\u0000\u0000\u008a\u0000$\u0001\u0000\u0000\u0000\u0002\'\u0001\u0000"+
+		"\u0000\u0000\u00044\u0001\u0000\u0000\u0000\u0006;\u0001\u0000\u0000\u0000"+
+		"\bB\u0001\u0000\u0000\u0000\nI\u0001\u0000\u0000\u0000\fP\u0001\u0000"+
+		"\u0000\u0000\u000eV\u0001\u0000\u0000\u0000\u0010_\u0001\u0000\u0000\u0000"+
+		"\u0012b\u0001\u0000\u0000\u0000\u0014g\u0001\u0000\u0000\u0000\u0016j"+
+		"\u0001\u0000\u0000\u0000\u0018m\u0001\u0000\u0000\u0000\u001ap\u0001\u0000"+
+		"\u0000\u0000\u001cw\u0001\u0000\u0000\u0000\u001e\u007f\u0001\u0000\u0000"+
+		"\u0000 \u0085\u0001\u0000\u0000\u0000\"\u008e\u0001\u0000\u0000\u0000"+
+		"$%\u0003\u0002\u0001\u0000%&\u0005\u0000\u0000\u0001&\u0001\u0001\u0000"+
+		"\u0000\u0000\'(\u0003\u0004\u0002\u0000()\u0003\u0006\u0003\u0000)1\u0003"+
+		"\b\u0004\u0000*0\u0003\n\u0005\u0000+0\u0003\f\u0006\u0000,0\u0003\u000e"+
+		"\u0007\u0000-0\u0003\u0010\b\u0000.0\u0003\u0012\t\u0000/*\u0001\u0000"+
+		"\u0000\u0000/+\u0001\u0000\u0000\u0000/,\u0001\u0000\u0000\u0000/-\u0001"+
+		"\u0000\u0000\u0000/.\u0001\u0000\u0000\u000003\u0001\u0000\u0000\u0000"+
+		"1/\u0001\u0000\u0000\u000012\u0001\u0000\u0000\u00002\u0003\u0001\u0000"+
+		"\u0000\u000031\u0001\u0000\u0000\u000045\u0005\u0001\u0000\u000056\u0005"+
+		"\u0002\u0000\u000067\u0005\u0014\u0000\u000078\u0005\u0003\u0000\u0000"+
+		"89\u0005\u0014\u0000\u00009:\u0005\u0004\u0000\u0000:\u0005\u0001\u0000"+
+		"\u0000\u0000;<\u0005\u0005\u0000\u0000<=\u0005\u0002\u0000\u0000=>\u0005"+
+		"\u0014\u0000\u0000>?\u0005\u0003\u0000\u0000?@\u0005\u0014\u0000\u0000"+
+		"@A\u0005\u0004\u0000\u0000A\u0007\u0001\u0000\u0000\u0000BC\u0005\u0006"+
+		"\u0000\u0000CD\u0005\u0002\u0000\u0000DE\u0005\u0014\u0000\u0000EF\u0005"+
+		"\u0003\u0000\u0000FG\u0005\u0014\u0000\u0000GH\u0005\u0004\u0000\u0000"+
+		"H\t\u0001\u0000\u0000\u0000IJ\u0005\u0007\u0000\u0000JK\u0005\u0015\u0000"+
+		"\u0000KL\u0005\b\u0000\u0000LM\u0003\u0014\n\u0000MN\u0003\u0016\u000b"+
+		"\u0000NO\u0005\t\u0000\u0000O\u000b\u0001\u0000\u0000\u0000PQ\u0005\n"+
+		"\u0000\u0000QR\u0005\b\u0000\u0000RS\u0003\u0014\n\u0000ST\u0003\u0018"+
+		"\f\u0000TU\u0005\t\u0000\u0000U\r\u0001\u0000\u0000\u0000VW\u0005\u000b"+
+		"\u0000\u0000W\\\u0005\u0016\u0000\u0000XY\u0005\f\u0000\u0000Y[\u0005"+
+		"\u0016\u0000\u0000ZX\u0001\u0000\u0000\u0000[^\u0001\u0000\u0000\u0000"+
+		"\\Z\u0001\u0000\u0000\u0000\\]\u0001\u0000\u0000\u0000]\u000f\u0001\u0000"+
+		"\u0000\u0000^\\\u0001\u0000\u0000\u0000_`\u0005\r\u0000\u0000`a\u0005"+
+		"\u0017\u0000\u0000a\u0011\u0001\u0000\u0000\u0000bc\u0005\u000e\u0000"+
+		"\u0000ce\u0005\u0015\u0000\u0000df\u0003\u001a\r\u0000ed\u0001\u0000\u0000"+
+		"\u0000ef\u0001\u0000\u0000\u0000f\u0013\u0001\u0000\u0000\u0000gh\u0005"+
+		"\u000f\u0000\u0000hi\u0003\u001c\u000e\u0000i\u0015\u0001\u0000\u0000"+
+		"\u0000jk\u0005\u0010\u0000\u0000kl\u0005\u0015\u0000\u0000l\u0017\u0001"+
+		"\u0000\u0000\u0000mn\u0005\u0011\u0000\u0000no\u0003 \u0010\u0000o\u0019"+
+		"\u0001\u0000\u0000\u0000pq\u0005\u0012\u0000\u0000qr\u0005\u0002\u0000"+
+		"\u0000rs\u0003\"\u0011\u0000st\u0005\u0003\u0000\u0000tu\u0003\"\u0011"+
+		"\u0000uv\u0005\u0004\u0000\u0000v\u001b\u0001\u0000\u0000\u0000w|\u0003"+
+		"\u001e\u000f\u0000xy\u0005\u0003\u0000\u0000y{\u0003\u001e\u000f\u0000"+
+		"zx\u0001\u0000\u0000\u0000{~\u0001\u0000\u0000\u0000|z\u0001\u0000\u0000"+
+		"\u0000|}\u0001\u0000\u0000\u0000}\u001d\u0001\u0000\u0000\u0000~|\u0001"+
+		"\u0000\u0000\u0000\u007f\u0080\u0005\u0002\u0000\u0000\u0080\u0081\u0005"+
+		"\u0014\u0000\u0000\u0081\u0082\u0005\u0003\u0000\u0000\u0082\u0083\u0005"+
+		"\u0014\u0000\u0000\u0083\u0084\u0005\u0004\u0000\u0000\u0084\u001f\u0001"+
+		"\u0000\u0000\u0000\u0085\u008a\u0005\u0015\u0000\u0000\u0086\u0087\u0005"+
+		"\u0003\u0000\u0000\u0087\u0089\u0005\u0015\u0000\u0000\u0088\u0086\u0001"+
+		"\u0000\u0000\u0000\u0089\u008c\u0001\u0000\u0000\u0000\u008a\u0088\u0001"+
+		"\u0000\u0000\u0000\u008a\u008b\u0001\u0000\u0000\u0000\u008b!\u0001\u0000"+
+		"\u0000\u0000\u008c\u008a\u0001\u0000\u0000\u0000\u008d\u008f\u0005\u0013"+
+		"\u0000\u0000\u008e\u008d\u0001\u0000\u0000\u0000\u008e\u008f\u0001\u0000"+
+		"\u0000\u0000\u008f\u0090\u0001\u0000\u0000\u0000\u0090\u0091\u0005\u0014"+
+		"\u0000\u0000\u0091#\u0001\u0000\u0000\u0000\u0007/1\\e|\u008a\u008e";
 	public static final ATN _ATN =
 		new ATNDeserializer().deserialize(_serializedATN.toCharArray());
 	static {
@@ -0,0 +1,519 @@
+package edu.curtin.game.generator;
+
+import edu.curtin.game.ConfigSink;
+import edu.curtin.game.CoordinateList;
+import edu.curtin.game.GameConfig;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Procedural generator for large maps, for reproducing scaling problems that
+ * the small hand-written maps never hit.
+ *
+ * Usage:
+ *   MapGenerator output widthxheight [--seed N] [--items D] [--obstacles D]
+ *                [--requirements D] [--kinds N] [--threads N]
+ *
+ * A map is generated in bands of BAND_ROWS rows. Each band is filled by its
+ * own random stream, derived from the seed and the band index, so bands can be
+ * generated in parallel and the same seed always gives the same map, whatever
+ * the number of threads. Bands are written (or sent to a ConfigSink) in
+ * order as they complete, with only a few in memory at once, so a 100k x 100k
+ * map can be written without holding it all. An output name ending in .gz is
+ * gzip-compressed, which the parsers read directly.
+ *
+ * Each cell holds an item with probability itemDensity, or otherwise an
+ * obstacle with probability obstacleDensity. Obstacles require one item kind,
+ * plus each other kind with probability requirementDensity. The map is
+ * always solvable without any items: a path from the start (top row) to the
+ * goal (bottom row) runs down one column per band, and along the bottom row
+ * of each band to the next band's column, and no obstacle is placed on it.
+ */
+public class MapGenerator {
+    /** Rows per band. Fixed, so the bands (and the map) do not depend on the thread count. */
+    public static final int BAND_ROWS = 64;
+
+    private static final int REQUIREMENT_SETS = 16;       // Distinct obstacle requirement lists per map
+    private static final int LOCATIONS_PER_LINE = 8;      // Locations per line of a written "at" list
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private final int width;
+    private final int height;
+    private final long seed;
+    private final double itemDensity;
+    private final double obstacleDensity;
+    private final double requirementDensity;
+    private final int threads;
+
+    private final List<String> itemNames;                  // Item kinds, "Key 1" onwards
+    private final List<List<String>> requirementSets;      // Shared lists, so each obstacle reuses one
+    private final int bands;
+    private final int[] pathColumns;                       // Column of the path in each band, then the goal column
+
+    /**
+     * Settings for a MapGenerator. Every setting has a default, so
+     * new Builder().setSize(w, h).build() gives a usable generator.
+     */
+    public static class Builder {
+        private int width = 100;
+        private int height = 100;
+        private long seed;
+        private double itemDensity = 0.02;
+        private double obstacleDensity = 0.15;
+        private double requirementDensity = 0.25;
+        private int itemKinds = 8;
+        private int threads = Runtime.getRuntime().availableProcessors();
+
+        public Builder setSize(int width, int height) {   //sets the grid dimensions
+            this.width = width;
+            this.height = height;
+            return this;
+        }
+
+        public Builder setSeed(long seed) {   //sets the seed that the whole map is derived from
+            this.seed = seed;
+            return this;
+        }
+
+        public Builder setItemDensity(double density) {   //sets the fraction of cells holding an item
+            this.itemDensity = density;
+            return this;
+        }
+
+        public Builder setObstacleDensity(double density) {   //sets the fraction of cells holding an obstacle
+            this.obstacleDensity = density;
+            return this;
+        }
+
+        public Builder setRequirementDensity(double density) {   //sets the chance an obstacle needs each extra item kind
+            this.requirementDensity = density;
+            return this;
+        }
+
+        public Builder setItemKinds(int kinds) {   //sets the number of distinct item names
+            this.itemKinds = kinds;
+            return this;
+        }
+
+        public Builder setThreads(int threads) {   //sets the number of bands generated at once
+            this.threads = threads;
+            return this;
+        }
+
+        /**
+         * Checks the settings and creates the generator.
+         *
+         * @return The generator
+         * @throws IllegalArgumentException if a setting is out of range
+         */
+        public MapGenerator build() {
+            if (width < 2 || height < 2) {
+                throw new IllegalArgumentException("size must be at least 2x2, not " + width + "x" + height);
+            }
+            if (itemDensity < 0 || obstacleDensity < 0 || itemDensity + obstacleDensity > 1) {
+                throw new IllegalArgumentException("item and obstacle densities must be at least 0 and add up to at most 1");
+            }
+            if (requirementDensity < 0 || requirementDensity > 1) {
+                throw new IllegalArgumentException("requirement density must be between 0 and 1");
+            }
+            if (itemKinds < 1) {
+                throw new IllegalArgumentException("there must be at least one item kind");
+            }
+            if (threads < 1) {
+                throw new IllegalArgumentException("there must be at least one thread");
+            }
+            return new MapGenerator(this);
+        }
+    }
+
+    private MapGenerator(Builder builder) {
+        this.width = builder.width;
+        this.height = builder.height;
+        this.seed = builder.seed;
+        this.itemDensity = builder.itemDensity;
+        this.obstacleDensity = builder.obstacleDensity;
+        this.requirementDensity = builder.requirementDensity;
+        this.threads = builder.threads;
+
+        List<String> names = new ArrayList<>(builder.itemKinds);
+        for (int kind = 1; kind <= builder.itemKinds; kind++) {
+            names.add("Key " + kind);
+        }
+        this.itemNames = List.copyOf(names);
+
+        // Everything outside the bands comes from one stream, in a fixed order
+        SplittableRandom random = new SplittableRandom(seed);
+        this.requirementSets = new ArrayList<>(REQUIREMENT_SETS);
+        for (int i = 0; i < REQUIREMENT_SETS; i++) {
+            requirementSets.add(randomRequirements(random));
+        }
+        this.bands = (height + BAND_ROWS - 1) / BAND_ROWS;
+        this.pathColumns = new int[bands + 1];
+        for (int band = 0; band <= bands; band++) {
+            pathColumns[band] = random.nextInt(width);
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2 || args.length % 2 != 0) {
+            printUsage();
+            return;
+        }
+        MapGenerator generator;
+        try {
+            generator = parseArguments(args);
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage());
+            printUsage();
+            return;
+        }
+
+        Path output = Path.of(args[0]);
+        long startTime = System.nanoTime();
+        generator.write(output);
+        double seconds = (System.nanoTime() - startTime) / 1e9;
+        long bytes = Files.size(output);
+        System.out.printf("Wrote %dx%d map to %s: %.1f MB in %.2f s (%.1f MB/s, %d threads)%n",
+            generator.width, generator.height, output, bytes / 1e6, seconds, bytes / 1e6 / seconds, generator.threads);
+    }
+
+    public int getWidth() { return width; }   //getter for the grid width
+    public int getHeight() { return height; }   //getter for the grid height
+    public int getStartX() { return pathColumns[0]; }   //start is on the top row
+    public int getStartY() { return 0; }
+    public int getGoalX() { return pathColumns[bands]; }   //goal is on the bottom row
+    public int getGoalY() { return height - 1; }
+
+    /**
+     * Generates the map as a GameConfig. The whole map is held in memory, so
+     * for the largest sizes write it to a file instead.
+     *
+     * @return The generated configuration
+     */
+    public GameConfig generate() {
+        GameConfig.Builder config = new GameConfig.Builder();
+        generate(config);
+        return config.build();
+    }
+
+    /**
+     * Sends the map to a sink, band by band, in the same order as write.
+     *
+     * @param sink Receives the declarations
+     */
+    public void generate(ConfigSink sink) {
+        sink.onSize(width, height);
+        sink.onStart(getStartX(), getStartY());
+        sink.onGoal(getGoalX(), getGoalY());
+        try {
+            runBands(this::generateBand, band -> send(band, sink));
+        } catch (IOException e) {
+            throw new IllegalStateException("A sink cannot throw IOException", e);   // send() never does
+        }
+    }
+
+    /**
+     * Writes the map as DSL text to a file, gzip-compressed if the name ends
+     * with .gz.
+     *
+     * @param file The output file, replaced if it exists
+     * @throws IOException if the file cannot be written
+     */
+    public void write(Path file) throws IOException {
+        OutputStream out = new BufferedOutputStream(Files.newOutputStream(file), 1 << 16);
+        if (file.getFileName().toString().endsWith(".gz")) {
+            out = new GZIPOutputStream(out, 1 << 16);
+        }
+        try (OutputStream stream = out) {
+            write(stream);
+        }
+    }
+
+    /**
+     * Writes the map as UTF-8 DSL text. Bands are rendered to text in
+     * parallel and written in order.
+     *
+     * @param out Receives the text (not closed by this method)
+     * @throws IOException if writing fails
+     */
+    public void write(OutputStream out) throws IOException {
+        String header = "// Generated by MapGenerator: seed " + seed + ", item density " + itemDensity
+            + ", obstacle density " + obstacleDensity + ", requirement density " + requirementDensity
+            + ", " + itemNames.size() + " item kinds\n"
+            + "size (" + width + ", " + height + ")\n"
+            + "start (" + getStartX() + ", " + getStartY() + ")\n"
+            + "goal (" + getGoalX() + ", " + getGoalY() + ")\n";
+        out.write(header.getBytes(StandardCharsets.UTF_8));
+        runBands(index -> render(generateBand(index)), out::write);
+    }
+
+    /**
+     * Locations chosen for one band, grouped by item kind and requirement set.
+     */
+    private static class Band {
+        private final LocationList[] items;
+        private final LocationList[] obstacles;
+
+        private Band(int itemKinds, int requirementSets) {
+            items = new LocationList[itemKinds];
+            obstacles = new LocationList[requirementSets];
+            for (int i = 0; i < itemKinds; i++) {
+                items[i] = new LocationList();
+            }
+            for (int i = 0; i < requirementSets; i++) {
+                obstacles[i] = new LocationList();
+            }
+        }
+    }
+
+    /**
+     * Growable list of packed coordinates (see CoordinateList.pack).
+     */
+    private static class LocationList {
+        private long[] packed = new long[16];
+        private int size;
+
+        private void add(int x, int y) {   //appends a location, doubling the array when full
+            if (size == packed.length) {
+                packed = Arrays.copyOf(packed, size * 2);
+            }
+            packed[size++] = CoordinateList.pack(x, y);
+        }
+    }
+
+    /**
+     * Something done with each finished band, in band order.
+     */
+    private interface BandConsumer<T> {
+        void accept(T band) throws IOException;
+    }
+
+    private Band generateBand(int index) {   //fills one band from its own random stream
+        Band band = new Band(itemNames.size(), requirementSets.size());
+        SplittableRandom random = new SplittableRandom(mix(seed + (index + 1) * GOLDEN_GAMMA));
+        int firstRow = index * BAND_ROWS;
+        long cells = (long) Math.min(BAND_ROWS, height - firstRow) * width;
+        double density = itemDensity + obstacleDensity;
+
+        // Jump straight to the next occupied cell, so sparse maps cost time per
+        // occupied cell rather than per cell
+        long cell = -1;
+        while (true) {
+            long gap = gap(random, density);
+            if (gap >= cells - cell - 1) {
+                return band;
+            }
+            cell += gap + 1;
+            int x = (int) (cell % width);
+            int y = firstRow + (int) (cell / width);
+            boolean item = random.nextDouble() * density < itemDensity;
+            int choice = random.nextInt(item ? itemNames.size() : requirementSets.size());
+            if (isStartOrGoal(x, y)) {
+                continue;
+            }
+            if (item) {
+                band.items[choice].add(x, y);
+            } else if (!isOnPath(x, y)) {
+                band.obstacles[choice].add(x, y);
+            }
+        }
+    }
+
+    /**
+     * Number of empty cells before the next occupied one: geometrically
+     * distributed, as if each cell were occupied with the given probability.
+     */
+    private static long gap(SplittableRandom random, double density) {
+        if (density >= 1) {
+            return 0;
+        }
+        if (density <= 0) {
+            return Long.MAX_VALUE;
+        }
+        return (long) (Math.log(1 - random.nextDouble()) / Math.log1p(-density));
+    }
+
+    private boolean isStartOrGoal(int x, int y) {
+        return (x == getStartX() && y == getStartY()) || (x == getGoalX() && y == getGoalY());
+    }
+
+    /**
+     * Whether a cell is on the guaranteed path: the band's column, or the
+     * stretch of the band's bottom row that leads to the next band's column
+     * (the goal's column, for the last band).
+     */
+    private boolean isOnPath(int x, int y) {
+        int band = y / BAND_ROWS;
+        int column = pathColumns[band];
+        if (x == column) {
+            return true;
+        }
+        int bottomRow = Math.min(height, (band + 1) * BAND_ROWS) - 1;
+        int next = pathColumns[band + 1];
+        return y == bottomRow && x >= Math.min(column, next) && x <= Math.max(column, next);
+    }
+
+    private List<String> randomRequirements(SplittableRandom random) {   //one item kind, plus each other kind with requirementDensity
+        int first = random.nextInt(itemNames.size());
+        List<String> requirements = new ArrayList<>();
+        for (int kind = 0; kind < itemNames.size(); kind++) {
+            if (kind == first || random.nextDouble() < requirementDensity) {
+                requirements.add(itemNames.get(kind));
+            }
+        }
+        return List.copyOf(requirements);
+    }
+
+    private void send(Band band, ConfigSink sink) {   //sends one band's locations to a sink
+        for (int kind = 0; kind < band.items.length; kind++) {
+            LocationList locations = band.items[kind];
+            String name = itemNames.get(kind);
+            String message = message(kind);
+            for (int i = 0; i < locations.size; i++) {
+                long packed = locations.packed[i];
+                sink.onItemLocation(name, CoordinateList.unpackX(packed), CoordinateList.unpackY(packed), message);
+            }
+        }
+        for (int set = 0; set < band.obstacles.length; set++) {
+            LocationList locations = band.obstacles[set];
+            List<String> requirements = requirementSets.get(set);
+            for (int i = 0; i < locations.size; i++) {
+                long packed = locations.packed[i];
+                sink.onObstacleLocation(CoordinateList.unpackX(packed), CoordinateList.unpackY(packed), requirements);
+            }
+        }
+    }
+
+    private byte[] render(Band band) {   //one band as DSL text: a declaration per item kind and requirement set
+        StringBuilder out = new StringBuilder(4096);
+        for (int kind = 0; kind < band.items.length; kind++) {
+            if (band.items[kind].size > 0) {
+                out.append("\nitem \"").append(itemNames.get(kind)).append("\" {\n    at ");
+                appendLocations(out, band.items[kind]);
+                out.append("\n    message \"").append(message(kind)).append("\"\n}\n");
+            }
+        }
+        for (int set = 0; set < band.obstacles.length; set++) {
+            if (band.obstacles[set].size > 0) {
+                out.append("\nobstacle {\n    at ");
+                appendLocations(out, band.obstacles[set]);
+                out.append("\n    requires ");
+                List<String> requirements = requirementSets.get(set);
+                for (int i = 0; i < requirements.size(); i++) {
+                    out.append(i == 0 ? "\"" : ", \"").append(requirements.get(i)).append('"');
+                }
+                out.append("\n}\n");
+            }
+        }
+        return out.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void appendLocations(StringBuilder out, LocationList locations) {   //"(x, y), (x, y)", wrapped every few locations
+        for (int i = 0; i < locations.size; i++) {
+            if (i > 0) {
+                out.append(i % LOCATIONS_PER_LINE == 0 ? ",\n       " : ", ");
+            }
+            long packed = locations.packed[i];
+            out.append('(').append(CoordinateList.unpackX(packed)).append(", ")
+                .append(CoordinateList.unpackY(packed)).append(')');
+        }
+    }
+
+    private String message(int kind) {
+        return "Opens obstacles that need " + itemNames.get(kind) + ".";
+    }
+
+    /**
+     * Generates every band on a pool of threads and hands them to a consumer
+     * in order. At most two bands per thread are generated ahead of the
+     * consumer, which bounds the memory used however large the map is.
+     */
+    private <T> void runBands(IntFunction<T> task, BandConsumer<T> consumer) throws IOException {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            Deque<Future<T>> pending = new ArrayDeque<>();
+            int next = 0;
+            for (int done = 0; done < bands; done++) {
+                while (next < bands && pending.size() < threads * 2) {
+                    int index = next++;
+                    pending.add(pool.submit(() -> task.apply(index)));
+                }
+                consumer.accept(getBand(pending.poll()));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static <T> T getBand(Future<T> future) {   //waits for one band
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while generating a map", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Generating a band failed unexpectedly", e);
+        }
+    }
+
+    private static long mix(long z) {   //scrambles a seed, so neighbouring bands get unrelated streams
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static MapGenerator parseArguments(String[] args) {   //builds a generator from the command line
+        String[] size = args[1].split("x");
+        if (size.length != 2) {
+            throw new IllegalArgumentException("size must be given as <width>x<height>, not " + args[1]);
+        }
+        Builder builder = new Builder().setSize(Integer.parseInt(size[0]), Integer.parseInt(size[1]));
+        for (int i = 2; i < args.length; i += 2) {
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "--seed":
+                    builder.setSeed(Long.parseLong(value));
+                    break;
+                case "--items":
+                    builder.setItemDensity(Double.parseDouble(value));
+                    break;
+                case "--obstacles":
+                    builder.setObstacleDensity(Double.parseDouble(value));
+                    break;
+                case "--requirements":
+                    builder.setRequirementDensity(Double.parseDouble(value));
+                    break;
+                case "--kinds":
+                    builder.setItemKinds(Integer.parseInt(value));
+                    break;
+                case "--threads":
+                    builder.setThreads(Integer.parseInt(value));
+                    break;
+                default:
+                    throw new IllegalArgumentException("unknown option " + args[i]);
+            }
+        }
+        return builder.build();
+    }
+
+    private static void printUsage() {
+        System.out.println("Usage: MapGenerator <output> <width>x<height> [--seed N] [--items D] [--obstacles D]"
+            + " [--requirements D] [--kinds N] [--threads N]");
+    }
+}
@@ -70,37 +70,28 @@ public class Penalty implements Plugin, Callback {
     }
     
     private void createPenaltyObstacle(int playerX, int playerY) {
-        // Find an empty adjacent square
-        int[] directions = {-1, 0, 1};
-        for (int dy : directions) {
-            for (int dx : directions) {
-                if (dx == 0 && dy == 0) {
-                    continue; // Skip the player's position
-                }
-                
-                int newX = playerX + dx;
-                int newY = playerY + dy;
-                
-                // Check bounds
-                int[] gridSize = api.getGridSize();
-                if (newX < 0 || newX >= gridSize[0] || newY < 0 || newY >= gridSize[1]) {
-                    continue;
-                }
-                
-                // Check if the square is empty
-                if ("empty".equals(api.getGridSquareContents(newX, newY))) {
-                    // Create a penalty obstacle that requires a random item (impossible to obtain)
-                    String penaltyItem = "Penalty Key " + random.nextInt(1000);
-                    api.addObstacleToGrid(newX, newY, penaltyItem);
-                    
-                    // Make it visible
-                    api.setGridSquareVisible(newX, newY, true);
-                    
-                    System.out.println("Penalty obstacle created at (" + newX + ", " + newY + 
-                                     ") requiring: " + penaltyItem);
-                    return;
-                }
+        // Find an empty adjacent square; the list is already clipped to the grid
+        int[] target = null;
+        for (int[] square : api.emptyCellsNear(playerX, playerY, 1)) {
+            if (square[0] != playerX || square[1] != playerY) { // Skip the player's position
+                target = square;
+                break;
             }
         }
+        if (target == null) {
+            return;
+        }
+        int newX = target[0];
+        int newY = target[1];
+        
+        // Create a penalty obstacle that requires a random item (impossible to obtain)
+        String penaltyItem = "Penalty Key " + random.nextInt(1000);
+        api.addObstacleToGrid(newX, newY, penaltyItem);
+        
+        // Make it visible
+        api.setGridSquareVisible(newX, newY, true);
+        
+        System.out.println("Penalty obstacle created at (" + newX + ", " + newY + 
+                         ") requiring: " + penaltyItem);
     }
 }
@@ -54,32 +54,20 @@ public class Reveal implements Plugin, Callback {
     }
     
     private void revealGoalAndItems() {
-        int[] gridSize = api.getGridSize();   //gets the grid size
-        int width = gridSize[0];
-        int height = gridSize[1];
-        
-        // Reveal the goal
-        for (int y = 0; y < height; y++) {
-            for (int x = 0; x < width; x++) {
-                String contents = api.getGridSquareContents(x, y);
-                if ("goal".equals(contents)) {
-                    api.setGridSquareVisible(x, y, true);
-                    System.out.println("Goal revealed at (" + x + ", " + y + ")");
-                }
-            }
-        }
+        // The game indexes squares by contents, so only the goal and the items are visited
+        api.forEachCellOfType("goal", (x, y) -> {
+            api.setGridSquareVisible(x, y, true);
+            System.out.println("Goal revealed at (" + x + ", " + y + ")");
+        });
         
         // Reveal all hidden items
-        for (int y = 0; y < height; y++) {
-            for (int x = 0; x < width; x++) {
-                String contents = api.getGridSquareContents(x, y);
-                if ("item".equals(contents) && !api.isGridSquareVisible(x, y)) {
-                    api.setGridSquareVisible(x, y, true);
-                    String itemName = api.getItemAt(x, y);
-                    System.out.println("Hidden item revealed at (" + x + ", " + y + "): " + itemName);
-                }
+        api.forEachCellOfType("item", (x, y) -> {
+            if (!api.isGridSquareVisible(x, y)) {
+                api.setGridSquareVisible(x, y, true);
+                String itemName = api.getItemAt(x, y);
+                System.out.println("Hidden item revealed at (" + x + ", " + y + "): " + itemName);
             }
-        }
+        });
         
         System.out.println("Map item acquired! Goal and all hidden items revealed!");
     }
@@ -9,7 +9,7 @@ import java.util.Random;
  * to teleport to a random point in the grid by selecting a menu option.
  * Features:
  * - One-time use: Teleport can only be used once per game
- * - Random destination: Teleports to a random valid grid location
+ * - Random destination: Teleports to a random empty grid location
  * - Menu integration: Provides a button for user interaction
  * - State tracking: Remembers if teleport has been used
  */
@@ -101,7 +101,7 @@ public class Teleport implements Plugin, Callback {
      * 
      * When the teleport menu option is selected, this method:
      * 1. Checks if teleport is still available
-     * 2. Generates a random destination within the grid
+     * 2. Picks a random empty square as the destination
      * 3. Moves the player to the random location
      * 4. Marks teleport as used
      * 5. Updates the menu text
@@ -120,24 +120,14 @@ public class Teleport implements Plugin, Callback {
             return;
         }
         
-        int[] gridSize = api.getGridSize();   //gets the grid size
-        int maxX = gridSize[0] - 1;
-        int maxY = gridSize[1] - 1;
-        
-        // Find a random empty location
-        int attempts = 0;
-        int newX, newY;
-        do {
-            newX = random.nextInt(maxX + 1);
-            newY = random.nextInt(maxY + 1);
-            attempts++;
-        } while (!"empty".equals(api.getGridSquareContents(newX, newY)) && attempts < 100);
-        
-        // If we couldn't find an empty spot, just pick any spot
-        if (attempts >= 100) {
-            newX = random.nextInt(maxX + 1);
-            newY = random.nextInt(maxY + 1);
+        // Find a random empty location; never an obstacle, item or the goal
+        int[] destination = api.randomEmptyCell(random);
+        if (destination == null) {   //if no square is empty, keep the teleport for later
+            System.out.println("No empty square to teleport to");
+            return;
         }
+        int newX = destination[0];
+        int newY = destination[1];
         
         // Teleport the player
         api.setPlayerLocation(newX, newY);